@@ -0,0 +1,67 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.model.BatchGenerationResult;
+import com.example.entity_generator.model.EntityMetadata;
+import com.example.entity_generator.model.WriteMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures end-to-end batch generation including staging and writing the files to a temporary
+ * output root. Files are overwritten on every invocation and the cache is disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BatchGenerationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int batchSize;
+
+    @Param({"10"})
+    private int fieldCount;
+
+    @Param({"2"})
+    private int relationshipCount;
+
+    private ForkJoinPool executor;
+    private Path outputRoot;
+    private EntityGeneratorService service;
+    private List<EntityMetadata> batch;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkMetadata.quietLogging();
+        executor = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        outputRoot = Files.createTempDirectory("entity-generator-benchmark");
+        service = new EntityGeneratorService(executor, new GenerationCache(0), new GeneratorMetrics(new SimpleMeterRegistry()), outputRoot.toString(), outputRoot.resolve("resources").toString(), 0, 1);
+        batch = BenchmarkMetadata.batch(batchSize, fieldCount, relationshipCount);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        try (Stream<Path> files = Files.walk(outputRoot)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public BatchGenerationResult generateBatch() {
+        return service.generateBatch(batch, WriteMode.OVERWRITE);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.entity_generator.service;
+
+import ch.qos.logback.classic.Level;
+import com.example.entity_generator.model.EntityMetadata;
+import com.example.entity_generator.model.Field;
+import com.example.entity_generator.model.Relationship;
+import com.example.entity_generator.model.ValidationRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds synthetic entity metadata for the benchmarks.
+ */
+final class BenchmarkMetadata {
+
+    private static final String[] TYPES = {"String", "Integer", "Long", "Double", "Boolean", "LocalDate", "LocalDateTime"};
+
+    private BenchmarkMetadata() {
+    }
+
+    /**
+     * Raises the root log level to WARN. Outside Spring, logback defaults to DEBUG on the console,
+     * which would dominate the measurement of anything that logs per call.
+     */
+    static void quietLogging() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    static EntityMetadata entity(String name, int fieldCount, int relationshipCount) {
+        EntityMetadata metadata = new EntityMetadata();
+        metadata.setEntityName(name);
+
+        List<Field> fields = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            Field field = new Field();
+            field.setName("field" + i);
+            field.setType(TYPES[i % TYPES.length]);
+            field.setNullable(i % 2 == 0);
+            field.setLength(i % 3 == 0 ? 255 : null);
+            if (i % 4 == 0) {
+                field.setValidations(List.of(ValidationRule.notNull(), new ValidationRule("Size", Map.of("min", 1, "max", 64))));
+            }
+            fields.add(field);
+        }
+        metadata.setFields(fields);
+
+        List<Relationship> relationships = new ArrayList<>(relationshipCount);
+        for (int i = 0; i < relationshipCount; i++) {
+            Relationship rel = new Relationship();
+            rel.setType(i % 2 == 0 ? "ManyToOne" : "OneToMany");
+            rel.setSourceField("related" + i);
+            rel.setTargetEntity("Target" + i);
+            if (i % 2 == 1) rel.setMappedBy(name.toLowerCase());
+            relationships.add(rel);
+        }
+        metadata.setRelationships(relationships);
+        return metadata;
+    }
+
+    static List<EntityMetadata> batch(int size, int fieldCount, int relationshipCount) {
+        List<EntityMetadata> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(entity("Entity" + i, fieldCount, relationshipCount));
+        }
+        return batch;
+    }
+
+    /**
+     * Builds the source of an annotated model class with roughly the given number of lines,
+     * mixing fields, relationships and methods with bodies.
+     */
+    static String modelSource(String name, int lineCount) {
+        StringBuilder sb = new StringBuilder(lineCount * 40);
+        sb.append("package com.example.model;\n\nimport jakarta.persistence.*;\nimport java.util.List;\n\n");
+        sb.append("@Entity\npublic class ").append(name).append(" {\n");
+        sb.append("    @Id\n    @GeneratedValue(strategy = GenerationType.IDENTITY)\n    private Long id;\n");
+        int lines = 8;
+        for (int i = 0; lines < lineCount; i++) {
+            if (i % 10 == 9) {
+                sb.append("    @OneToMany(mappedBy = \"owner\", cascade = {CascadeType.PERSIST, CascadeType.MERGE})\n");
+                sb.append("    private List<Item").append(i).append("> items").append(i).append(";\n");
+                lines += 2;
+            } else if (i % 5 == 4) {
+                sb.append("    public String describe").append(i).append("(int limit) {\n");
+                sb.append("        String text = \"value {\" + limit; // not a field;\n");
+                sb.append("        return text;\n    }\n");
+                lines += 4;
+            } else {
+                sb.append("    @NotNull\n    @Size(min = 1, max = 64)\n    @Column(name = \"field_").append(i).append("\")\n");
+                sb.append("    private ").append(TYPES[i % TYPES.length]).append(" field").append(i).append(";\n");
+                lines += 4;
+            }
+        }
+        return sb.append("}\n").toString();
+    }
+}
\ No newline at end of file
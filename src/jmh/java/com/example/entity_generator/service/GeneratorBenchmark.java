@@ -0,0 +1,69 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.model.EntityMetadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering of a single entity: the full preview and each artifact generator on its own,
+ * across field counts and relationship densities. The cache is disabled so every call renders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({"5", "50"})
+    private int fieldCount;
+
+    @Param({"0", "5"})
+    private int relationshipCount;
+
+    private EntityGeneratorService service;
+    private EntityMetadata metadata;
+    private ResolvedEntity entity;
+
+    @Setup
+    public void setUp() {
+        BenchmarkMetadata.quietLogging();
+        service = new EntityGeneratorService(ForkJoinPool.commonPool(), new GenerationCache(0), new GeneratorMetrics(new SimpleMeterRegistry()), "target/benchmark-output", "target/benchmark-resources", 1, 1);
+        metadata = BenchmarkMetadata.entity("Product", fieldCount, relationshipCount);
+        entity = ResolvedEntity.resolve(metadata, "com.example.generated");
+    }
+
+    @Benchmark
+    public Object generatePreview() {
+        return service.generatePreview(metadata);
+    }
+
+    @Benchmark
+    public String generateEntityClass() {
+        return service.generateEntityClassContent(entity);
+    }
+
+    @Benchmark
+    public String generateDTOClass() {
+        return service.generateDTOClassContent(entity);
+    }
+
+    @Benchmark
+    public String generateRepositoryClass() {
+        return service.generateRepositoryClassContent(entity);
+    }
+
+    @Benchmark
+    public String generateServiceClass() {
+        return service.generateServiceClassContent(entity);
+    }
+
+    @Benchmark
+    public String generateControllerClass() {
+        return service.generateControllerClassContent(entity);
+    }
+}
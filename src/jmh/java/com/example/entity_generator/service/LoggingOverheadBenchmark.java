@@ -0,0 +1,113 @@
+package com.example.entity_generator.service;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.example.entity_generator.model.BatchGenerationResult;
+import com.example.entity_generator.model.EntityMetadata;
+import com.example.entity_generator.model.WriteMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the per-entity cost of a batch whose files are all unchanged, so that rendering is served
+ * from the cache and nothing is written; what remains is validation, staging and logging. Log events are
+ * formatted with the console pattern and written to a null stream, directly or through an async appender.
+ * Run it against an earlier revision to compare the logging overhead per entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoggingOverheadBenchmark {
+
+    private static final int BATCH_SIZE = 200;
+
+    @Param({"WARN", "INFO", "DEBUG"})
+    private String level;
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    @Param({"1", "100"})
+    private int fileLogSampleRate;
+
+    private ForkJoinPool executor;
+    private Path outputRoot;
+    private EntityGeneratorService service;
+    private List<EntityMetadata> batch;
+    private Appender<ILoggingEvent> installed;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkMetadata.quietLogging();
+        executor = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        outputRoot = Files.createTempDirectory("entity-generator-logging");
+        service = new EntityGeneratorService(executor, new GenerationCache(10 * BATCH_SIZE), new GeneratorMetrics(new SimpleMeterRegistry()),
+                outputRoot.toString(), outputRoot.resolve("resources").toString(), 0, fileLogSampleRate);
+        batch = BenchmarkMetadata.batch(BATCH_SIZE, 10, 2);
+        service.generateBatch(batch, WriteMode.OVERWRITE);
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        installed = nullAppender(context, "async".equals(appender));
+        ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.addAppender(installed);
+        context.getLogger("com.example.entity_generator").setLevel(Level.toLevel(level));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        installed.stop();
+        executor.shutdownNow();
+        try (Stream<Path> files = Files.walk(outputRoot)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchGenerationResult unchangedBatch() {
+        return service.generateBatch(batch, WriteMode.OVERWRITE_IF_CHANGED);
+    }
+
+    private static Appender<ILoggingEvent> nullAppender(LoggerContext context, boolean async) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%15.15t] %-40.40logger{39} : %m %kvp%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder);
+        output.setOutputStream(OutputStream.nullOutputStream());
+        output.start();
+        if (!async) return output;
+
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.addAppender(output);
+        asyncAppender.start();
+        return asyncAppender;
+    }
+}
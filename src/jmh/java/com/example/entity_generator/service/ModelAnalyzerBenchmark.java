@@ -0,0 +1,37 @@
+package com.example.entity_generator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures model analysis on generated sources of increasing size. The time per line
+ * should stay flat from 100 to 10,000 lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelAnalyzerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int lineCount;
+
+    private ModelAnalyzerService analyzer;
+    private String source;
+
+    @Setup
+    public void setUp() {
+        BenchmarkMetadata.quietLogging();
+        analyzer = new ModelAnalyzerService(new GeneratorMetrics(new SimpleMeterRegistry()));
+        source = BenchmarkMetadata.modelSource("Product", lineCount);
+    }
+
+    @Benchmark
+    public Object analyzeModel() {
+        return analyzer.analyzeModel(source);
+    }
+}
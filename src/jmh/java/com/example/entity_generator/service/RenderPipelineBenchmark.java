@@ -0,0 +1,62 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.model.EntityMetadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering the five core artifacts from one resolved entity against the generators as they were
+ * before the resolved model existed, kept in {@link BaselineArtifactRenderer}, which resolve the metadata again
+ * for every artifact. The current artifacts carry more code (paging, entity graphs), so the baseline renders less
+ * output; the gap it shows is a lower bound on the saving. Resolving alone is measured as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderPipelineBenchmark {
+
+    @Param({"5", "50"})
+    private int fieldCount;
+
+    private EntityGeneratorService service;
+    private BaselineArtifactRenderer baseline;
+    private EntityMetadata metadata;
+
+    @Setup
+    public void setUp() {
+        service = new EntityGeneratorService(ForkJoinPool.commonPool(), new GenerationCache(0), new GeneratorMetrics(new SimpleMeterRegistry()), "target/benchmark-output", "target/benchmark-resources", 1, 1);
+        baseline = new BaselineArtifactRenderer();
+        metadata = BenchmarkMetadata.entity("Product", fieldCount, 2);
+    }
+
+    @Benchmark
+    public void resolveOnce(Blackhole bh) {
+        ResolvedEntity entity = ResolvedEntity.resolve(metadata, "com.example.generated");
+        bh.consume(service.generateEntityClassContent(entity));
+        bh.consume(service.generateDTOClassContent(entity));
+        bh.consume(service.generateRepositoryClassContent(entity));
+        bh.consume(service.generateServiceClassContent(entity));
+        bh.consume(service.generateControllerClassContent(entity));
+    }
+
+    @Benchmark
+    public void baselinePerArtifact(Blackhole bh) {
+        bh.consume(baseline.generateEntityClassContent(metadata));
+        bh.consume(baseline.generateDTOClassContent(metadata));
+        bh.consume(baseline.generateRepositoryClassContent(metadata));
+        bh.consume(baseline.generateServiceClassContent(metadata));
+        bh.consume(baseline.generateControllerClassContent(metadata));
+    }
+
+    @Benchmark
+    public ResolvedEntity resolve() {
+        return ResolvedEntity.resolve(metadata, "com.example.generated");
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.model.EntityMetadata;
+import com.example.entity_generator.model.GenerationTarget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.registry.BootstrapServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the read throughput of the code generated for the servlet and the reactive target. Each invocation
+ * serves a burst of concurrent page requests through the generated service: the servlet target on a bounded
+ * request thread pool, as Tomcat would, and the reactive target on the subscribing thread.
+ * H2 runs in-process and its R2DBC driver executes statements synchronously, so the numbers show framework
+ * overhead and thread usage rather than the gains of non-blocking network I/O; point the URLs at a real
+ * database to measure those.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TargetThroughputBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final int CONCURRENT_REQUESTS = 256;
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    @Param({"SERVLET", "REACTIVE"})
+    private GenerationTarget target;
+
+    @Param({"200"})
+    private int requestThreads;
+
+    private Path workDir;
+    private URLClassLoader loader;
+    private SessionFactory sessionFactory;
+    private ExecutorService requestExecutor;
+    private Object service;
+    private Method findAll;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkMetadata.quietLogging();
+        workDir = Files.createTempDirectory("entity-generator-target");
+        EntityGeneratorService generator = new EntityGeneratorService(ForkJoinPool.commonPool(), new GenerationCache(0), new GeneratorMetrics(new SimpleMeterRegistry()),
+                workDir.resolve("out").toString(), workDir.resolve("resources").toString(), 1, 1);
+        EntityMetadata metadata = TestMetadata.entity("Product");
+        metadata.setTarget(target);
+        Map<String, String> sources = generator.generatePreview(metadata);
+        List<String> errors = GeneratedSourceCompiler.compile(sources, workDir);
+        if (!errors.isEmpty()) throw new IllegalStateException("Generated sources do not compile: " + errors);
+        loader = GeneratedSourceCompiler.classLoader(workDir);
+
+        Class<?> entityClass = loader.loadClass("com.example.generated.entity.Product");
+        Class<?> repositoryClass = loader.loadClass("com.example.generated.repository.ProductRepository");
+        Object repository = target == GenerationTarget.REACTIVE
+                ? reactiveRepository(repositoryClass, sources.get("db/schema/product.sql"))
+                : servletRepository(entityClass, repositoryClass);
+        service = loader.loadClass("com.example.generated.service.ProductService")
+                .getConstructor(repositoryClass).newInstance(repository);
+        findAll = service.getClass().getMethod("findAll", Pageable.class);
+        requestExecutor = Executors.newFixedThreadPool(requestThreads);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        requestExecutor.shutdownNow();
+        if (sessionFactory != null) sessionFactory.close();
+        loader.close();
+        try (Stream<Path> files = Files.walk(workDir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public long servePageBurst() throws Exception {
+        if (target == GenerationTarget.REACTIVE) {
+            Long rows = Flux.range(0, CONCURRENT_REQUESTS)
+                    .flatMap(i -> ((Flux<?>) invoke()).count(), CONCURRENT_REQUESTS)
+                    .reduce(0L, Long::sum)
+                    .block();
+            return rows == null ? 0 : rows;
+        }
+        List<Future<List<?>>> pages = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            pages.add(requestExecutor.submit(() -> ((Slice<?>) invoke()).getContent()));
+        }
+        long rows = 0;
+        for (Future<List<?>> page : pages) {
+            rows += page.get().size();
+        }
+        return rows;
+    }
+
+    private Object invoke() {
+        try {
+            return findAll.invoke(service, PAGE);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Object servletRepository(Class<?> entityClass, Class<?> repositoryClass) {
+        sessionFactory = new Configuration(new BootstrapServiceRegistryBuilder().applyClassLoader(loader).build())
+                .addAnnotatedClass(entityClass)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:servlet-target;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.POOL_SIZE, String.valueOf(requestThreads))
+                .buildSessionFactory();
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS; i++) {
+                session.createNativeMutationQuery("insert into \"product\" (title, created_at, updated_at) values (?1, now(), now())")
+                        .setParameter(1, "product-" + i).executeUpdate();
+            }
+        });
+        // Outside a transaction the shared EntityManager opens a new EntityManager per call, as request threads would
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(sessionFactory);
+        JpaRepositoryFactory factory = new JpaRepositoryFactory(entityManager);
+        factory.setBeanClassLoader(loader);
+        return factory.getRepository(repositoryClass);
+    }
+
+    private Object reactiveRepository(Class<?> repositoryClass, String schema) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///reactive-target;DB_CLOSE_DELAY=-1");
+        DatabaseClient client = DatabaseClient.create(connectionFactory);
+        client.sql(schema).then().block();
+        Flux.range(0, ROWS)
+                .concatMap(i -> client.sql("insert into product (title, created_at, updated_at) values (:title, now(), now())")
+                        .bind("title", "product-" + i)
+                        .then())
+                .blockLast();
+        R2dbcRepositoryFactory factory = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(connectionFactory));
+        factory.setBeanClassLoader(loader);
+        return factory.getRepository(repositoryClass);
+    }
+}
@@ -2,7 +2,13 @@ package com.example.entity_generator;
 
 import com.example.entity_generator.exception.EntityGenerationException;
 import com.example.entity_generator.model.*;
+import com.example.entity_generator.service.BatchProgressListener;
 import com.example.entity_generator.service.EntityGeneratorService;
+import com.example.entity_generator.service.GenerationCache;
+import com.example.entity_generator.service.GenerationJobService;
+import com.example.entity_generator.service.GenerationTrace;
+import com.example.entity_generator.service.GenerationTraceExporter;
+import com.example.entity_generator.service.ModelArchiveService;
 import com.example.entity_generator.service.ModelAnalyzerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,15 +17,21 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/generator")
@@ -30,10 +42,20 @@ public class EntityGenerator {
 
     private final EntityGeneratorService generatorService;
     private final ModelAnalyzerService analyzerService;
+    private final ModelArchiveService archiveService;
+    private final GenerationJobService jobService;
+    private final GenerationCache generationCache;
+    private final GenerationTraceExporter traceExporter;
 
-    public EntityGenerator(EntityGeneratorService generatorService, ModelAnalyzerService analyzerService) {
+    public EntityGenerator(EntityGeneratorService generatorService, ModelAnalyzerService analyzerService,
+                           ModelArchiveService archiveService, GenerationJobService jobService,
+                           GenerationCache generationCache, GenerationTraceExporter traceExporter) {
         this.generatorService = generatorService;
         this.analyzerService = analyzerService;
+        this.archiveService = archiveService;
+        this.jobService = jobService;
+        this.generationCache = generationCache;
+        this.traceExporter = traceExporter;
     }
 
     @PostMapping("/generate")
@@ -43,10 +65,15 @@ public class EntityGenerator {
     @ApiResponse(responseCode = "500", description = "Internal server error")
     public ResponseEntity<GenerationResult> generateEntity(
             @Valid @RequestBody EntityMetadata metadata,
-            @Parameter(description = "Overwrite existing files") @RequestParam(defaultValue = "false") boolean overwrite) {
+            @Parameter(description = "Overwrite existing files") @RequestParam(defaultValue = "false") boolean overwrite,
+            @Parameter(description = "Write mode; takes precedence over overwrite") @RequestParam(required = false) WriteMode mode,
+            @Parameter(description = "Return a per-stage timing breakdown and export it as spans") @RequestParam(defaultValue = "false") boolean trace) {
         try {
-            logger.info("Generating entity: {} at {}", metadata.getEntityName(), java.time.LocalDateTime.now());
-            return ResponseEntity.ok(generatorService.generateEntity(metadata, overwrite));
+            logger.debug("Generating entity: {}", metadata.getEntityName());
+            GenerationTrace generationTrace = GenerationTrace.start("generate", trace);
+            GenerationResult result = generatorService.generateEntity(metadata, WriteMode.resolve(mode, overwrite), generationTrace);
+            result.setTiming(traceExporter.export(generationTrace.finish()));
+            return ResponseEntity.ok(result);
         } catch (EntityGenerationException e) {
             logger.error("Generation failed for entity: {}. Error: {}", metadata.getEntityName(), e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -58,9 +85,10 @@ public class EntityGenerator {
     @Operation(summary = "Generate from Java model", description = "Analyzes Java class and generates components")
     public ResponseEntity<GenerationResult> generateFromModel(
             @RequestParam("file") MultipartFile file,
-            @Parameter(description = "Overwrite existing files") @RequestParam(defaultValue = "false") boolean overwrite) {
+            @Parameter(description = "Overwrite existing files") @RequestParam(defaultValue = "false") boolean overwrite,
+            @Parameter(description = "Write mode; takes precedence over overwrite") @RequestParam(required = false) WriteMode mode) {
         try {
-            logger.info("Generating from model: {} at {}", file.getOriginalFilename(), java.time.LocalDateTime.now());
+            logger.debug("Generating from model: {}", file.getOriginalFilename());
 
             if (file.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -77,23 +105,47 @@ public class EntityGenerator {
 
             String javaCode = new String(file.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
             EntityMetadata metadata = analyzerService.analyzeModel(javaCode);
-            return ResponseEntity.ok(generatorService.generateEntity(metadata, overwrite));
+            return ResponseEntity.ok(generatorService.generateEntity(metadata, WriteMode.resolve(mode, overwrite)));
         } catch (IOException e) {
-            logger.error("File reading error: {} at {}", e.getMessage(), java.time.LocalDateTime.now());
+            logger.error("File reading error: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(GenerationResult.error("File reading error: " + e.getMessage()));
         } catch (EntityGenerationException e) {
-            logger.error("Generation failed: {} at {}", e.getMessage(), java.time.LocalDateTime.now());
+            logger.error("Generation failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(GenerationResult.error(e.getMessage()));
         }
     }
 
+    @PostMapping("/generate-from-archive")
+    @Operation(summary = "Generate from model archive", description = "Analyzes all Java classes in a ZIP, TAR or TAR.GZ archive and generates them as one batch")
+    public ResponseEntity<BatchGenerationResult> generateFromArchive(
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Overwrite existing files") @RequestParam(defaultValue = "false") boolean overwrite,
+            @Parameter(description = "Write mode; takes precedence over overwrite") @RequestParam(required = false) WriteMode mode) {
+        logger.info("Generating from model archive: {}", file.getOriginalFilename());
+        if (file.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(BatchGenerationResult.error("File is empty"));
+        }
+        try (var archive = file.getInputStream()) {
+            return ResponseEntity.ok(archiveService.generateFromArchive(archive, WriteMode.resolve(mode, overwrite)));
+        } catch (IOException e) {
+            logger.error("Archive reading error: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(BatchGenerationResult.error("Archive reading error: " + e.getMessage()));
+        } catch (EntityGenerationException e) {
+            logger.error("Archive generation failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(BatchGenerationResult.error(e.getMessage()));
+        }
+    }
+
     @PostMapping("/validate")
     @Operation(summary = "Validate metadata", description = "Validates metadata without generating files")
     public ResponseEntity<ValidationResult> validateMetadata(@Valid @RequestBody EntityMetadata metadata) {
         try {
-            logger.info("Validating metadata for entity: {}", metadata.getEntityName());
+            logger.debug("Validating metadata for entity: {}", metadata.getEntityName());
             return ResponseEntity.ok(generatorService.validateMetadata(metadata));
         } catch (EntityGenerationException e) {
             logger.error("Validation failed: {}", e.getMessage());
@@ -105,21 +157,21 @@ public class EntityGenerator {
     @GetMapping("/types")
     @Operation(summary = "Get supported data types")
     public ResponseEntity<List<String>> getSupportedTypes() {
-        logger.info("Fetching supported data types");
+        logger.debug("Fetching supported data types");
         return ResponseEntity.ok(generatorService.getSupportedTypes());
     }
 
     @GetMapping("/validation-rules")
     @Operation(summary = "Get supported validation rules")
     public ResponseEntity<List<String>> getSupportedValidationRules() {
-        logger.info("Fetching supported validation rules");
+        logger.debug("Fetching supported validation rules");
         return ResponseEntity.ok(generatorService.getSupportedValidationRules());
     }
 
     @GetMapping("/relationship-types")
     @Operation(summary = "Get supported relationship types")
     public ResponseEntity<List<String>> getRelationshipTypes() {
-        logger.info("Fetching supported relationship types");
+        logger.debug("Fetching supported relationship types");
         return ResponseEntity.ok(generatorService.getRelationshipTypes());
     }
 
@@ -127,10 +179,16 @@ public class EntityGenerator {
     @Operation(summary = "Batch generation", description = "Generates multiple entities")
     public ResponseEntity<BatchGenerationResult> generateBatch(
             @Valid @RequestBody List<EntityMetadata> metadataList,
-            @Parameter(description = "Overwrite existing files") @RequestParam(defaultValue = "false") boolean overwrite) {
+            @Parameter(description = "Overwrite existing files") @RequestParam(defaultValue = "false") boolean overwrite,
+            @Parameter(description = "Write mode; takes precedence over overwrite") @RequestParam(required = false) WriteMode mode,
+            @Parameter(description = "Return a per-stage timing breakdown and export it as spans") @RequestParam(defaultValue = "false") boolean trace) {
         try {
-            logger.info("Starting batch generation for {} entities", metadataList.size());
-            return ResponseEntity.ok(generatorService.generateBatch(metadataList, overwrite));
+            logger.debug("Starting batch generation for {} entities", metadataList.size());
+            GenerationTrace generationTrace = GenerationTrace.start("generate-batch", trace);
+            BatchGenerationResult result = generatorService.generateBatch(metadataList, WriteMode.resolve(mode, overwrite),
+                    BatchProgressListener.NONE, generationTrace);
+            result.setTiming(traceExporter.export(generationTrace.finish()));
+            return ResponseEntity.ok(result);
         } catch (EntityGenerationException e) {
             logger.error("Batch generation failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -138,12 +196,72 @@ public class EntityGenerator {
         }
     }
 
+    @PostMapping("/generate-batch/zip")
+    @Operation(summary = "Batch generation as ZIP", description = "Streams generated sources of multiple entities as a ZIP archive without saving files")
+    public ResponseEntity<StreamingResponseBody> generateBatchZip(@Valid @RequestBody List<EntityMetadata> metadataList) {
+        logger.debug("Starting ZIP batch generation for {} entities", metadataList.size());
+        StreamingResponseBody body = out -> generatorService.writeBatchZip(metadataList, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("generated-sources.zip")
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @PostMapping("/jobs")
+    @Operation(summary = "Start batch generation job", description = "Queues a batch generation and returns its job id immediately")
+    @ApiResponse(responseCode = "202", description = "Job accepted")
+    @ApiResponse(responseCode = "429", description = "Too many jobs in progress")
+    public ResponseEntity<GenerationJobStatus> submitJob(
+            @Valid @RequestBody List<EntityMetadata> metadataList,
+            @Parameter(description = "Overwrite existing files") @RequestParam(defaultValue = "false") boolean overwrite,
+            @Parameter(description = "Write mode; takes precedence over overwrite") @RequestParam(required = false) WriteMode mode) {
+        try {
+            logger.info("Submitting generation job for {} entities", metadataList.size());
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(jobService.submit(metadataList, WriteMode.resolve(mode, overwrite)));
+        } catch (EntityGenerationException e) {
+            logger.warn("Generation job rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(GenerationJobStatus.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Get generation job status", description = "Reports progress and the per-entity results completed so far")
+    @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+    public ResponseEntity<GenerationJobStatus> getJob(@PathVariable String id) {
+        return jobService.getStatus(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/jobs/{id}")
+    @Operation(summary = "Cancel generation job", description = "Stops a queued or running job; no files of the job are written")
+    @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+    public ResponseEntity<GenerationJobStatus> cancelJob(@PathVariable String id) {
+        logger.info("Cancelling generation job: {}", id);
+        return jobService.cancel(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/preview")
-    @Operation(summary = "Preview generation", description = "Shows generated code without saving files")
-    public ResponseEntity<Map<String, String>> previewGeneration(@Valid @RequestBody EntityMetadata metadata) {
+    @Operation(summary = "Preview generation", description = "Shows generated code without saving files; with trace=true the stage timings are returned in the Server-Timing header")
+    public ResponseEntity<Map<String, String>> previewGeneration(
+            @Valid @RequestBody EntityMetadata metadata,
+            @Parameter(description = "Return a per-stage timing breakdown and export it as spans") @RequestParam(defaultValue = "false") boolean trace) {
         try {
-            logger.info("Generating preview for entity: {}", metadata.getEntityName());
-            return ResponseEntity.ok(generatorService.generatePreview(metadata));
+            logger.debug("Generating preview for entity: {}", metadata.getEntityName());
+            GenerationTrace generationTrace = GenerationTrace.start("preview", trace);
+            Map<String, String> preview = generatorService.generatePreview(metadata, generationTrace);
+            TimingNode timing = traceExporter.export(generationTrace.finish());
+            if (timing == null) {
+                return ResponseEntity.ok(preview);
+            }
+            return ResponseEntity.ok().header("Server-Timing", serverTiming(timing)).body(preview);
         } catch (EntityGenerationException e) {
             logger.error("Preview generation failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -151,6 +269,18 @@ public class EntityGenerator {
         }
     }
 
+    /**
+     * Formats the stages of a timing tree as a Server-Timing header value.
+     *
+     * @param timing Timing tree.
+     * @return Header value with the wall time of each stage in milliseconds.
+     */
+    private static String serverTiming(TimingNode timing) {
+        return timing.getChildren().stream()
+                .map(stage -> String.format(Locale.ROOT, "%s;dur=%.3f", stage.getName(), stage.getWallNanos() / 1_000_000.0))
+                .collect(Collectors.joining(", "));
+    }
+
     @DeleteMapping("/generated/{entityName}")
     @Operation(summary = "Delete generated files")
     public ResponseEntity<String> deleteGenerated(@PathVariable String entityName) {
@@ -168,13 +298,14 @@ public class EntityGenerator {
     @GetMapping("/generated")
     @Operation(summary = "List generated entities")
     public ResponseEntity<List<String>> getGeneratedEntities() {
-        try {
-            logger.info("Fetching generated entities");
-            return ResponseEntity.ok(generatorService.getGeneratedEntities());
-        } catch (IOException e) {
-            logger.error("Error fetching generated entities: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(List.of("Error fetching entities: " + e.getMessage()));
-        }
+        logger.debug("Fetching generated entities");
+        return ResponseEntity.ok(generatorService.getGeneratedEntities());
+    }
+
+    @GetMapping("/cache")
+    @Operation(summary = "Get generation cache statistics", description = "Shows size, hits and misses of the rendered code cache")
+    public ResponseEntity<CacheStatistics> getCacheStatistics() {
+        logger.debug("Fetching generation cache statistics");
+        return ResponseEntity.ok(generationCache.getStatistics());
     }
 }
\ No newline at end of file
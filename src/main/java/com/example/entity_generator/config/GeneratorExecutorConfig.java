@@ -0,0 +1,77 @@
+package com.example.entity_generator.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class GeneratorExecutorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeneratorExecutorConfig.class);
+
+    // fork-join or virtual
+    @Value("${generator.executor.type:fork-join}")
+    private String executorType;
+
+    // 0 means one worker per available processor
+    @Value("${generator.executor.parallelism:0}")
+    private int parallelism;
+
+    // Number of batch jobs generating at the same time; further jobs wait in the queue
+    @Value("${generator.jobs.workers:2}")
+    private int jobWorkers;
+
+    @Bean(name = "generationExecutor", destroyMethod = "shutdown")
+    public ExecutorService generationExecutor() {
+        return createExecutor(executorType, parallelism);
+    }
+
+    /**
+     * Executor running asynchronous batch jobs. It only coordinates jobs; the entities of a job
+     * are still rendered on the generation executor.
+     *
+     * @return Executor service for generation jobs.
+     */
+    @Bean(name = "jobExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService jobExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, jobWorkers), runnable -> {
+            Thread thread = new Thread(runnable, "generation-job-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates the executor used to fan out entity and artifact rendering.
+     * Virtual threads are only used when the runtime provides them; the project itself targets Java 17.
+     *
+     * @param type Executor type (fork-join or virtual).
+     * @param parallelism Number of workers, or 0 for the number of available processors.
+     * @return Executor service for generation tasks.
+     */
+    public static ExecutorService createExecutor(String type, int parallelism) {
+        if ("virtual".equalsIgnoreCase(type)) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                logger.warn("Virtual threads are not available on this runtime, falling back to fork-join pool");
+            }
+        }
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        return new ForkJoinPool(workers, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("entity-gen-" + counter.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.entity_generator.config;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Exporter for generation traces. Spans are written as OTLP JSON to the
+     * {@code io.opentelemetry.exporter.logging.otlp} logger; define another exporter bean to ship them elsewhere.
+     *
+     * @return Span exporter.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SpanExporter generationSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+
+    /**
+     * Tracer provider picked up by Spring Boot's OpenTelemetry SDK configuration.
+     *
+     * @param exporter Span exporter.
+     * @return Tracer provider.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SdkTracerProvider sdkTracerProvider(SpanExporter exporter) {
+        return SdkTracerProvider.builder()
+                .addSpanProcessor(BatchSpanProcessor.builder(exporter).build())
+                .build();
+    }
+}
@@ -23,6 +23,9 @@ public class BatchGenerationResult {
     @Schema(description = "List of generation results")
     private List<GenerationResult> results = Collections.emptyList();
 
+    @Schema(description = "Per-stage timing breakdown of the whole batch; only present when the request asked for a trace")
+    private TimingNode timing;
+
     public static BatchGenerationResult error(String message) {
         BatchGenerationResult result = new BatchGenerationResult();
         result.errorCount = 1;
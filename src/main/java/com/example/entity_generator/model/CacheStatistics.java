@@ -0,0 +1,24 @@
+package com.example.entity_generator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Statistics of the generated code cache")
+public class CacheStatistics {
+    @Schema(description = "Number of cached artifacts", example = "120")
+    private int size;
+
+    @Schema(description = "Maximum number of cached artifacts", example = "2000")
+    private int maxEntries;
+
+    @Schema(description = "Number of cache hits", example = "480")
+    private long hits;
+
+    @Schema(description = "Number of cache misses", example = "120")
+    private long misses;
+}
@@ -0,0 +1,15 @@
+package com.example.entity_generator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Second-level cache concurrency strategy of a generated entity")
+public enum CacheStrategy {
+    // Entity is not cached
+    NONE,
+    // Entity is never updated; the cheapest strategy, updates fail
+    READ_ONLY,
+    // Entity is updated; cache entries are locked while a transaction changes them
+    READ_WRITE,
+    // Entity is rarely updated; stale reads are tolerated for a short time
+    NONSTRICT_READ_WRITE
+}
@@ -37,4 +37,64 @@ public class EntityMetadata {
 
     @Schema(description = "Enable Jackson JSON annotations", defaultValue = "true")
     private boolean enableJsonAnnotations = true;
+
+    @Schema(description = "Default page size of the generated list endpoints", defaultValue = "20")
+    private int defaultPageSize = 20;
+
+    @Schema(description = "Largest page size a client may request from the generated list endpoints", defaultValue = "100")
+    private int maxPageSize = 100;
+
+    @Schema(description = "Generate a keyset (seek) pagination endpoint", defaultValue = "false")
+    private boolean enableKeysetPagination = false;
+
+    @Schema(description = "Non-null field ordering the keyset pages, with the primary key as tiebreaker; the primary key alone if empty", example = "createdAt")
+    private String keysetField;
+
+    @Schema(description = "Generate a streaming NDJSON export endpoint", defaultValue = "false")
+    private boolean enableStreamingExport = false;
+
+    @Schema(description = "JDBC fetch size of the export query", defaultValue = "500")
+    private int exportFetchSize = 500;
+
+    @Schema(description = "Number of exported rows after which the persistence context is cleared", defaultValue = "500")
+    private int exportClearInterval = 500;
+
+    @Schema(description = "Generate bulk create and update endpoints with JDBC batching and a pooled sequence id generator", defaultValue = "false")
+    private boolean enableBulkOperations = false;
+
+    @Schema(description = "Number of rows written per flush by the bulk endpoints; also used as the JDBC batch size", defaultValue = "50")
+    private int bulkChunkSize = 50;
+
+    @Schema(description = "Allocation size of the id sequence used when bulk operations are enabled", defaultValue = "50")
+    private int sequenceAllocationSize = 50;
+
+    @Schema(description = "Serve the generated read endpoints from DTO projection queries instead of loading entities", defaultValue = "false")
+    private boolean enableProjections = false;
+
+    @Schema(description = "Number of lazy collections initialized per query when relationships are accessed", defaultValue = "25")
+    private int associationBatchSize = 25;
+
+    @Schema(description = "Second-level cache strategy of the entity; caching also enables the query cache and Spring caching of findById", defaultValue = "NONE")
+    private CacheStrategy cacheStrategy = CacheStrategy.NONE;
+
+    @Schema(description = "Maximum number of entries of each generated cache", defaultValue = "1000")
+    private long cacheMaxEntries = 1000;
+
+    @Schema(description = "Time in seconds after which generated cache entries expire", defaultValue = "600")
+    private long cacheTtlSeconds = 600;
+
+    @Schema(description = "Add a @Version field and reject updates based on a stale version", defaultValue = "false")
+    private boolean enableOptimisticLocking = false;
+
+    @Schema(description = "Generate a PATCH endpoint applying only the non-null DTO fields", defaultValue = "false")
+    private boolean enablePartialUpdates = false;
+
+    @Schema(description = "Single and composite indexes of the entity, in addition to indexed fields")
+    private List<IndexDefinition> indexes;
+
+    @Schema(description = "Programming model of the generated code; REACTIVE generates R2DBC and WebFlux classes", defaultValue = "SERVLET")
+    private GenerationTarget target = GenerationTarget.SERVLET;
+
+    @Schema(description = "Java release of the generated project; from 21 on, servlet entities run requests and @Async on virtual threads", defaultValue = "17")
+    private int javaVersion = 17;
 }
\ No newline at end of file
@@ -34,6 +34,9 @@ public class Field {
     @Schema(description = "Is the field unique", defaultValue = "false")
     private boolean unique = false;
 
+    @Schema(description = "Create a single-column index and a findBy repository method for the field", defaultValue = "false")
+    private boolean indexed = false;
+
     @Schema(description = "Column name in the database", example = "name")
     private String columnName;
 
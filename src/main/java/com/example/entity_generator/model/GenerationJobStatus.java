@@ -0,0 +1,57 @@
+package com.example.entity_generator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Progress of an asynchronous batch generation job")
+public class GenerationJobStatus {
+    @Schema(description = "Job identifier", example = "3f2b7c1e-8a4d-4c55-9a0e-1b2c3d4e5f60")
+    private String id;
+
+    @Schema(description = "Current job state", example = "RUNNING")
+    private JobState state;
+
+    @Schema(description = "Message describing the job state", example = "Generated 40 of 100 entities")
+    private String message;
+
+    @Schema(description = "Number of entities in the job", example = "100")
+    private int total;
+
+    @Schema(description = "Number of entities processed so far, including discarded ones", example = "40")
+    private int processed;
+
+    @Schema(description = "Number of successfully generated entities", example = "39")
+    private int successCount;
+
+    @Schema(description = "Number of failed entities", example = "1")
+    private int errorCount;
+
+    @Schema(description = "Number of generated entities whose files were discarded because the job was cancelled", example = "0")
+    private int cancelledCount;
+
+    @Schema(description = "Per-entity results in input order; null while an entity is pending or if the job was cancelled before it")
+    private List<GenerationResult> results = Collections.emptyList();
+
+    @Schema(description = "Time the job was submitted")
+    private Instant createdAt;
+
+    @Schema(description = "Time the job started running")
+    private Instant startedAt;
+
+    @Schema(description = "Time the job finished")
+    private Instant finishedAt;
+
+    public static GenerationJobStatus error(String message) {
+        GenerationJobStatus status = new GenerationJobStatus();
+        status.state = JobState.FAILED;
+        status.message = message;
+        return status;
+    }
+}
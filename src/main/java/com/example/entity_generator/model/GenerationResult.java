@@ -26,12 +26,31 @@ public class GenerationResult {
     @Schema(description = "Map of errors, if any")
     private Map<String, String> errors = Collections.emptyMap();
 
+    @Schema(description = "Warnings, such as relationships dropped because their target entity is unknown")
+    private List<String> warnings = Collections.emptyList();
+
+    @Schema(description = "Number of files written", example = "3")
+    private int writtenCount;
+
+    @Schema(description = "Number of existing files left untouched because their content was unchanged", example = "2")
+    private int unchangedCount;
+
+    @Schema(description = "Number of existing files skipped because overwriting was disabled", example = "0")
+    private int skippedCount;
+
+    @Schema(description = "Per-stage timing breakdown; only present when the request asked for a trace")
+    private TimingNode timing;
+
     public static GenerationResult success(String message, List<String> files) {
-        return new GenerationResult(true, message, files, Collections.emptyMap());
+        return new GenerationResult(true, message, files, Collections.emptyMap(), Collections.emptyList(), 0, 0, 0, null);
     }
 
     public static GenerationResult error(String message) {
-        return new GenerationResult(false, message, Collections.emptyList(), Map.of("error", message));
+        return new GenerationResult(false, message, Collections.emptyList(), Map.of("error", message), Collections.emptyList(), 0, 0, 0, null);
+    }
+
+    public static GenerationResult cancelled(String message) {
+        return new GenerationResult(false, message, Collections.emptyList(), Collections.emptyMap(), Collections.emptyList(), 0, 0, 0, null);
     }
 
     @Override
@@ -40,6 +59,10 @@ public class GenerationResult {
                 "success=" + success +
                 ", message='" + message + '\'' +
                 ", generatedFiles=" + generatedFiles +
+                ", warnings=" + warnings +
+                ", writtenCount=" + writtenCount +
+                ", unchangedCount=" + unchangedCount +
+                ", skippedCount=" + skippedCount +
                 '}';
     }
 }
\ No newline at end of file
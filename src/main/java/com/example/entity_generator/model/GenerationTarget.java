@@ -0,0 +1,11 @@
+package com.example.entity_generator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Programming model of the generated code")
+public enum GenerationTarget {
+    // Spring MVC controllers on top of JPA repositories; one thread per request
+    SERVLET,
+    // WebFlux controllers on top of R2DBC repositories; non-blocking, for high-concurrency I/O-bound services
+    REACTIVE
+}
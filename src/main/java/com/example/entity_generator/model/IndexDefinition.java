@@ -0,0 +1,27 @@
+package com.example.entity_generator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Single or composite index of an entity")
+public class IndexDefinition {
+    @Schema(description = "Index name; derived from the table and columns if empty", example = "idx_product_category_price")
+    private String name;
+
+    @Schema(description = "Indexed fields in key order", example = "[\"category\", \"price\"]")
+    private List<String> fields;
+
+    @Schema(description = "Is the index unique", defaultValue = "false")
+    private boolean unique = false;
+
+    @Schema(description = "SQL predicate of a partial index (PostgreSQL); only emitted in the migration", example = "deleted = false")
+    private String where;
+
+    @Schema(description = "Non-key fields stored in the index for index-only scans (PostgreSQL INCLUDE); only emitted in the migration")
+    private List<String> include;
+}
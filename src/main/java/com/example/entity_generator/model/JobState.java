@@ -0,0 +1,21 @@
+package com.example.entity_generator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Lifecycle state of an asynchronous generation job")
+public enum JobState {
+    // Waiting for a free job worker
+    QUEUED,
+    // Entities are being generated
+    RUNNING,
+    // All entities processed and files written
+    COMPLETED,
+    // Cancelled before completion; no files were written
+    CANCELLED,
+    // Aborted by an unexpected error
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == CANCELLED || this == FAILED;
+    }
+}
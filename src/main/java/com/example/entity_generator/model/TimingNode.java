@@ -0,0 +1,39 @@
+package com.example.entity_generator.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+@Schema(description = "Timing of one generation stage and its sub-stages")
+public class TimingNode {
+    @Schema(description = "Stage name", example = "render.entity")
+    private String name;
+
+    @Schema(description = "When the stage started")
+    private Instant startedAt;
+
+    @Schema(description = "Wall-clock time in nanoseconds", example = "1250000")
+    private long wallNanos;
+
+    @Schema(description = "CPU time of the thread running the stage in nanoseconds, or -1 if not supported", example = "980000")
+    private long cpuNanos;
+
+    @Schema(description = "Bytes allocated by the thread running the stage, or -1 if not supported", example = "524288")
+    private long allocatedBytes;
+
+    @Schema(description = "Sub-stages; stages run in parallel on other threads are reported here with their own CPU time and allocations")
+    private List<TimingNode> children = new ArrayList<>();
+
+    public TimingNode(String name, Instant startedAt) {
+        this.name = name;
+        this.startedAt = startedAt;
+    }
+}
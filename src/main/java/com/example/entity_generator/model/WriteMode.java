@@ -0,0 +1,27 @@
+package com.example.entity_generator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "How existing generated files are treated")
+public enum WriteMode {
+    // Keep existing files untouched
+    SKIP_EXISTING,
+    // Always rewrite existing files
+    OVERWRITE,
+    // Rewrite existing files only when the generated content differs
+    OVERWRITE_IF_CHANGED,
+    // Regenerate only entities whose metadata changed since the last run, as recorded in the generation manifest
+    INCREMENTAL;
+
+    /**
+     * Resolves the effective mode from the explicit mode and the legacy overwrite flag.
+     *
+     * @param mode Explicit write mode, may be null.
+     * @param overwrite Legacy overwrite flag.
+     * @return Effective write mode.
+     */
+    public static WriteMode resolve(WriteMode mode, boolean overwrite) {
+        if (mode != null) return mode;
+        return overwrite ? OVERWRITE : SKIP_EXISTING;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.model.CacheStrategy;
+import com.example.entity_generator.model.EntityMetadata;
+import com.example.entity_generator.model.Field;
+import com.example.entity_generator.model.GenerationTarget;
+
+/**
+ * Artifacts rendered for an entity, in the order they are written. Java artifacts are written below the
+ * generated base package of the source root; resource artifacts are written to the resources root.
+ */
+enum ArtifactType {
+    ENTITY("entity", ""),
+    DTO("dto", "DTO"),
+    REPOSITORY("repository", "Repository"),
+    SERVICE("service", "Service"),
+    CONTROLLER("controller", "Controller"),
+    CACHE_CONFIG("config", "CacheConfig"),
+    SECOND_LEVEL_CACHE_CONFIG("config", "SecondLevelCacheConfig"),
+    ASYNC_CONFIG("config", "AsyncConfig"),
+    INDEX_MIGRATION("db/migration", "_indexes.sql"),
+    TABLE_SCHEMA("db/schema", ".sql"),
+    // Settings shared by all entities, in files owned by the generator that the application imports
+    JDBC_BATCHING("generated", "jdbc-batching.properties"),
+    VIRTUAL_THREADS("generated", "virtual-threads.properties");
+
+    private final String subPackage;
+    private final String suffix;
+
+    ArtifactType(String subPackage, String suffix) {
+        this.subPackage = subPackage;
+        this.suffix = suffix;
+    }
+
+    String getSubPackage() {
+        return subPackage;
+    }
+
+    /**
+     * Whether the artifact is rendered for the given metadata; optional artifacts depend on generation options.
+     *
+     * @param metadata Entity metadata.
+     * @return True if the artifact is generated.
+     */
+    boolean appliesTo(EntityMetadata metadata) {
+        return switch (this) {
+            case JDBC_BATCHING -> metadata.isEnableBulkOperations() && !isReactive(metadata);
+            case CACHE_CONFIG, SECOND_LEVEL_CACHE_CONFIG -> metadata.getCacheStrategy() != null && metadata.getCacheStrategy() != CacheStrategy.NONE
+                    && !isReactive(metadata);
+            case INDEX_MIGRATION -> (metadata.getIndexes() != null && !metadata.getIndexes().isEmpty())
+                    || (metadata.getFields() != null && metadata.getFields().stream().anyMatch(Field::isIndexed));
+            case ASYNC_CONFIG, VIRTUAL_THREADS -> metadata.getJavaVersion() >= 21 && !isReactive(metadata);
+            // R2DBC does not create tables, so reactive entities ship their DDL
+            case TABLE_SCHEMA -> isReactive(metadata);
+            default -> true;
+        };
+    }
+
+    boolean isResource() {
+        return this == INDEX_MIGRATION || this == TABLE_SCHEMA || this == JDBC_BATCHING || this == VIRTUAL_THREADS;
+    }
+
+    /**
+     * Whether the artifact is a single file shared by all entities that produce it, rather than one file per entity.
+     * Its content does not depend on the entity, so every entity renders the same file.
+     *
+     * @return True for shared artifacts.
+     */
+    boolean isShared() {
+        return this == SECOND_LEVEL_CACHE_CONFIG || this == ASYNC_CONFIG || this == JDBC_BATCHING || this == VIRTUAL_THREADS;
+    }
+
+    private static boolean isReactive(EntityMetadata metadata) {
+        return metadata.getTarget() == GenerationTarget.REACTIVE;
+    }
+
+    String fileName(String entityName) {
+        if (isShared()) return isResource() ? suffix : suffix + ".java";
+        // Repeatable Flyway migration, re-applied whenever its content changes
+        if (this == INDEX_MIGRATION) return "R__" + entityName.toLowerCase() + suffix;
+        if (isResource()) return entityName.toLowerCase() + suffix;
+        return entityName + suffix + ".java";
+    }
+
+    /**
+     * Path of the artifact relative to its output root.
+     *
+     * @param packagePath Directory of the generated base package.
+     * @param entityName Generated entity name.
+     * @return Relative path.
+     */
+    String relativePath(String packagePath, String entityName) {
+        String directory = isResource() ? subPackage : packagePath + "/" + subPackage;
+        return directory + "/" + fileName(entityName);
+    }
+
+    /**
+     * Key of the rendered artifact in the generation cache. Shared artifacts do not depend on the entity,
+     * so they have a single entry keyed by the artifact alone.
+     *
+     * @param fingerprint Fingerprint of the entity metadata.
+     * @return Cache key.
+     */
+    String cacheKey(String fingerprint) {
+        if (isShared()) return name();
+        // Several artifacts share a subpackage, so the key names the artifact itself
+        return name() + ":" + fingerprint;
+    }
+}
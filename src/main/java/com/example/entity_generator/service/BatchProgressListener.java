@@ -0,0 +1,30 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.model.GenerationResult;
+
+/**
+ * Receives per-entity progress of a batch generation and can ask the batch to stop.
+ */
+@FunctionalInterface
+public interface BatchProgressListener {
+
+    BatchProgressListener NONE = (index, result) -> { };
+
+    /**
+     * Called from a generation worker when an entity of the batch has been processed.
+     *
+     * @param index Position of the entity in the batch.
+     * @param result Result of the entity.
+     */
+    void entityCompleted(int index, GenerationResult result);
+
+    /**
+     * Polled before each entity is started. Once it returns true, no further entities are
+     * generated and the files of the batch are discarded instead of written.
+     *
+     * @return True if the batch should stop.
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
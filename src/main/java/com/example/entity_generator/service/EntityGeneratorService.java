@@ -5,23 +5,74 @@ import com.example.entity_generator.model.*;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.squareup.javapoet.*;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.Session;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.lang.model.element.Modifier;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Service class responsible for generating entity-related components.
@@ -32,7 +83,43 @@ public class EntityGeneratorService {
 
     private static final Logger logger = LoggerFactory.getLogger(EntityGeneratorService.class);
     private static final String DEFAULT_PACKAGE = "com.example.generated";
-    private static final String SOURCE_ROOT = "src/main/java";
+    // Batch size of the shared Hibernate settings; bulk methods override it per session with their chunk size
+    private static final int DEFAULT_JDBC_BATCH_SIZE = 50;
+    private static final long QUERY_CACHE_MAX_ENTRIES = 10_000;
+    private static final long QUERY_CACHE_TTL_SECONDS = 600;
+
+    // Types of the reactive target; the generator itself does not depend on R2DBC or WebFlux
+    private static final ClassName MONO = ClassName.get("reactor.core.publisher", "Mono");
+    private static final ClassName FLUX = ClassName.get("reactor.core.publisher", "Flux");
+    private static final ClassName R2DBC_REPOSITORY = ClassName.get("org.springframework.data.r2dbc.repository", "R2dbcRepository");
+    private static final ClassName RELATIONAL_TABLE = ClassName.get("org.springframework.data.relational.core.mapping", "Table");
+    private static final ClassName RELATIONAL_COLUMN = ClassName.get("org.springframework.data.relational.core.mapping", "Column");
+
+    private final ExecutorService generationExecutor;
+    private final GenerationCache generationCache;
+    private final GeneratorMetrics metrics;
+    private final GenerationManifest manifest;
+    private final Path sourceRoot;
+    private final Path resourcesRoot;
+    private final int batchConcurrency;
+    private final int fileLogSampleRate;
+
+    public EntityGeneratorService(@Qualifier("generationExecutor") ExecutorService generationExecutor,
+                                  GenerationCache generationCache,
+                                  GeneratorMetrics metrics,
+                                  @Value("${generator.output.source-root:src/main/java}") String sourceRoot,
+                                  @Value("${generator.output.resources-root:src/main/resources}") String resourcesRoot,
+                                  @Value("${generator.batch.max-concurrency:0}") int batchConcurrency,
+                                  @Value("${generator.logging.file-sample-rate:100}") int fileLogSampleRate) {
+        this.generationExecutor = generationExecutor;
+        this.generationCache = generationCache;
+        this.metrics = metrics;
+        this.sourceRoot = Path.of(sourceRoot);
+        this.resourcesRoot = Path.of(resourcesRoot);
+        this.manifest = new GenerationManifest(this.sourceRoot.resolve(GenerationManifest.FILE_NAME), this::findLegacyEntities);
+        this.batchConcurrency = batchConcurrency > 0 ? batchConcurrency : Runtime.getRuntime().availableProcessors();
+        this.fileLogSampleRate = fileLogSampleRate;
+    }
 
     /**
      * Generates entity and related components (DTO, Repository, Service, Controller).
@@ -43,9 +130,65 @@ public class EntityGeneratorService {
      * @throws EntityGenerationException If generation fails.
      */
     public GenerationResult generateEntity(EntityMetadata metadata, boolean overwrite) throws EntityGenerationException {
-        logger.info("Starting entity generation for: {} at {}", metadata.getEntityName(), LocalDateTime.now());
-        ValidationResult validation = validateMetadata(metadata);
+        return generateEntity(metadata, WriteMode.resolve(null, overwrite));
+    }
+
+    /**
+     * Generates entity and related components (DTO, Repository, Service, Controller).
+     *
+     * @param metadata The metadata for entity generation.
+     * @param mode How existing files are treated.
+     * @return Generation result with generated file paths and written, unchanged and skipped counts.
+     * @throws EntityGenerationException If generation fails.
+     */
+    public GenerationResult generateEntity(EntityMetadata metadata, WriteMode mode) throws EntityGenerationException {
+        return generateEntity(metadata, mode, GenerationTrace.DISABLED);
+    }
+
+    /**
+     * Generates entity and related components, recording validation, type resolution, every render
+     * and the file I/O as child spans of the given trace.
+     *
+     * @param metadata The metadata for entity generation.
+     * @param mode How existing files are treated.
+     * @param trace Trace receiving the stage timings.
+     * @return Generation result with generated file paths and written, unchanged and skipped counts.
+     * @throws EntityGenerationException If generation fails.
+     */
+    public GenerationResult generateEntity(EntityMetadata metadata, WriteMode mode, GenerationTrace trace) throws EntityGenerationException {
+        long start = System.nanoTime();
+        logger.debug("Starting entity generation for: {}", metadata.getEntityName());
+        OutputStage stage = new OutputStage(sourceRoot, fileLogSampleRate);
+        GenerationResult result = stageEntity(metadata, mode, stage, trace);
+        try (GenerationTrace ignored = trace.child("write")) {
+            commit(stage);
+        }
+        logger.atInfo()
+                .setMessage("Entity generation completed")
+                .addKeyValue("entity", metadata.getEntityName())
+                .addKeyValue("written", result.getWrittenCount())
+                .addKeyValue("unchanged", result.getUnchangedCount())
+                .addKeyValue("skipped", result.getSkippedCount())
+                .addKeyValue("durationMs", () -> elapsedMillis(start))
+                .log();
+        return result;
+    }
+
+    /**
+     * Validates and renders an entity and stages its files for writing. In incremental mode an entity whose
+     * metadata fingerprint matches the manifest is reported as unchanged without rendering.
+     *
+     * @param metadata The metadata for entity generation.
+     * @param mode How existing files are treated.
+     * @param stage Output stage collecting the files of the request.
+     * @param trace Trace receiving the stage timings.
+     * @return Generation result with generated file paths and written, unchanged and skipped counts.
+     * @throws EntityGenerationException If validation, rendering or staging fails.
+     */
+    private GenerationResult stageEntity(EntityMetadata metadata, WriteMode mode, OutputStage stage, GenerationTrace trace) {
+        ValidationResult validation = trace.record("validation", () -> validateMetadata(metadata));
         if (!validation.isValid()) {
+            metrics.failed(GeneratorMetrics.Stage.VALIDATION);
             throw new EntityGenerationException("Validation failed: " + String.join(", ", validation.getErrors()));
         }
 
@@ -53,50 +196,379 @@ public class EntityGeneratorService {
         try {
             String basePackage = DEFAULT_PACKAGE; // Har doim com.example.generated ishlatiladi
             String entityName = toSingular(metadata.getEntityName());
+            String packagePath = basePackage.replace(".", "/");
+            String fingerprint = MetadataFingerprint.of(metadata);
+
+            if (mode == WriteMode.INCREMENTAL) {
+                GenerationManifest.Entry previous = manifest.current(entityName, fingerprint);
+                if (previous != null) {
+                    logger.debug("Entity {} is unchanged since {}, skipping", entityName, previous.getGeneratedAt());
+                    GenerationResult result = GenerationResult.success("Entity unchanged since the last generation",
+                            new ArrayList<>(previous.getFiles().keySet()));
+                    result.setUnchangedCount(previous.getFiles().size());
+                    return result;
+                }
+            }
+            WriteMode fileMode = mode == WriteMode.INCREMENTAL ? WriteMode.OVERWRITE_IF_CHANGED : mode;
+
+            int[] counts = new int[OutputStage.WriteStatus.values().length];
+            Map<String, String> digests = new LinkedHashMap<>();
+            Map<ArtifactType, String> artifacts = renderArtifacts(metadata, fingerprint, trace);
+            try (GenerationTrace ignored = trace.child("stage")) {
+                for (Map.Entry<ArtifactType, String> artifact : artifacts.entrySet()) {
+                    ArtifactType type = artifact.getKey();
+                    Path target = outputRoot(type).resolve(type.relativePath(packagePath, entityName));
+                    byte[] content = artifact.getValue().getBytes(StandardCharsets.UTF_8);
+                    // Shared files belong to the generator and are kept current whatever the write mode
+                    WriteMode artifactMode = type.isShared() ? WriteMode.OVERWRITE_IF_CHANGED : fileMode;
+                    counts[stage.add(target, content, artifactMode).ordinal()]++;
+                    generatedFiles.add(target.toString());
+                    digests.put(target.toString(), MetadataFingerprint.sha256(content));
+                }
+            }
+            // Skipped files keep content from other metadata, so the entity is only recorded if every file matches
+            if (counts[OutputStage.WriteStatus.SKIPPED.ordinal()] == 0) {
+                stage.record(entityName, new GenerationManifest.Entry(fingerprint, digests, Instant.now()));
+            }
 
-            generatedFiles.add(generateAndWriteFile(basePackage, "entity", entityName + ".java", generateEntityClassContent(metadata), overwrite));
-            generatedFiles.add(generateAndWriteFile(basePackage, "dto", entityName + "DTO.java", generateDTOClassContent(metadata), overwrite));
-            generatedFiles.add(generateAndWriteFile(basePackage, "repository", entityName + "Repository.java", generateRepositoryClassContent(metadata), overwrite));
-            generatedFiles.add(generateAndWriteFile(basePackage, "service", entityName + "Service.java", generateServiceClassContent(metadata), overwrite));
-            generatedFiles.add(generateAndWriteFile(basePackage, "controller", entityName + "Controller.java", generateControllerClassContent(metadata), overwrite));
-
-            logger.info("Entity generation completed: {} at {}", generatedFiles, LocalDateTime.now());
-            return GenerationResult.success("Entity successfully generated", generatedFiles);
+            metrics.entityGenerated(fieldCount(metadata));
+            logger.debug("Staged {} files for entity {}", generatedFiles.size(), entityName);
+            GenerationResult result = GenerationResult.success("Entity successfully generated", generatedFiles);
+            result.setWrittenCount(counts[OutputStage.WriteStatus.WRITTEN.ordinal()]);
+            result.setUnchangedCount(counts[OutputStage.WriteStatus.UNCHANGED.ordinal()]);
+            result.setSkippedCount(counts[OutputStage.WriteStatus.SKIPPED.ordinal()]);
+            return result;
         } catch (IOException e) {
+            metrics.failed(GeneratorMetrics.Stage.WRITE);
             logger.error("Generation failed for entity: {}. Error: {}", metadata.getEntityName(), e.getMessage());
             throw new EntityGenerationException("Generation failed: " + e.getMessage(), e);
         }
     }
 
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static int fieldCount(EntityMetadata metadata) {
+        return metadata.getFields() == null ? 0 : metadata.getFields().size();
+    }
+
+    private Path outputRoot(ArtifactType type) {
+        return type.isResource() ? resourcesRoot : sourceRoot;
+    }
+
+    /**
+     * Writes all staged files of a request or batch and records the staged entities in the manifest.
+     *
+     * @param stage Output stage to commit.
+     * @throws EntityGenerationException If writing fails.
+     */
+    private void commit(OutputStage stage) {
+        try {
+            long start = System.nanoTime();
+            if (stage.commit() > 0) {
+                metrics.recordWrite(System.nanoTime() - start, stage.getBytesWritten());
+            }
+            manifest.putAll(stage.getManifestEntries());
+        } catch (IOException e) {
+            metrics.failed(GeneratorMetrics.Stage.WRITE);
+            logger.error("Writing generated files failed: {}", e.getMessage());
+            throw new EntityGenerationException("Generation failed: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Generates multiple entities in batch.
      *
      * @param metadataList List of entity metadata.
      * @param overwrite Whether to overwrite existing files.
-     * @return Batch generation result.
-     * @throws EntityGenerationException If batch generation fails.
+     * @return Batch generation result in input order; per-entity failures are reported as error results.
      */
     public BatchGenerationResult generateBatch(List<EntityMetadata> metadataList, boolean overwrite) throws EntityGenerationException {
-        logger.info("Starting batch generation for {} entities at {}", metadataList.size(), LocalDateTime.now());
+        return generateBatch(metadataList, WriteMode.resolve(null, overwrite));
+    }
+
+    /**
+     * Generates multiple entities in batch.
+     *
+     * @param metadataList List of entity metadata.
+     * @param mode How existing files are treated.
+     * @return Batch generation result in input order; per-entity failures are reported as error results.
+     */
+    public BatchGenerationResult generateBatch(List<EntityMetadata> metadataList, WriteMode mode) throws EntityGenerationException {
+        return generateBatch(metadataList, mode, BatchProgressListener.NONE, GenerationTrace.DISABLED);
+    }
+
+    /**
+     * Generates multiple entities in batch, reporting each processed entity to a listener.
+     * If the listener cancels the batch, entities not yet started are skipped without a result
+     * and none of the staged files are written.
+     *
+     * @param metadataList List of entity metadata.
+     * @param mode How existing files are treated.
+     * @param listener Progress listener and cancellation source.
+     * @return Batch generation result in input order; per-entity failures are reported as error results.
+     * @throws CancellationException If the listener cancelled the batch.
+     */
+    public BatchGenerationResult generateBatch(List<EntityMetadata> metadataList, WriteMode mode,
+                                               BatchProgressListener listener) throws EntityGenerationException {
+        return generateBatch(metadataList, mode, listener, GenerationTrace.DISABLED);
+    }
+
+    /**
+     * Generates multiple entities in batch, reporting each processed entity to a listener and recording
+     * the stages of every entity as a child span of the given trace.
+     *
+     * @param metadataList List of entity metadata.
+     * @param mode How existing files are treated.
+     * @param listener Progress listener and cancellation source.
+     * @param trace Trace receiving the stage timings.
+     * @return Batch generation result in input order; per-entity failures are reported as error results.
+     * @throws CancellationException If the listener cancelled the batch.
+     */
+    public BatchGenerationResult generateBatch(List<EntityMetadata> metadataList, WriteMode mode,
+                                               BatchProgressListener listener, GenerationTrace trace) throws EntityGenerationException {
+        long start = System.nanoTime();
+        logger.debug("Starting batch generation for {} entities", metadataList.size());
         BatchGenerationResult result = new BatchGenerationResult();
-        List<GenerationResult> results = new ArrayList<>();
-        int successCount = 0, errorCount = 0;
+        List<CompletableFuture<GenerationResult>> futures = new ArrayList<>(metadataList.size());
+        Semaphore permits = new Semaphore(batchConcurrency);
+        OutputStage stage = new OutputStage(sourceRoot, fileLogSampleRate);
+
+        for (int i = 0; i < metadataList.size() && !listener.isCancelled(); i++) {
+            EntityMetadata metadata = metadataList.get(i);
+            int index = i;
+            permits.acquireUninterruptibly();
+            // An entity reached after cancellation is not processed at all and has no result
+            futures.add(CompletableFuture.supplyAsync(() -> listener.isCancelled()
+                            ? null
+                            : stageEntitySafely(metadata, mode, stage, trace), generationExecutor)
+                    .whenComplete((singleResult, error) -> {
+                        if (singleResult != null) listener.entityCompleted(index, singleResult);
+                        permits.release();
+                    }));
+        }
 
-        for (EntityMetadata metadata : metadataList) {
-            GenerationResult singleResult = generateEntity(metadata, overwrite);
-            results.add(singleResult);
+        List<GenerationResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<GenerationResult> future : futures) {
+            results.add(future.join());
+        }
+        if (listener.isCancelled()) {
+            long processed = results.stream().filter(Objects::nonNull).count();
+            logger.info("Batch generation cancelled after {} of {} entities, staged files discarded", processed, metadataList.size());
+            throw new CancellationException("Batch generation cancelled");
+        }
+        int successCount = 0, errorCount = 0;
+        for (GenerationResult singleResult : results) {
             if (singleResult.isSuccess()) successCount++;
             else errorCount++;
         }
+        try (GenerationTrace ignored = trace.child("write")) {
+            commit(stage);
+        }
 
         result.setTotalProcessed(metadataList.size());
         result.setSuccessCount(successCount);
         result.setErrorCount(errorCount);
         result.setResults(results);
-        logger.info("Batch generation completed: success={}, errors={} at {}", successCount, errorCount, LocalDateTime.now());
+        logger.atInfo()
+                .setMessage("Batch generation completed")
+                .addKeyValue("entities", metadataList.size())
+                .addKeyValue("success", successCount)
+                .addKeyValue("errors", errorCount)
+                .addKeyValue("written", () -> results.stream().mapToInt(GenerationResult::getWrittenCount).sum())
+                .addKeyValue("unchanged", () -> results.stream().mapToInt(GenerationResult::getUnchangedCount).sum())
+                .addKeyValue("skipped", () -> results.stream().mapToInt(GenerationResult::getSkippedCount).sum())
+                .addKeyValue("durationMs", () -> elapsedMillis(start))
+                .log();
         return result;
     }
 
+    /**
+     * Renders a batch and streams the generated sources as a ZIP archive without touching the output root.
+     * Up to the batch concurrency of entities are rendered ahead in parallel; each entity is written to the
+     * archive in input order and flushed as soon as it is ready, so memory stays bounded by the window size.
+     * Entities that fail are written as an error entry instead of aborting the archive.
+     *
+     * @param metadataList List of entity metadata.
+     * @param out Stream receiving the archive.
+     * @throws IOException If writing to the stream fails.
+     */
+    public void writeBatchZip(List<EntityMetadata> metadataList, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        logger.debug("Starting ZIP generation for {} entities", metadataList.size());
+        String packagePath = DEFAULT_PACKAGE.replace(".", "/");
+        Iterator<EntityMetadata> pendingEntities = metadataList.iterator();
+        Deque<CompletableFuture<Map<ArtifactType, String>>> window = new ArrayDeque<>(batchConcurrency);
+        Deque<EntityMetadata> windowMetadata = new ArrayDeque<>(batchConcurrency);
+        int index = 0;
+
+        // Shared artifacts are identical for every entity and written once
+        Set<ArtifactType> sharedWritten = EnumSet.noneOf(ArtifactType.class);
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        while (pendingEntities.hasNext() || !window.isEmpty()) {
+            while (window.size() < batchConcurrency && pendingEntities.hasNext()) {
+                EntityMetadata metadata = pendingEntities.next();
+                windowMetadata.add(metadata);
+                window.add(CompletableFuture.supplyAsync(() -> renderValidated(metadata), generationExecutor));
+            }
+
+            EntityMetadata metadata = windowMetadata.poll();
+            CompletableFuture<Map<ArtifactType, String>> next = window.poll();
+            index++;
+            try {
+                String entityName = toSingular(metadata.getEntityName());
+                for (Map.Entry<ArtifactType, String> artifact : next.join().entrySet()) {
+                    ArtifactType type = artifact.getKey();
+                    if (type.isShared() && !sharedWritten.add(type)) continue;
+                    writeZipEntry(zip, type.relativePath(packagePath, entityName), artifact.getValue());
+                }
+            } catch (CompletionException e) {
+                String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                logger.error("Generation failed for entity: {}. Error: {}", metadata.getEntityName(), message);
+                writeZipEntry(zip, "errors/" + index + "-" + metadata.getEntityName() + ".txt", message);
+            }
+            zip.flush();
+        }
+        zip.finish();
+        logger.atInfo()
+                .setMessage("ZIP generation completed")
+                .addKeyValue("entities", metadataList.size())
+                .addKeyValue("durationMs", () -> elapsedMillis(start))
+                .log();
+    }
+
+    /**
+     * Validates and renders an entity without staging any files.
+     *
+     * @param metadata The metadata for entity generation.
+     * @return Rendered artifacts in write order.
+     * @throws EntityGenerationException If validation or rendering fails.
+     */
+    private Map<ArtifactType, String> renderValidated(EntityMetadata metadata) {
+        ValidationResult validation = validateMetadata(metadata);
+        if (!validation.isValid()) {
+            metrics.failed(GeneratorMetrics.Stage.VALIDATION);
+            throw new EntityGenerationException("Validation failed: " + String.join(", ", validation.getErrors()));
+        }
+        Map<ArtifactType, String> artifacts = renderArtifacts(metadata, MetadataFingerprint.of(metadata), GenerationTrace.DISABLED);
+        metrics.entityGenerated(fieldCount(metadata));
+        return artifacts;
+    }
+
+    private void writeZipEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    /**
+     * Stages a single entity of a batch, capturing failures as an error result.
+     *
+     * @param metadata The metadata for entity generation.
+     * @param mode How existing files are treated.
+     * @param stage Output stage shared by the batch.
+     * @param trace Batch trace; the entity is recorded as a child span.
+     * @return Generation result, never throws.
+     */
+    private GenerationResult stageEntitySafely(EntityMetadata metadata, WriteMode mode, OutputStage stage, GenerationTrace trace) {
+        try (GenerationTrace entityTrace = trace.child("entity:" + metadata.getEntityName())) {
+            return stageEntity(metadata, mode, stage, entityTrace);
+        } catch (RuntimeException e) {
+            logger.error("Generation failed for entity: {}. Error: {}", metadata.getEntityName(), e.getMessage());
+            return GenerationResult.error(metadata.getEntityName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Renders all artifacts of an entity. Artifacts whose metadata fingerprint is cached are
+     * returned without rendering; the rest are rendered in parallel from a single resolved entity.
+     *
+     * @param metadata The metadata for entity generation.
+     * @param fingerprint Fingerprint of the metadata.
+     * @param trace Trace receiving the type resolution and render timings.
+     * @return Rendered artifacts in write order.
+     */
+    private Map<ArtifactType, String> renderArtifacts(EntityMetadata metadata, String fingerprint, GenerationTrace trace) {
+        Map<ArtifactType, String> rendered = new EnumMap<>(ArtifactType.class);
+        Map<ArtifactType, CompletableFuture<String>> pending = new EnumMap<>(ArtifactType.class);
+        ResolvedEntity resolved = null;
+
+        try {
+            for (ArtifactType type : ArtifactType.values()) {
+                if (!type.appliesTo(metadata)) continue;
+                String key = type.cacheKey(fingerprint);
+                String cached = generationCache.get(key);
+                if (cached != null) {
+                    rendered.put(type, cached);
+                    continue;
+                }
+                if (resolved == null) {
+                    resolved = trace.record("resolve", () -> ResolvedEntity.resolve(metadata, DEFAULT_PACKAGE));
+                }
+                ResolvedEntity entity = resolved;
+                String stageName = "render." + type.name().toLowerCase();
+                pending.put(type, renderAsync(() -> trace.record(stageName,
+                        () -> generationCache.put(key, metrics.recordRender(type, () -> renderArtifact(type, entity))))));
+            }
+
+            pending.forEach((type, future) -> rendered.put(type, awaitRender(future)));
+            return rendered;
+        } catch (RuntimeException e) {
+            metrics.failed(GeneratorMetrics.Stage.RENDER);
+            throw e;
+        }
+    }
+
+    /**
+     * Renders a single artifact.
+     *
+     * @param type Artifact type.
+     * @param entity Resolved entity.
+     * @return Generated Java code as a string.
+     */
+    String renderArtifact(ArtifactType type, ResolvedEntity entity) {
+        return switch (type) {
+            case ENTITY -> entity.isReactive() ? generateReactiveEntityClassContent(entity) : generateEntityClassContent(entity);
+            case DTO -> generateDTOClassContent(entity);
+            case REPOSITORY -> entity.isReactive() ? generateReactiveRepositoryClassContent(entity) : generateRepositoryClassContent(entity);
+            case SERVICE -> entity.isReactive() ? generateReactiveServiceClassContent(entity) : generateServiceClassContent(entity);
+            case CONTROLLER -> entity.isReactive() ? generateReactiveControllerClassContent(entity) : generateControllerClassContent(entity);
+            case CACHE_CONFIG -> generateCacheConfigClassContent(entity);
+            case SECOND_LEVEL_CACHE_CONFIG -> generateSecondLevelCacheConfigClassContent();
+            case INDEX_MIGRATION -> generateIndexMigrationContent(entity);
+            case TABLE_SCHEMA -> generateTableSchemaContent(entity);
+            case ASYNC_CONFIG -> generateAsyncConfigClassContent();
+            case JDBC_BATCHING -> generateJdbcBatchingPropertiesContent();
+            case VIRTUAL_THREADS -> generateVirtualThreadsPropertiesContent();
+        };
+    }
+
+    /**
+     * Submits a single artifact render to the generation executor.
+     *
+     * @param renderer Artifact renderer.
+     * @return Future holding the rendered Java code.
+     */
+    private CompletableFuture<String> renderAsync(Supplier<String> renderer) {
+        return CompletableFuture.supplyAsync(renderer, generationExecutor);
+    }
+
+    /**
+     * Waits for an artifact render, unwrapping the original failure.
+     *
+     * @param future Pending render.
+     * @return Rendered Java code.
+     */
+    private String awaitRender(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new EntityGenerationException("Rendering failed: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Validates the entity metadata.
      *
@@ -104,7 +576,7 @@ public class EntityGeneratorService {
      * @return Validation result.
      */
     public ValidationResult validateMetadata(EntityMetadata metadata) {
-        logger.info("Validating metadata for entity: {} at {}", metadata.getEntityName(), LocalDateTime.now());
+        logger.debug("Validating metadata for entity: {}", metadata.getEntityName());
         List<String> errors = new ArrayList<>();
         List<String> warnings = new ArrayList<>();
 
@@ -124,6 +596,12 @@ public class EntityGeneratorService {
                 if (isBlank(field.getType())) errors.add("Field type is required for field: " + field.getName());
             }
         }
+        if (metadata.getJavaVersion() < 17) {
+            errors.add("Java version must be 17 or later, the baseline of Spring Boot 3");
+        }
+        for (String feature : ResolvedEntity.unsupportedFeatures(metadata)) {
+            errors.add("Option " + feature + " is not supported by the " + metadata.getTarget() + " target");
+        }
 
         return new ValidationResult(errors.isEmpty(), errors, warnings);
     }
@@ -136,20 +614,30 @@ public class EntityGeneratorService {
      * @throws EntityGenerationException If preview generation fails.
      */
     public Map<String, String> generatePreview(EntityMetadata metadata) throws EntityGenerationException {
-        logger.info("Generating preview for entity: {} at {}", metadata.getEntityName(), LocalDateTime.now());
-        validateMetadata(metadata).isValid();
+        return generatePreview(metadata, GenerationTrace.DISABLED);
+    }
+
+    /**
+     * Generates a preview of all generated components without saving files, recording the stages
+     * as child spans of the given trace.
+     *
+     * @param metadata The metadata for entity generation.
+     * @param trace Trace receiving the stage timings.
+     * @return Map of file names and their content.
+     * @throws EntityGenerationException If preview generation fails.
+     */
+    public Map<String, String> generatePreview(EntityMetadata metadata, GenerationTrace trace) throws EntityGenerationException {
+        logger.debug("Generating preview for entity: {}", metadata.getEntityName());
+        trace.record("validation", () -> validateMetadata(metadata)).isValid();
 
         Map<String, String> preview = new HashMap<>();
         try {
             String entityName = toSingular(metadata.getEntityName());
-            preview.put("entity/" + entityName + ".java", generateEntityClassContent(metadata));
-            preview.put("dto/" + entityName + "DTO.java", generateDTOClassContent(metadata));
-            preview.put("repository/" + entityName + "Repository.java", generateRepositoryClassContent(metadata));
-            preview.put("service/" + entityName + "Service.java", generateServiceClassContent(metadata));
-            preview.put("controller/" + entityName + "Controller.java", generateControllerClassContent(metadata));
+            renderArtifacts(metadata, MetadataFingerprint.of(metadata), trace).forEach((type, content) ->
+                    preview.put(type.getSubPackage() + "/" + type.fileName(entityName), content));
             return preview;
         } catch (Exception e) {
-            logger.error("Preview generation failed: {} at {}", e.getMessage(), LocalDateTime.now());
+            logger.error("Preview generation failed: {}", e.getMessage());
             throw new EntityGenerationException("Preview generation failed: " + e.getMessage(), e);
         }
     }
@@ -160,7 +648,7 @@ public class EntityGeneratorService {
      * @return List of supported types.
      */
     public List<String> getSupportedTypes() {
-        logger.info("Fetching supported data types at {}", LocalDateTime.now());
+        logger.debug("Fetching supported data types");
         return Arrays.asList("String", "Integer", "Long", "Double", "Boolean", "LocalDate", "LocalDateTime");
     }
 
@@ -170,7 +658,7 @@ public class EntityGeneratorService {
      * @return List of validation rule names.
      */
     public List<String> getSupportedValidationRules() {
-        logger.info("Fetching supported validation rules at {}", LocalDateTime.now());
+        logger.debug("Fetching supported validation rules");
         return Arrays.stream(ValidationRule.ValidationType.values())
                 .map(Enum::name)
                 .collect(Collectors.toList());
@@ -182,83 +670,82 @@ public class EntityGeneratorService {
      * @return List of relationship types.
      */
     public List<String> getRelationshipTypes() {
-        logger.info("Fetching supported relationship types at {}", LocalDateTime.now());
+        logger.debug("Fetching supported relationship types");
         return Arrays.asList("OneToOne", "OneToMany", "ManyToOne", "ManyToMany");
     }
 
     /**
-     * Deletes generated files for a given entity.
+     * Deletes generated files for a given entity. The files are taken from the generation manifest;
+     * entities that are not recorded there are looked up by their artifact file names.
      *
      * @param entityName Name of the entity to delete.
      * @throws IOException If file deletion fails.
      */
     public void deleteGenerated(String entityName) throws IOException {
-        logger.info("Deleting generated files for entity: {} at {}", entityName, LocalDateTime.now());
-        String basePath = SOURCE_ROOT + "/" + DEFAULT_PACKAGE.replace(".", "/");
+        logger.info("Deleting generated files for entity: {}", entityName);
+        String packagePath = DEFAULT_PACKAGE.replace(".", "/");
         String singularName = toSingular(entityName);
 
-        List<String> files = Arrays.asList(
-                "entity/" + singularName + ".java",
-                "dto/" + singularName + "DTO.java",
-                "repository/" + singularName + "Repository.java",
-                "service/" + singularName + "Service.java",
-                "controller/" + singularName + "Controller.java"
-                                          );
-
-        for (String file : files) {
-            Path path = Path.of(basePath + "/" + file);
+        GenerationManifest.Entry entry = manifest.remove(singularName);
+        if (entry != null) {
+            for (String file : entry.getFiles().keySet()) {
+                // Shared files stay as long as another entity was generated with them
+                if (manifest.isReferenced(file)) continue;
+                if (Files.deleteIfExists(Path.of(file))) {
+                    logger.debug("Deleted file: {}", file);
+                }
+            }
+            return;
+        }
+        // Entities generated before the manifest existed: look for every possible artifact
+        for (ArtifactType type : ArtifactType.values()) {
+            if (type.isShared()) continue;
+            Path path = outputRoot(type).resolve(type.relativePath(packagePath, singularName));
             if (Files.exists(path)) {
                 Files.delete(path);
-                logger.debug("Deleted file: {} at {}", path, LocalDateTime.now());
+                logger.debug("Deleted file: {}", path);
             }
         }
     }
 
     /**
-     * Retrieves a list of generated entities.
+     * Retrieves a sorted list of generated entities, as recorded in the generation manifest.
      *
      * @return List of entity names.
-     * @throws IOException If directory reading fails.
      */
-    public List<String> getGeneratedEntities() throws IOException {
-        logger.info("Fetching generated entities at {}", LocalDateTime.now());
-        Path entityPath = Path.of(SOURCE_ROOT + "/" + DEFAULT_PACKAGE.replace(".", "/") + "/entity");
-        if (!Files.exists(entityPath)) {
-            return Collections.emptyList();
-        }
-        return Files.list(entityPath)
-                .filter(p -> p.toString().endsWith(".java"))
-                .map(p -> p.getFileName().toString().replace(".java", ""))
-                .collect(Collectors.toList());
+    public List<String> getGeneratedEntities() {
+        logger.debug("Fetching generated entities");
+        return manifest.getEntityNames();
     }
 
     /**
-     * Generates and writes a file to the specified path within the project source.
+     * Finds the entities generated before the manifest existed, with the digests of the artifact files they
+     * still have. Their metadata is unknown, so incremental runs generate them again.
      *
-     * @param basePackage Base package name.
-     * @param subPackage Sub-package (e.g., entity, dto).
-     * @param fileName Name of the file.
-     * @param content Content to write.
-     * @param overwrite Whether to overwrite existing files.
-     * @return Path of the written file.
-     * @throws IOException If file writing fails.
+     * @return Manifest entries by entity name.
      */
-    private String generateAndWriteFile(String basePackage, String subPackage, String fileName, String content, boolean overwrite) throws IOException {
-        Path basePath = Path.of(SOURCE_ROOT, basePackage.replace(".", "/"), subPackage);
-        Files.createDirectories(basePath);
-        Path path = basePath.resolve(fileName);
-
-        if (Files.exists(path) && !overwrite) {
-            logger.warn("File {} already exists and overwrite is disabled", path);
-            return path.toString();
-        }
-
-        logger.info("Writing file: {} with content length: {}", path, content.length());
-        try (var writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
-            writer.write(content);
+    private Map<String, GenerationManifest.Entry> findLegacyEntities() {
+        String packagePath = DEFAULT_PACKAGE.replace(".", "/");
+        Path entityPath = sourceRoot.resolve(packagePath).resolve(ArtifactType.ENTITY.getSubPackage());
+        Map<String, GenerationManifest.Entry> legacy = new TreeMap<>();
+        if (!Files.isDirectory(entityPath)) return legacy;
+        try (Stream<Path> entityFiles = Files.list(entityPath)) {
+            for (Path entityFile : (Iterable<Path>) entityFiles.filter(p -> p.toString().endsWith(".java"))::iterator) {
+                String entityName = entityFile.getFileName().toString().replace(".java", "");
+                Map<String, String> digests = new LinkedHashMap<>();
+                for (ArtifactType type : ArtifactType.values()) {
+                    if (type.isShared()) continue;
+                    Path path = outputRoot(type).resolve(type.relativePath(packagePath, entityName));
+                    if (Files.isRegularFile(path)) {
+                        digests.put(path.toString(), MetadataFingerprint.sha256(Files.readAllBytes(path)));
+                    }
+                }
+                legacy.put(entityName, new GenerationManifest.Entry("", digests, Files.getLastModifiedTime(entityFile).toInstant()));
+            }
+        } catch (IOException e) {
+            logger.warn("Could not scan {} for entities generated before the manifest: {}", entityPath, e.getMessage());
         }
-        logger.info("Successfully wrote file: {}", path);
-        return path.toString();
+        return legacy;
     }
 
     /**
@@ -267,7 +754,7 @@ public class EntityGeneratorService {
      * @param entityName Entity name (possibly plural).
      * @return Singular form of the entity name.
      */
-    private String toSingular(String entityName) {
+    static String toSingular(String entityName) {
         if (entityName == null || entityName.trim().isEmpty()) {
             return entityName;
         }
@@ -284,31 +771,30 @@ public class EntityGeneratorService {
     /**
      * Generates the entity class content with Swagger annotations.
      *
-     * @param metadata Entity metadata.
+     * @param entity Resolved entity.
      * @return Generated Java code as a string.
      */
-    private String generateEntityClassContent(EntityMetadata metadata) {
-        String entityName = toSingular(metadata.getEntityName());
+    String generateEntityClassContent(ResolvedEntity entity) {
+        String entityName = entity.getEntityName();
         TypeSpec.Builder classBuilder = TypeSpec.classBuilder(entityName)
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(AnnotationSpec.builder(Entity.class).build())
-                .addAnnotation(AnnotationSpec.builder(Table.class)
-                        .addMember("name", "$S", "\"" + entityName.toLowerCase() + "\"")
-                        .build())
+                .addAnnotation(buildTableAnnotation(entity))
                 .addAnnotation(lombok.Data.class)
                 .addAnnotation(lombok.NoArgsConstructor.class)
                 .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.media.Schema.class)
                         .addMember("description", "$S", "Generated entity class for " + entityName)
                         .build());
 
-        boolean hasId = metadata.getFields() != null &&
-                metadata.getFields().stream().anyMatch(field -> Boolean.TRUE.equals(field.isPrimaryKey()));
-        if (!hasId) {
+        if (entity.isCached()) {
+            classBuilder.addAnnotation(Cacheable.class)
+                    .addAnnotation(buildCacheAnnotation(entity));
+        }
+
+        if (!entity.hasPrimaryKey()) {
             classBuilder.addField(FieldSpec.builder(Long.class, "id", Modifier.PRIVATE)
                     .addAnnotation(Id.class)
-                    .addAnnotation(AnnotationSpec.builder(GeneratedValue.class)
-                            .addMember("strategy", "$T.IDENTITY", GenerationType.class)
-                            .build())
+                    .addAnnotations(buildIdGenerationAnnotations(entity))
                     .addAnnotation(AnnotationSpec.builder(Column.class)
                             .addMember("name", "$S", "id")
                             .addMember("nullable", "$L", false)
@@ -319,20 +805,21 @@ public class EntityGeneratorService {
                     .build());
         }
 
-        addAuditFields(classBuilder);
+        addAuditFields(classBuilder, entity);
+        if (entity.usesManagedUpdates()) {
+            classBuilder.addAnnotation(DynamicUpdate.class);
+        }
 
-        if (metadata.getFields() != null && !metadata.getFields().isEmpty()) {
-            for (Field field : metadata.getFields()) {
-                validateField(field);
-                classBuilder.addField(buildFieldSpec(field, metadata.isEnableValidation()));
-            }
+        boolean enableValidation = entity.getMetadata().isEnableValidation();
+        for (ResolvedEntity.ResolvedField field : entity.getFields()) {
+            classBuilder.addField(buildFieldSpec(entity, field, enableValidation));
         }
 
-        if (metadata.getRelationships() != null) {
-            for (Relationship rel : metadata.getRelationships()) {
-                validateRelationship(rel, entityName);
-                classBuilder.addField(buildRelationshipFieldSpec(rel));
-            }
+        for (ResolvedEntity.ResolvedRelationship rel : entity.getRelationships()) {
+            classBuilder.addField(buildRelationshipFieldSpec(entity, rel));
+        }
+        if (!entity.getRelationships().isEmpty()) {
+            classBuilder.addAnnotation(buildEntityGraph(entity));
         }
 
         String packageName = DEFAULT_PACKAGE + ".entity";
@@ -342,20 +829,45 @@ public class EntityGeneratorService {
                 .toString();
     }
 
+    /**
+     * Builds the table annotation with the indexes that JPA can express.
+     *
+     * @param entity Resolved entity.
+     * @return Table annotation.
+     */
+    private AnnotationSpec buildTableAnnotation(ResolvedEntity entity) {
+        AnnotationSpec.Builder table = AnnotationSpec.builder(Table.class)
+                .addMember("name", "$S", "\"" + entity.getTableName() + "\"");
+        for (ResolvedEntity.ResolvedIndex index : entity.getIndexes()) {
+            if (!index.isExpressibleInJpa()) continue;
+            AnnotationSpec.Builder indexAnnotation = AnnotationSpec.builder(Index.class)
+                    .addMember("name", "$S", index.getName())
+                    .addMember("columnList", "$S", String.join(", ", index.getColumns()));
+            if (index.isUnique()) indexAnnotation.addMember("unique", "$L", true);
+            table.addMember("indexes", "$L", indexAnnotation.build());
+        }
+        return table.build();
+    }
+
     /**
      * Generates the DTO class content with Swagger annotations.
      *
-     * @param metadata Entity metadata.
+     * @param entity Resolved entity.
      * @return Generated Java code as a string.
      */
-    private String generateDTOClassContent(EntityMetadata metadata) {
-        String entityName = toSingular(metadata.getEntityName());
-        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(entityName + "DTO")
+    String generateDTOClassContent(ResolvedEntity entity) {
+        String entityName = entity.getEntityName();
+        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(entity.getDtoClass().simpleName())
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(lombok.Data.class)
                 .addAnnotation(AnnotationSpec.builder(Schema.class)
                         .addMember("description", "$S", "Data transfer object for " + entityName)
                         .build());
+        if (entity.getMetadata().isEnableProjections()) {
+            // Projection queries instantiate the DTO through a constructor taking all fields in declaration order
+            classBuilder.addAnnotation(lombok.NoArgsConstructor.class)
+                    .addAnnotation(lombok.AllArgsConstructor.class);
+        }
 
         classBuilder.addField(FieldSpec.builder(Long.class, "id", Modifier.PRIVATE)
                 .addAnnotation(AnnotationSpec.builder(Schema.class)
@@ -378,13 +890,18 @@ public class EntityGeneratorService {
                         .build())
                 .build());
 
-        if (metadata.getFields() != null) {
-            for (Field field : metadata.getFields()) {
-                if (!Boolean.TRUE.equals(field.isPrimaryKey())) {
-                    validateField(field);
-                    classBuilder.addField(buildDTOFieldSpec(field, true, metadata.isEnableJsonAnnotations()));
-                }
-            }
+        if (entity.getMetadata().isEnableOptimisticLocking()) {
+            classBuilder.addField(FieldSpec.builder(Long.class, "version", Modifier.PRIVATE)
+                    .addAnnotation(AnnotationSpec.builder(Schema.class)
+                            .addMember("description", "$S", "Version read by the client; updates with a stale version are rejected")
+                            .addMember("example", "$S", "0")
+                            .build())
+                    .build());
+        }
+
+        boolean enableJsonAnnotations = entity.getMetadata().isEnableJsonAnnotations();
+        for (ResolvedEntity.ResolvedField field : entity.getDtoFields()) {
+            classBuilder.addField(buildDTOFieldSpec(field, true, enableJsonAnnotations));
         }
 
         String packageName = DEFAULT_PACKAGE + ".dto";
@@ -397,19 +914,44 @@ public class EntityGeneratorService {
     /**
      * Generates the repository interface content.
      *
-     * @param metadata Entity metadata.
+     * @param entity Resolved entity.
      * @return Generated Java code as a string.
      */
-    private String generateRepositoryClassContent(EntityMetadata metadata) {
-        String entityName = toSingular(metadata.getEntityName());
-        TypeSpec.Builder interfaceBuilder = TypeSpec.interfaceBuilder(entityName + "Repository")
+    String generateRepositoryClassContent(ResolvedEntity entity) {
+        TypeSpec.Builder interfaceBuilder = TypeSpec.interfaceBuilder(entity.getRepositoryClass().simpleName())
                 .addModifiers(Modifier.PUBLIC)
                 .addSuperinterface(ParameterizedTypeName.get(
                         ClassName.get(JpaRepository.class),
-                        ClassName.get(DEFAULT_PACKAGE + ".entity", entityName),
+                        entity.getEntityClass(),
                         ClassName.get(Long.class)))
                 .addAnnotation(org.springframework.stereotype.Repository.class);
 
+        addPaginationQueries(interfaceBuilder, entity);
+        if (entity.isCached()) {
+            // Redeclared so that the full list, typically read from small lookup tables, goes through the query cache
+            interfaceBuilder.addMethod(MethodSpec.methodBuilder("findAll")
+                    .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                    .addAnnotation(Override.class)
+                    .addAnnotation(AnnotationSpec.builder(QueryHints.class)
+                            .addMember("value", "$L", AnnotationSpec.builder(QueryHint.class)
+                                    .addMember("name", "$T.HINT_CACHEABLE", HibernateHints.class)
+                                    .addMember("value", "$S", "true")
+                                    .build())
+                            .build())
+                    .returns(ParameterizedTypeName.get(ClassName.get(List.class), entity.getEntityClass()))
+                    .build());
+        }
+        if (entity.getMetadata().isEnableProjections()) {
+            addProjectionQueries(interfaceBuilder, entity);
+        }
+        addIndexedLookups(interfaceBuilder, entity);
+        if (!entity.getRelationships().isEmpty()) {
+            addAssociationQueries(interfaceBuilder, entity);
+        }
+        if (entity.getMetadata().isEnableStreamingExport()) {
+            addExportQuery(interfaceBuilder, entity);
+        }
+
         String packageName = DEFAULT_PACKAGE + ".repository";
         return JavaFile.builder(packageName, interfaceBuilder.build())
                 .indent("    ")
@@ -420,22 +962,31 @@ public class EntityGeneratorService {
     /**
      * Generates the service class content.
      *
-     * @param metadata Entity metadata.
+     * @param entity Resolved entity.
      * @return Generated Java code as a string.
      */
-    private String generateServiceClassContent(EntityMetadata metadata) {
-        String entityName = toSingular(metadata.getEntityName());
-        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(entityName + "Service")
+    String generateServiceClassContent(ResolvedEntity entity) {
+        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(entity.getServiceClass().simpleName())
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(Service.class)
                 .addAnnotation(lombok.RequiredArgsConstructor.class);
 
-        classBuilder.addField(FieldSpec.builder(
-                        ClassName.get(DEFAULT_PACKAGE + ".repository", entityName + "Repository"),
-                        "repository", Modifier.PRIVATE, Modifier.FINAL)
+        classBuilder.addField(FieldSpec.builder(entity.getRepositoryClass(), "repository", Modifier.PRIVATE, Modifier.FINAL)
                 .build());
 
-        addCrudMethods(classBuilder, entityName, metadata);
+        addCrudMethods(classBuilder, entity);
+        EntityMetadata metadata = entity.getMetadata();
+        if (metadata.isEnableStreamingExport() || metadata.isEnableBulkOperations()) {
+            classBuilder.addField(FieldSpec.builder(EntityManager.class, "entityManager", Modifier.PRIVATE)
+                    .addAnnotation(PersistenceContext.class)
+                    .build());
+        }
+        if (metadata.isEnableStreamingExport()) {
+            addExportMethod(classBuilder, entity);
+        }
+        if (metadata.isEnableBulkOperations()) {
+            addBulkMethods(classBuilder, entity);
+        }
 
         String packageName = DEFAULT_PACKAGE + ".service";
         return JavaFile.builder(packageName, classBuilder.build())
@@ -447,11 +998,11 @@ public class EntityGeneratorService {
     /**
      * Generates the controller class content with Swagger annotations.
      *
-     * @param metadata Entity metadata.
+     * @param entity Resolved entity.
      * @return Generated Java code as a string.
      */
-    private String generateControllerClassContent(EntityMetadata metadata) {
-        String entityName = toSingular(metadata.getEntityName());
+    String generateControllerClassContent(ResolvedEntity entity) {
+        String entityName = entity.getEntityName();
         TypeSpec.Builder classBuilder = TypeSpec.classBuilder(entityName + "Controller")
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(org.springframework.web.bind.annotation.RestController.class)
@@ -464,12 +1015,25 @@ public class EntityGeneratorService {
                         .addMember("description", "$S", "API endpoints for " + entityName)
                         .build());
 
-        classBuilder.addField(FieldSpec.builder(
-                        ClassName.get(DEFAULT_PACKAGE + ".service", entityName + "Service"),
-                        "service", Modifier.PRIVATE, Modifier.FINAL)
+        classBuilder.addField(FieldSpec.builder(int.class, "MAX_PAGE_SIZE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", entity.getMetadata().getMaxPageSize())
+                .build());
+
+        classBuilder.addField(FieldSpec.builder(entity.getServiceClass(), "service", Modifier.PRIVATE, Modifier.FINAL)
                 .build());
 
-        addCrudEndpoints(classBuilder, entityName, metadata);
+        addCrudEndpoints(classBuilder, entity);
+        if (entity.usesVirtualThreads() && entity.getRelationships().stream().anyMatch(rel -> !rel.isCollection())) {
+            addRelatedEndpoint(classBuilder, entity);
+        }
+        if (entity.getMetadata().isEnableBulkOperations()) {
+            addBulkEndpoints(classBuilder, entity);
+        }
+        if (entity.getMetadata().isEnableStreamingExport()) {
+            classBuilder.addField(FieldSpec.builder(ObjectMapper.class, "objectMapper", Modifier.PRIVATE, Modifier.FINAL)
+                    .build());
+            classBuilder.addMethod(buildExportEndpoint(entity));
+        }
 
         String packageName = DEFAULT_PACKAGE + ".controller";
         return JavaFile.builder(packageName, classBuilder.build())
@@ -479,11 +1043,100 @@ public class EntityGeneratorService {
     }
 
     /**
-     * Adds audit fields (createdAt, updatedAt) to the class builder with current timestamp.
+     * Adds {@code GET /{id}/related}, which loads every aggregate the entity references through a to-one
+     * relationship, each on its own virtual thread. Every load goes through the target's generated controller,
+     * found by naming convention, so it returns the target's DTO and honours its cache and projections instead
+     * of handing out managed entities across threads. The loads are confined to a try-with-resources executor
+     * and the first failure shuts down the rest; StructuredTaskScope gives the same shape but is a preview API
+     * in Java 21.
+     *
+     * @param classBuilder The controller builder to modify.
+     * @param entity Resolved entity.
+     */
+    private void addRelatedEndpoint(TypeSpec.Builder classBuilder, ResolvedEntity entity) {
+        String controllerPackage = DEFAULT_PACKAGE + ".controller";
+        String dtoPackage = entity.getDtoClass().packageName();
+        CodeBlock.Builder submits = CodeBlock.builder();
+        CodeBlock.Builder joins = CodeBlock.builder();
+        Set<String> injected = new HashSet<>();
+        for (ResolvedEntity.ResolvedRelationship rel : entity.getRelationships()) {
+            if (rel.isCollection()) continue;
+            String target = ((ClassName) rel.getTargetType()).simpleName();
+            String field = rel.getFieldName();
+            String accessor = field.substring(0, 1).toUpperCase() + field.substring(1);
+            String controller = target.substring(0, 1).toLowerCase() + target.substring(1) + "Controller";
+            if (injected.add(controller)) {
+                // Resolved on first use, so controllers referencing each other do not form a constructor cycle
+                classBuilder.addField(FieldSpec.builder(
+                                ParameterizedTypeName.get(ClassName.get(ObjectProvider.class), ClassName.get(controllerPackage, target + "Controller")),
+                                controller, Modifier.PRIVATE, Modifier.FINAL)
+                        .build());
+            }
+            // Reading the id of a lazy reference does not initialize it
+            submits.addStatement("$T $LId = entity.get$L() == null ? null : entity.get$L().getId()",
+                    Long.class, field, accessor, accessor);
+            submits.addStatement("$T $LLoad = $LId == null ? null : scope.submit(() -> $L.getObject().getById($LId))",
+                    ParameterizedTypeName.get(ClassName.get(Future.class), ClassName.get(dtoPackage, target + "DTO")),
+                    field, field, controller, field);
+            joins.addStatement("related.put($S, join($LLoad, scope))", field, field);
+        }
+
+        TypeName relatedMap = ParameterizedTypeName.get(Map.class, String.class, Object.class);
+        classBuilder.addMethod(MethodSpec.methodBuilder("getRelated")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.GetMapping.class)
+                        .addMember("value", "$S", "/{id}/related")
+                        .build())
+                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
+                        .addMember("summary", "$S", "Get the aggregates referenced by " + entity.getEntityName())
+                        .addMember("description", "$S", "Loads each referenced aggregate concurrently on a virtual thread"
+                                + " and returns its DTO by relationship name, or null when the reference is empty")
+                        .build())
+                .addParameter(ParameterSpec.builder(Long.class, "id")
+                        .addAnnotation(org.springframework.web.bind.annotation.PathVariable.class)
+                        .build())
+                .returns(relatedMap)
+                .addStatement("$T entity = service.findById(id)", entity.getEntityClass())
+                .addStatement("$T related = new $T<>()", relatedMap, LinkedHashMap.class)
+                .beginControlFlow("try ($T scope = $T.newVirtualThreadPerTaskExecutor())", ExecutorService.class, Executors.class)
+                .addCode(submits.build())
+                .addCode(joins.build())
+                .endControlFlow()
+                .addStatement("return related")
+                .build());
+
+        TypeVariableName t = TypeVariableName.get("T");
+        classBuilder.addMethod(MethodSpec.methodBuilder("join")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addTypeVariable(t)
+                .returns(t)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Future.class), t), "load")
+                .addParameter(ExecutorService.class, "scope")
+                .beginControlFlow("if (load == null)")
+                .addStatement("return null")
+                .endControlFlow()
+                .beginControlFlow("try")
+                .addStatement("return load.get()")
+                .nextControlFlow("catch ($T e)", ExecutionException.class)
+                .addStatement("scope.shutdownNow()")
+                .addStatement("if (e.getCause() instanceof $T cause) throw cause", RuntimeException.class)
+                .addStatement("throw new $T(e.getCause())", IllegalStateException.class)
+                .nextControlFlow("catch ($T e)", InterruptedException.class)
+                .addStatement("scope.shutdownNow()")
+                .addStatement("$T.currentThread().interrupt()", Thread.class)
+                .addStatement("throw new $T(e)", IllegalStateException.class)
+                .endControlFlow()
+                .build());
+    }
+
+    /**
+     * Adds audit fields (createdAt, updatedAt) to the class builder with current timestamp,
+     * and the version field if optimistic locking is enabled.
      *
      * @param classBuilder The class builder to modify.
+     * @param entity Resolved entity.
      */
-    private void addAuditFields(TypeSpec.Builder classBuilder) {
+    private void addAuditFields(TypeSpec.Builder classBuilder, ResolvedEntity entity) {
         LocalDateTime now = LocalDateTime.now();
         classBuilder.addField(FieldSpec.builder(LocalDateTime.class, "createdAt", Modifier.PRIVATE)
                 .addAnnotation(AnnotationSpec.builder(Column.class)
@@ -500,6 +1153,16 @@ public class EntityGeneratorService {
                         .build())
                 .build());
 
+        if (entity.getMetadata().isEnableOptimisticLocking()) {
+            classBuilder.addField(FieldSpec.builder(Long.class, "version", Modifier.PRIVATE)
+                    .addAnnotation(Version.class)
+                    .addAnnotation(AnnotationSpec.builder(Column.class)
+                            .addMember("name", "$S", "version")
+                            .addMember("nullable", "$L", false)
+                            .build())
+                    .build());
+        }
+
         classBuilder.addMethod(MethodSpec.methodBuilder("prePersist")
                 .addAnnotation(PrePersist.class)
                 .addModifiers(Modifier.PROTECTED)
@@ -518,11 +1181,11 @@ public class EntityGeneratorService {
      * Adds CRUD methods to the service class builder.
      *
      * @param classBuilder The class builder to modify.
-     * @param entityName Name of the entity.
-     * @param metadata Entity metadata.
+     * @param entity Resolved entity.
      */
-    private void addCrudMethods(TypeSpec.Builder classBuilder, String entityName, EntityMetadata metadata) {
-        ClassName entityClass = ClassName.get(DEFAULT_PACKAGE + ".entity", entityName);
+    private void addCrudMethods(TypeSpec.Builder classBuilder, ResolvedEntity entity) {
+        String entityName = entity.getEntityName();
+        ClassName entityClass = entity.getEntityClass();
 
         classBuilder.addMethod(MethodSpec.methodBuilder("findAll")
                 .addModifiers(Modifier.PUBLIC)
@@ -530,210 +1193,1522 @@ public class EntityGeneratorService {
                 .addStatement("return repository.findAll()")
                 .build());
 
-        classBuilder.addMethod(MethodSpec.methodBuilder("findById")
+        classBuilder.addMethod(MethodSpec.methodBuilder("findAll")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(Slice.class), entityClass))
+                .addParameter(Pageable.class, "pageable")
+                .addStatement("return repository.findAllBy(pageable)")
+                .build());
+
+        if (entity.getMetadata().isEnableKeysetPagination()) {
+            classBuilder.addMethod(buildKeysetServiceMethod(entity));
+        }
+
+        if (entity.getMetadata().isEnableProjections()) {
+            addProjectionMethods(classBuilder, entity);
+        }
+
+        if (!entity.getRelationships().isEmpty()) {
+            addAssociationMethods(classBuilder, entity);
+        }
+
+        MethodSpec.Builder findById = MethodSpec.methodBuilder("findById")
                 .addModifiers(Modifier.PUBLIC)
                 .returns(entityClass)
                 .addParameter(Long.class, "id")
                 .addStatement("return repository.findById(id).orElseThrow(() -> new $T($S))",
-                        EntityGenerationException.class, "Entity not found: " + entityName)
-                .build());
-
-        classBuilder.addMethod(MethodSpec.methodBuilder("save")
+                        EntityGenerationException.class, "Entity not found: " + entityName);
+        MethodSpec.Builder save = MethodSpec.methodBuilder("save")
                 .addModifiers(Modifier.PUBLIC)
                 .returns(entityClass)
                 .addParameter(entityClass, "entity")
-                .addStatement("return repository.save(entity)")
-                .build());
-
-        classBuilder.addMethod(MethodSpec.methodBuilder("deleteById")
+                .addStatement("return repository.save(entity)");
+        MethodSpec.Builder deleteById = MethodSpec.methodBuilder("deleteById")
                 .addModifiers(Modifier.PUBLIC)
                 .addParameter(Long.class, "id")
-                .addStatement("repository.deleteById(id)")
-                .build());
+                .addStatement("repository.deleteById(id)");
+
+        if (entity.isCached()) {
+            // Lookups are cached as DTOs by the controller; the entities themselves live in the second-level cache
+            String cacheName = entity.getCacheName();
+            save.addAnnotation(AnnotationSpec.builder(CacheEvict.class)
+                    .addMember("cacheNames", "$S", cacheName)
+                    .addMember("key", "$S", "#entity." + entity.getIdName())
+                    .addMember("condition", "$S", "#entity." + entity.getIdName() + " != null")
+                    .build());
+            deleteById.addAnnotation(AnnotationSpec.builder(CacheEvict.class)
+                    .addMember("cacheNames", "$S", cacheName)
+                    .addMember("key", "$S", "#id")
+                    .build());
+        }
+
+        classBuilder.addMethod(findById.build());
+        classBuilder.addMethod(save.build());
+        if (entity.usesManagedUpdates()) {
+            classBuilder.addMethod(buildManagedUpdateServiceMethod(entity));
+        }
+        classBuilder.addMethod(deleteById.build());
     }
 
     /**
      * Adds CRUD endpoints to the controller class builder.
      *
      * @param classBuilder The class builder to modify.
-     * @param entityName Name of the entity.
-     * @param metadata Entity metadata.
+     * @param entity Resolved entity.
      */
-    private void addCrudEndpoints(TypeSpec.Builder classBuilder, String entityName, EntityMetadata metadata) {
-        ClassName entityClass = ClassName.get(DEFAULT_PACKAGE + ".entity", entityName);
-        ClassName dtoClass = ClassName.get(DEFAULT_PACKAGE + ".dto", entityName + "DTO");
+    private void addCrudEndpoints(TypeSpec.Builder classBuilder, ResolvedEntity entity) {
+        String entityName = entity.getEntityName();
+        ClassName entityClass = entity.getEntityClass();
+        ClassName dtoClass = entity.getDtoClass();
+        CodeBlock[] fieldMappings = generateFieldMappingCode(entity);
 
         classBuilder.addMethod(MethodSpec.methodBuilder("getAll")
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(org.springframework.web.bind.annotation.GetMapping.class)
                 .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
                         .addMember("summary", "$S", "Get all " + entityName)
+                        .addMember("description", "$S", "Returns one page of at most " + entity.getMetadata().getMaxPageSize()
+                                + " items; no total count is computed")
+                        .build())
+                .addParameter(ParameterSpec.builder(Pageable.class, "pageable")
+                        .addAnnotation(AnnotationSpec.builder(PageableDefault.class)
+                                .addMember("size", "$L", entity.getMetadata().getDefaultPageSize())
+                                .build())
                         .build())
-                .returns(ParameterizedTypeName.get(ClassName.get(List.class), dtoClass))
-                .addStatement("$T result = service.findAll()", ParameterizedTypeName.get(ClassName.get(List.class), entityClass))
-                .addStatement("return result.stream().map(this::toDTO).collect($T.toList())", Collectors.class)
+                .returns(ParameterizedTypeName.get(ClassName.get(Slice.class), dtoClass))
+                .addStatement("$T bounded = $T.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), MAX_PAGE_SIZE), pageable.getSort())",
+                        Pageable.class, PageRequest.class)
+                .addStatement(entity.getMetadata().isEnableProjections()
+                        ? "return service.findAllProjected(bounded)"
+                        : "return service.findAll(bounded).map(this::toDTO)")
                 .build());
 
-        classBuilder.addMethod(MethodSpec.methodBuilder("getById")
-                .addModifiers(Modifier.PUBLIC)
+        if (entity.getMetadata().isEnableKeysetPagination()) {
+            classBuilder.addMethod(buildKeysetEndpoint(entity));
+        }
+
+        MethodSpec.Builder getById = MethodSpec.methodBuilder("getById")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.GetMapping.class)
+                        .addMember("value", "$S", "/{id}")
+                        .build())
+                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
+                        .addMember("summary", "$S", "Get " + entityName + " by ID")
+                        .build());
+        if (entity.isCached()) {
+            // The DTO is cached rather than the entity: a cached managed entity outlives its session, so its
+            // lazy associations would fail on every hit and callers would share one mutable instance
+            getById.addAnnotation(AnnotationSpec.builder(org.springframework.cache.annotation.Cacheable.class)
+                    .addMember("cacheNames", "$S", entity.getCacheName())
+                    .addMember("key", "$S", "#id")
+                    .build());
+        }
+        classBuilder.addMethod(getById
+                .addParameter(ParameterSpec.builder(Long.class, "id")
+                        .addAnnotation(org.springframework.web.bind.annotation.PathVariable.class)
+                        .build())
+                .returns(dtoClass)
+                .addCode(entity.getMetadata().isEnableProjections()
+                        ? CodeBlock.of("return service.findProjectedById(id);\n")
+                        : CodeBlock.builder()
+                                .addStatement("$T entity = service.findById(id)", entityClass)
+                                .addStatement("return toDTO(entity)")
+                                .build())
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("create")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(org.springframework.web.bind.annotation.PostMapping.class)
+                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
+                        .addMember("summary", "$S", "Create new " + entityName)
+                        .build())
+                .addParameter(ParameterSpec.builder(dtoClass, "dto")
+                        .addAnnotation(org.springframework.web.bind.annotation.RequestBody.class)
+                        .build())
+                .returns(dtoClass)
+                .addStatement("$T entity = toEntity(dto)", entityClass)
+                .addStatement("$T savedEntity = service.save(entity)", entityClass)
+                .addStatement("return toDTO(savedEntity)")
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("update")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.PutMapping.class)
+                        .addMember("value", "$S", "/{id}")
+                        .build())
+                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
+                        .addMember("summary", "$S", "Update " + entityName)
+                        .build())
+                .addParameter(ParameterSpec.builder(Long.class, "id")
+                        .addAnnotation(org.springframework.web.bind.annotation.PathVariable.class)
+                        .build())
+                .addParameter(ParameterSpec.builder(dtoClass, "dto")
+                        .addAnnotation(org.springframework.web.bind.annotation.RequestBody.class)
+                        .build())
+                .returns(dtoClass)
+                .addCode(entity.getMetadata().isEnableOptimisticLocking()
+                        ? buildManagedUpdate(entity, false)
+                        : CodeBlock.builder()
+                                .addStatement("$T entity = toEntity(dto)", entityClass)
+                                .addStatement("entity.setId(id)")
+                                .addStatement("$T updatedEntity = service.save(entity)", entityClass)
+                                .addStatement("return toDTO(updatedEntity)")
+                                .build())
+                .build());
+
+        if (entity.getMetadata().isEnablePartialUpdates()) {
+            classBuilder.addMethod(MethodSpec.methodBuilder("patch")
+                    .addModifiers(Modifier.PUBLIC)
+                    .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.PatchMapping.class)
+                            .addMember("value", "$S", "/{id}")
+                            .build())
+                    .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
+                            .addMember("summary", "$S", "Partially update " + entityName)
+                            .addMember("description", "$S", entity.getMetadata().isEnableOptimisticLocking()
+                                    ? "Applies only the non-null fields; if a version is sent, a stale version is rejected"
+                                    : "Applies only the non-null fields")
+                            .build())
+                    .addParameter(ParameterSpec.builder(Long.class, "id")
+                            .addAnnotation(org.springframework.web.bind.annotation.PathVariable.class)
+                            .build())
+                    .addParameter(ParameterSpec.builder(dtoClass, "dto")
+                            .addAnnotation(org.springframework.web.bind.annotation.RequestBody.class)
+                            .build())
+                    .returns(dtoClass)
+                    .addCode(buildManagedUpdate(entity, true))
+                    .build());
+        }
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("delete")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.DeleteMapping.class)
+                        .addMember("value", "$S", "/{id}")
+                        .build())
+                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
+                        .addMember("summary", "$S", "Delete " + entityName)
+                        .build())
+                .addParameter(ParameterSpec.builder(Long.class, "id")
+                        .addAnnotation(org.springframework.web.bind.annotation.PathVariable.class)
+                        .build())
+                .addStatement("service.deleteById(id)")
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("toDTO")
+                .addModifiers(Modifier.PRIVATE)
+                .returns(dtoClass)
+                .addParameter(entityClass, "entity")
+                .addStatement("$T dto = new $T()", dtoClass, dtoClass)
+                .addStatement("dto.setId(entity.getId())")
+                .beginControlFlow("if (entity.getCreatedAt() != null)")
+                .addStatement("dto.setCreatedAt(entity.getCreatedAt())")
+                .endControlFlow()
+                .beginControlFlow("if (entity.getUpdatedAt() != null)")
+                .addStatement("dto.setUpdatedAt(entity.getUpdatedAt())")
+                .endControlFlow()
+                .addCode(entity.getMetadata().isEnableOptimisticLocking()
+                        ? CodeBlock.of("dto.setVersion(entity.getVersion());\n")
+                        : CodeBlock.of(""))
+                .addCode(fieldMappings[0])
+                .addStatement("return dto")
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("toEntity")
+                .addModifiers(Modifier.PRIVATE)
+                .returns(entityClass)
+                .addParameter(dtoClass, "dto")
+                .addStatement("$T entity = new $T()", entityClass, entityClass)
+                .addStatement("entity.setId(dto.getId())")
+                .beginControlFlow("if (dto.getCreatedAt() != null)")
+                .addStatement("entity.setCreatedAt(dto.getCreatedAt())")
+                .endControlFlow()
+                .beginControlFlow("if (dto.getUpdatedAt() != null)")
+                .addStatement("entity.setUpdatedAt(dto.getUpdatedAt())")
+                .endControlFlow()
+                .addCode(fieldMappings[1])
+                .addStatement("return entity")
+                .build());
+    }
+
+    /**
+     * Adds the paginated repository queries: a {@link Slice} query that skips the count query and,
+     * if enabled, keyset queries ordered by the keyset field with the primary key as tiebreaker.
+     *
+     * @param interfaceBuilder The repository builder to modify.
+     * @param entity Resolved entity.
+     */
+    private void addPaginationQueries(TypeSpec.Builder interfaceBuilder, ResolvedEntity entity) {
+        ClassName entityClass = entity.getEntityClass();
+        TypeName listType = ParameterizedTypeName.get(ClassName.get(List.class), entityClass);
+
+        interfaceBuilder.addMethod(MethodSpec.methodBuilder("findAllBy")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(ParameterizedTypeName.get(ClassName.get(Slice.class), entityClass))
+                .addParameter(Pageable.class, "pageable")
+                .build());
+
+        if (!entity.getMetadata().isEnableKeysetPagination()) {
+            return;
+        }
+
+        String select = "select e from " + entity.getEntityName() + " e";
+        String id = "e." + entity.getIdName();
+        String keyset = entity.getKeysetName();
+        String orderBy = keyset == null
+                ? " order by " + id + " asc"
+                : " order by e." + keyset + " asc, " + id + " asc";
+        String after = keyset == null
+                ? " where " + id + " > :afterId"
+                : " where e." + keyset + " > :after or (e." + keyset + " = :after and " + id + " > :afterId)";
+
+        interfaceBuilder.addMethod(MethodSpec.methodBuilder("findFirstKeysetPage")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addAnnotation(AnnotationSpec.builder(Query.class)
+                        .addMember("value", "$S", select + orderBy)
+                        .build())
+                .returns(listType)
+                .addParameter(Pageable.class, "pageable")
+                .build());
+
+        MethodSpec.Builder next = MethodSpec.methodBuilder("findNextKeysetPage")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addAnnotation(AnnotationSpec.builder(Query.class)
+                        .addMember("value", "$S", select + after + orderBy)
+                        .build())
+                .returns(listType);
+        if (keyset != null) {
+            next.addParameter(ParameterSpec.builder(entity.getKeysetType(), "after")
+                    .addAnnotation(AnnotationSpec.builder(Param.class).addMember("value", "$S", "after").build())
+                    .build());
+        }
+        next.addParameter(ParameterSpec.builder(Long.class, "afterId")
+                        .addAnnotation(AnnotationSpec.builder(Param.class).addMember("value", "$S", "afterId").build())
+                        .build())
+                .addParameter(Pageable.class, "pageable");
+        interfaceBuilder.addMethod(next.build());
+    }
+
+    /**
+     * Adds repository reads that load the entity together with its relationships through the entity graph,
+     * so callers that need the relationships do not trigger one query per row.
+     *
+     * @param interfaceBuilder The repository builder to modify.
+     * @param entity Resolved entity.
+     */
+    private void addAssociationQueries(TypeSpec.Builder interfaceBuilder, ResolvedEntity entity) {
+        ClassName entityClass = entity.getEntityClass();
+        AnnotationSpec entityGraph = AnnotationSpec.builder(EntityGraph.class)
+                .addMember("value", "$S", entity.getEntityGraphName())
+                .build();
+
+        interfaceBuilder.addMethod(MethodSpec.methodBuilder("findWithAssociationsById")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addAnnotation(entityGraph)
+                .returns(ParameterizedTypeName.get(ClassName.get(Optional.class), entityClass))
+                .addParameter(Long.class, "id")
+                .build());
+
+        interfaceBuilder.addMethod(MethodSpec.methodBuilder("findAllWithAssociationsByIdIn")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addAnnotation(entityGraph)
+                .returns(ParameterizedTypeName.get(ClassName.get(List.class), entityClass))
+                .addParameter(ParameterizedTypeName.get(Collection.class, Long.class), "ids")
+                .build());
+    }
+
+    /**
+     * Adds the service reads backed by the entity graph queries.
+     *
+     * @param classBuilder The service builder to modify.
+     * @param entity Resolved entity.
+     */
+    private void addAssociationMethods(TypeSpec.Builder classBuilder, ResolvedEntity entity) {
+        ClassName entityClass = entity.getEntityClass();
+        AnnotationSpec readOnly = AnnotationSpec.builder(Transactional.class)
+                .addMember("readOnly", "$L", true)
+                .build();
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("findWithAssociationsById")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(readOnly)
+                .returns(entityClass)
+                .addParameter(Long.class, "id")
+                .addStatement("return repository.findWithAssociationsById(id).orElseThrow(() -> new $T($S))",
+                        EntityGenerationException.class, "Entity not found: " + entity.getEntityName())
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("findAllWithAssociations")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(readOnly)
+                .returns(ParameterizedTypeName.get(ClassName.get(List.class), entityClass))
+                .addParameter(ParameterizedTypeName.get(Collection.class, Long.class), "ids")
+                .addStatement("return repository.findAllWithAssociationsByIdIn(ids)")
+                .build());
+    }
+
+    /**
+     * Adds a derived lookup per field leading an index, so the generated query can use that index.
+     * Lookups on a unique single-column index return one entity; all others return a {@link Slice},
+     * or a {@code Mono} and a {@code Flux} for the reactive target.
+     *
+     * @param interfaceBuilder The repository builder to modify.
+     * @param entity Resolved entity.
+     */
+    private void addIndexedLookups(TypeSpec.Builder interfaceBuilder, ResolvedEntity entity) {
+        Map<String, ResolvedEntity.ResolvedIndex> lookups = new LinkedHashMap<>();
+        for (ResolvedEntity.ResolvedIndex index : entity.getIndexes()) {
+            lookups.merge(index.getLeadingField(), index, (previous, next) -> previous.isUniqueLookup() ? previous : next);
+        }
+        for (ResolvedEntity.ResolvedIndex index : lookups.values()) {
+            String field = index.getLeadingField();
+            MethodSpec.Builder lookup = MethodSpec.methodBuilder("findBy" + field.substring(0, 1).toUpperCase() + field.substring(1))
+                    .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                    .addParameter(index.getLeadingType(), field);
+            ClassName single = entity.isReactive() ? MONO : ClassName.get(Optional.class);
+            ClassName many = entity.isReactive() ? FLUX : ClassName.get(Slice.class);
+            if (index.isUniqueLookup()) {
+                lookup.returns(ParameterizedTypeName.get(single, entity.getEntityClass()));
+            } else {
+                lookup.returns(ParameterizedTypeName.get(many, entity.getEntityClass()))
+                        .addParameter(Pageable.class, "pageable");
+            }
+            interfaceBuilder.addMethod(lookup.build());
+        }
+    }
+
+    /**
+     * Generates the repeatable Flyway migration creating the indexes of an entity. Statements are idempotent,
+     * so the migration can run against a schema in which Hibernate already created the plain indexes.
+     *
+     * @param entity Resolved entity.
+     * @return SQL script.
+     */
+    String generateIndexMigrationContent(ResolvedEntity entity) {
+        StringBuilder sql = new StringBuilder()
+                .append("-- Indexes of ").append(entity.getEntityName())
+                .append(", generated by Entity Generator. Repeatable migration: edit the metadata, not this file.\n");
+        for (ResolvedEntity.ResolvedIndex index : entity.getIndexes()) {
+            sql.append(index.isUnique() ? "CREATE UNIQUE INDEX" : "CREATE INDEX")
+                    .append(" IF NOT EXISTS ").append(index.getName())
+                    .append(" ON \"").append(entity.getTableName()).append("\" (")
+                    .append(String.join(", ", index.getColumns())).append(')');
+            if (!index.getIncludeColumns().isEmpty()) {
+                sql.append(" INCLUDE (").append(String.join(", ", index.getIncludeColumns())).append(')');
+            }
+            if (index.getWhere() != null) {
+                sql.append(" WHERE ").append(index.getWhere());
+            }
+            sql.append(";\n");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Generates the Spring Data Relational entity of the reactive target. R2DBC has no lifecycle callbacks
+     * on the entity, so the service sets the audit timestamps.
+     *
+     * @param entity Resolved entity.
+     * @return Generated Java code as a string.
+     */
+    String generateReactiveEntityClassContent(ResolvedEntity entity) {
+        String entityName = entity.getEntityName();
+        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(entityName)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(RELATIONAL_TABLE)
+                        .addMember("value", "$S", entity.getTableName())
+                        .build())
+                .addAnnotation(lombok.Data.class)
+                .addAnnotation(lombok.NoArgsConstructor.class)
+                .addAnnotation(AnnotationSpec.builder(Schema.class)
+                        .addMember("description", "$S", "Generated entity class for " + entityName)
+                        .build());
+
+        if (!entity.hasPrimaryKey()) {
+            classBuilder.addField(FieldSpec.builder(Long.class, "id", Modifier.PRIVATE)
+                    .addAnnotation(org.springframework.data.annotation.Id.class)
+                    .addAnnotation(AnnotationSpec.builder(RELATIONAL_COLUMN).addMember("value", "$S", "id").build())
+                    .addAnnotation(AnnotationSpec.builder(Schema.class)
+                            .addMember("description", "$S", "Unique identifier")
+                            .build())
+                    .build());
+        }
+        classBuilder.addField(FieldSpec.builder(LocalDateTime.class, "createdAt", Modifier.PRIVATE)
+                .addAnnotation(AnnotationSpec.builder(RELATIONAL_COLUMN).addMember("value", "$S", "created_at").build())
+                .build());
+        classBuilder.addField(FieldSpec.builder(LocalDateTime.class, "updatedAt", Modifier.PRIVATE)
+                .addAnnotation(AnnotationSpec.builder(RELATIONAL_COLUMN).addMember("value", "$S", "updated_at").build())
+                .build());
+
+        boolean enableValidation = entity.getMetadata().isEnableValidation();
+        for (ResolvedEntity.ResolvedField resolved : entity.getFields()) {
+            FieldSpec.Builder fieldBuilder = FieldSpec.builder(resolved.getType(), resolved.getName(), Modifier.PRIVATE);
+            if (resolved.isPrimaryKey()) {
+                fieldBuilder.addAnnotation(org.springframework.data.annotation.Id.class);
+            }
+            fieldBuilder.addAnnotation(AnnotationSpec.builder(RELATIONAL_COLUMN)
+                    .addMember("value", "$S", resolved.getColumnName())
+                    .build());
+            if (enableValidation && resolved.getSource().getValidations() != null) {
+                for (ValidationRule rule : resolved.getSource().getValidations()) {
+                    AnnotationSpec annotation = buildValidationAnnotation(rule);
+                    if (annotation != null) fieldBuilder.addAnnotation(annotation);
+                }
+            }
+            fieldBuilder.addAnnotation(AnnotationSpec.builder(Schema.class)
+                    .addMember("description", "$S", "Field " + resolved.getName())
+                    .build());
+            classBuilder.addField(fieldBuilder.build());
+        }
+
+        String packageName = DEFAULT_PACKAGE + ".entity";
+        return JavaFile.builder(packageName, classBuilder.build())
+                .indent("    ")
+                .build()
+                .toString();
+    }
+
+    /**
+     * Generates the R2DBC repository of the reactive target.
+     *
+     * @param entity Resolved entity.
+     * @return Generated Java code as a string.
+     */
+    String generateReactiveRepositoryClassContent(ResolvedEntity entity) {
+        TypeSpec.Builder interfaceBuilder = TypeSpec.interfaceBuilder(entity.getRepositoryClass().simpleName())
+                .addModifiers(Modifier.PUBLIC)
+                .addSuperinterface(ParameterizedTypeName.get(R2DBC_REPOSITORY, entity.getEntityClass(), ClassName.get(Long.class)))
+                .addAnnotation(org.springframework.stereotype.Repository.class);
+
+        // Translated to LIMIT/OFFSET; rows are emitted as the driver decodes them
+        interfaceBuilder.addMethod(MethodSpec.methodBuilder("findAllBy")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addParameter(Pageable.class, "pageable")
+                .returns(ParameterizedTypeName.get(FLUX, entity.getEntityClass()))
+                .build());
+        addIndexedLookups(interfaceBuilder, entity);
+
+        String packageName = DEFAULT_PACKAGE + ".repository";
+        return JavaFile.builder(packageName, interfaceBuilder.build())
+                .indent("    ")
+                .build()
+                .toString();
+    }
+
+    /**
+     * Generates the service of the reactive target. Every method returns a {@code Mono} or {@code Flux}
+     * and never blocks the event loop.
+     *
+     * @param entity Resolved entity.
+     * @return Generated Java code as a string.
+     */
+    String generateReactiveServiceClassContent(ResolvedEntity entity) {
+        ClassName entityClass = entity.getEntityClass();
+        TypeName mono = ParameterizedTypeName.get(MONO, entityClass);
+        TypeName flux = ParameterizedTypeName.get(FLUX, entityClass);
+        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(entity.getServiceClass().simpleName())
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Service.class)
+                .addAnnotation(lombok.RequiredArgsConstructor.class);
+
+        classBuilder.addField(FieldSpec.builder(entity.getRepositoryClass(), "repository", Modifier.PRIVATE, Modifier.FINAL)
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("findAll")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(flux)
+                .addParameter(Pageable.class, "pageable")
+                .addStatement("return repository.findAllBy(pageable)")
+                .build());
+
+        if (entity.getMetadata().isEnableStreamingExport()) {
+            classBuilder.addField(FieldSpec.builder(int.class, "EXPORT_PREFETCH", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$L", Math.max(1, entity.getMetadata().getExportFetchSize()))
+                    .build());
+            classBuilder.addMethod(MethodSpec.methodBuilder("exportAll")
+                    .addJavadoc("Streams all rows. Rows are requested from the driver in batches of $L as the subscriber\n"
+                            + "consumes them, so a slow client holds back the query instead of filling the heap.\n", "EXPORT_PREFETCH")
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(flux)
+                    .addStatement("return repository.findAll().limitRate(EXPORT_PREFETCH)")
+                    .build());
+        }
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("findById")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(mono)
+                .addParameter(Long.class, "id")
+                .addStatement("return repository.findById(id).switchIfEmpty($T.error(() -> new $T($S)))",
+                        MONO, EntityGenerationException.class, "Entity not found: " + entity.getEntityName())
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("create")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(mono)
+                .addParameter(entityClass, "entity")
+                .addStatement("$T now = $T.now()", LocalDateTime.class, LocalDateTime.class)
+                .addStatement("entity.setId(null)")
+                .addStatement("entity.setCreatedAt(now)")
+                .addStatement("entity.setUpdatedAt(now)")
+                .addStatement("return repository.save(entity)")
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("update")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Transactional.class)
+                .returns(mono)
+                .addParameter(Long.class, "id")
+                .addParameter(entityClass, "changes")
+                .addCode("return findById(id).flatMap(existing -> {\n")
+                .addCode("$>")
+                .addStatement("changes.setId(id)")
+                .addStatement("changes.setCreatedAt(existing.getCreatedAt())")
+                .addStatement("changes.setUpdatedAt($T.now())", LocalDateTime.class)
+                .addStatement("return repository.save(changes)")
+                .addCode("$<")
+                .addStatement("})")
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("deleteById")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(MONO, ClassName.get(Void.class)))
+                .addParameter(Long.class, "id")
+                .addStatement("return repository.deleteById(id)")
+                .build());
+
+        String packageName = DEFAULT_PACKAGE + ".service";
+        return JavaFile.builder(packageName, classBuilder.build())
+                .indent("    ")
+                .build()
+                .toString();
+    }
+
+    /**
+     * Generates the WebFlux controller of the reactive target. List endpoints return a {@code Flux}, which
+     * WebFlux writes as a JSON array or, for {@code application/x-ndjson}, element by element with backpressure.
+     *
+     * @param entity Resolved entity.
+     * @return Generated Java code as a string.
+     */
+    String generateReactiveControllerClassContent(ResolvedEntity entity) {
+        String entityName = entity.getEntityName();
+        ClassName dtoClass = entity.getDtoClass();
+        TypeName monoDto = ParameterizedTypeName.get(MONO, dtoClass);
+        TypeName fluxDto = ParameterizedTypeName.get(FLUX, dtoClass);
+        CodeBlock[] fieldMappings = generateFieldMappingCode(entity);
+
+        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(entityName + "Controller")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(org.springframework.web.bind.annotation.RestController.class)
+                .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.RequestMapping.class)
+                        .addMember("value", "$S", "/api/" + entityName.toLowerCase())
+                        .build())
+                .addAnnotation(lombok.RequiredArgsConstructor.class)
+                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.tags.Tag.class)
+                        .addMember("name", "$S", entityName + " Controller")
+                        .addMember("description", "$S", "API endpoints for " + entityName)
+                        .build());
+
+        classBuilder.addField(FieldSpec.builder(int.class, "MAX_PAGE_SIZE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", entity.getMetadata().getMaxPageSize())
+                .build());
+        classBuilder.addField(FieldSpec.builder(entity.getServiceClass(), "service", Modifier.PRIVATE, Modifier.FINAL)
+                .build());
+
+        // Spring Boot registers no Pageable resolver for WebFlux, so the page is read from plain parameters
+        classBuilder.addMethod(MethodSpec.methodBuilder("getAll")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.GetMapping.class)
+                        .addMember("produces", "{$T.APPLICATION_JSON_VALUE, $T.APPLICATION_NDJSON_VALUE}",
+                                org.springframework.http.MediaType.class, org.springframework.http.MediaType.class)
+                        .build())
+                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
+                        .addMember("summary", "$S", "Get all " + entityName)
+                        .addMember("description", "$S", "Returns one page of at most " + entity.getMetadata().getMaxPageSize()
+                                + " items; request application/x-ndjson to receive items as they are read")
+                        .build())
+                .addParameter(ParameterSpec.builder(int.class, "page")
+                        .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.RequestParam.class)
+                                .addMember("defaultValue", "$S", "0")
+                                .build())
+                        .build())
+                .addParameter(ParameterSpec.builder(int.class, "size")
+                        .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.RequestParam.class)
+                                .addMember("defaultValue", "$S", String.valueOf(entity.getMetadata().getDefaultPageSize()))
+                                .build())
+                        .build())
+                .returns(fluxDto)
+                .addStatement("$T bounded = $T.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)))",
+                        Pageable.class, PageRequest.class)
+                .addStatement("return service.findAll(bounded).map(this::toDTO)")
+                .build());
+
+        if (entity.getMetadata().isEnableStreamingExport()) {
+            classBuilder.addMethod(MethodSpec.methodBuilder("exportAll")
+                    .addModifiers(Modifier.PUBLIC)
+                    .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.GetMapping.class)
+                            .addMember("value", "$S", "/export")
+                            .addMember("produces", "$T.APPLICATION_NDJSON_VALUE", org.springframework.http.MediaType.class)
+                            .build())
+                    .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
+                            .addMember("summary", "$S", "Export all " + entityName)
+                            .addMember("description", "$S", "Streams every row as newline-delimited JSON at the pace of the client")
+                            .build())
+                    .returns(fluxDto)
+                    .addStatement("return service.exportAll().map(this::toDTO)")
+                    .build());
+        }
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("getById")
+                .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.GetMapping.class)
                         .addMember("value", "$S", "/{id}")
                         .build())
-                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
-                        .addMember("summary", "$S", "Get " + entityName + " by ID")
+                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
+                        .addMember("summary", "$S", "Get " + entityName + " by ID")
+                        .build())
+                .addParameter(ParameterSpec.builder(Long.class, "id")
+                        .addAnnotation(org.springframework.web.bind.annotation.PathVariable.class)
+                        .build())
+                .returns(monoDto)
+                .addStatement("return service.findById(id).map(this::toDTO)")
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("create")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(org.springframework.web.bind.annotation.PostMapping.class)
+                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
+                        .addMember("summary", "$S", "Create new " + entityName)
+                        .build())
+                .addParameter(ParameterSpec.builder(dtoClass, "dto")
+                        .addAnnotation(org.springframework.web.bind.annotation.RequestBody.class)
+                        .build())
+                .returns(monoDto)
+                .addStatement("return service.create(toEntity(dto)).map(this::toDTO)")
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("update")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.PutMapping.class)
+                        .addMember("value", "$S", "/{id}")
+                        .build())
+                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
+                        .addMember("summary", "$S", "Update " + entityName)
+                        .build())
+                .addParameter(ParameterSpec.builder(Long.class, "id")
+                        .addAnnotation(org.springframework.web.bind.annotation.PathVariable.class)
+                        .build())
+                .addParameter(ParameterSpec.builder(dtoClass, "dto")
+                        .addAnnotation(org.springframework.web.bind.annotation.RequestBody.class)
+                        .build())
+                .returns(monoDto)
+                .addStatement("return service.update(id, toEntity(dto)).map(this::toDTO)")
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("delete")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.DeleteMapping.class)
+                        .addMember("value", "$S", "/{id}")
+                        .build())
+                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
+                        .addMember("summary", "$S", "Delete " + entityName)
+                        .build())
+                .addParameter(ParameterSpec.builder(Long.class, "id")
+                        .addAnnotation(org.springframework.web.bind.annotation.PathVariable.class)
+                        .build())
+                .returns(ParameterizedTypeName.get(MONO, ClassName.get(Void.class)))
+                .addStatement("return service.deleteById(id)")
+                .build());
+
+        ClassName entityClass = entity.getEntityClass();
+        classBuilder.addMethod(MethodSpec.methodBuilder("toDTO")
+                .addModifiers(Modifier.PRIVATE)
+                .returns(dtoClass)
+                .addParameter(entityClass, "entity")
+                .addStatement("$T dto = new $T()", dtoClass, dtoClass)
+                .addStatement("dto.setId(entity.getId())")
+                .addStatement("dto.setCreatedAt(entity.getCreatedAt())")
+                .addStatement("dto.setUpdatedAt(entity.getUpdatedAt())")
+                .addCode(fieldMappings[0])
+                .addStatement("return dto")
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("toEntity")
+                .addModifiers(Modifier.PRIVATE)
+                .returns(entityClass)
+                .addParameter(dtoClass, "dto")
+                .addStatement("$T entity = new $T()", entityClass, entityClass)
+                .addCode(fieldMappings[1])
+                .addStatement("return entity")
+                .build());
+
+        String packageName = DEFAULT_PACKAGE + ".controller";
+        return JavaFile.builder(packageName, classBuilder.build())
+                .indent("    ")
+                .build()
+                .toString();
+    }
+
+    /**
+     * Generates the table DDL of a reactive entity, since R2DBC never creates tables. The script runs on
+     * PostgreSQL and H2 and can be applied with {@code spring.sql.init.schema-locations=classpath:db/schema/*.sql}.
+     *
+     * @param entity Resolved entity.
+     * @return SQL script.
+     */
+    String generateTableSchemaContent(ResolvedEntity entity) {
+        List<String> columns = new ArrayList<>();
+        if (!entity.hasPrimaryKey()) {
+            columns.add("id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY");
+        }
+        columns.add("created_at TIMESTAMP NOT NULL");
+        columns.add("updated_at TIMESTAMP NOT NULL");
+        for (ResolvedEntity.ResolvedField resolved : entity.getFields()) {
+            Field field = resolved.getSource();
+            StringBuilder column = new StringBuilder(resolved.getColumnName()).append(' ').append(sqlType(resolved));
+            if (resolved.isPrimaryKey()) {
+                if (resolved.getType().equals(ClassName.get(Long.class)) || resolved.getType().equals(ClassName.get(Integer.class))) {
+                    column.append(" GENERATED BY DEFAULT AS IDENTITY");
+                }
+                column.append(" PRIMARY KEY");
+            } else {
+                if (!field.isNullable()) column.append(" NOT NULL");
+                if (field.isUnique()) column.append(" UNIQUE");
+            }
+            columns.add(column.toString());
+        }
+        return "-- Table of " + entity.getEntityName() + ", generated by Entity Generator.\n"
+                + "CREATE TABLE IF NOT EXISTS " + entity.getTableName() + " (\n    "
+                + String.join(",\n    ", columns) + "\n);\n";
+    }
+
+    private static String sqlType(ResolvedEntity.ResolvedField resolved) {
+        Integer length = resolved.getSource().getLength();
+        return switch (((ClassName) resolved.getType()).simpleName()) {
+            case "Long" -> "BIGINT";
+            case "Integer" -> "INTEGER";
+            case "Double" -> "DOUBLE PRECISION";
+            case "Boolean" -> "BOOLEAN";
+            case "BigDecimal" -> "NUMERIC(19, 2)";
+            case "LocalDate" -> "DATE";
+            case "LocalDateTime" -> "TIMESTAMP";
+            case "UUID" -> "UUID";
+            default -> "VARCHAR(" + (length != null && length > 0 ? length : 255) + ")";
+        };
+    }
+
+    /**
+     * Adds repository queries that select the DTO columns straight into the DTO through a JPQL constructor
+     * expression. No entity is hydrated, so there is no dirty-checking snapshot and associations are never loaded.
+     *
+     * @param interfaceBuilder The repository builder to modify.
+     * @param entity Resolved entity.
+     */
+    private void addProjectionQueries(TypeSpec.Builder interfaceBuilder, ResolvedEntity entity) {
+        ClassName dtoClass = entity.getDtoClass();
+        StringJoiner columns = new StringJoiner(", ", "select new " + dtoClass.canonicalName() + "(", ")"
+                + " from " + entity.getEntityName() + " e");
+        columns.add("e." + entity.getIdName()).add("e.createdAt").add("e.updatedAt");
+        if (entity.getMetadata().isEnableOptimisticLocking()) {
+            columns.add("e.version");
+        }
+        for (ResolvedEntity.ResolvedField field : entity.getDtoFields()) {
+            columns.add("e." + field.getName());
+        }
+        String select = columns.toString();
+
+        interfaceBuilder.addMethod(MethodSpec.methodBuilder("findAllProjectedBy")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addAnnotation(AnnotationSpec.builder(Query.class)
+                        .addMember("value", "$S", select)
+                        .build())
+                .returns(ParameterizedTypeName.get(ClassName.get(Slice.class), dtoClass))
+                .addParameter(Pageable.class, "pageable")
+                .build());
+
+        interfaceBuilder.addMethod(MethodSpec.methodBuilder("findProjectedById")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addAnnotation(AnnotationSpec.builder(Query.class)
+                        .addMember("value", "$S", select + " where e." + entity.getIdName() + " = :id")
                         .build())
+                .returns(ParameterizedTypeName.get(ClassName.get(Optional.class), dtoClass))
                 .addParameter(ParameterSpec.builder(Long.class, "id")
-                        .addAnnotation(org.springframework.web.bind.annotation.PathVariable.class)
+                        .addAnnotation(AnnotationSpec.builder(Param.class).addMember("value", "$S", "id").build())
                         .build())
-                .returns(dtoClass)
-                .addStatement("$T entity = service.findById(id)", entityClass)
-                .addStatement("return toDTO(entity)")
                 .build());
+    }
 
-        classBuilder.addMethod(MethodSpec.methodBuilder("create")
+    /**
+     * Adds the read-only service methods backed by the projection queries.
+     *
+     * @param classBuilder The service builder to modify.
+     * @param entity Resolved entity.
+     */
+    private void addProjectionMethods(TypeSpec.Builder classBuilder, ResolvedEntity entity) {
+        ClassName dtoClass = entity.getDtoClass();
+        AnnotationSpec readOnly = AnnotationSpec.builder(Transactional.class)
+                .addMember("readOnly", "$L", true)
+                .build();
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("findAllProjected")
                 .addModifiers(Modifier.PUBLIC)
-                .addAnnotation(org.springframework.web.bind.annotation.PostMapping.class)
-                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
-                        .addMember("summary", "$S", "Create new " + entityName)
-                        .build())
-                .addParameter(ParameterSpec.builder(dtoClass, "dto")
-                        .addAnnotation(org.springframework.web.bind.annotation.RequestBody.class)
-                        .build())
+                .addAnnotation(readOnly)
+                .returns(ParameterizedTypeName.get(ClassName.get(Slice.class), dtoClass))
+                .addParameter(Pageable.class, "pageable")
+                .addStatement("return repository.findAllProjectedBy(pageable)")
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("findProjectedById")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(readOnly)
                 .returns(dtoClass)
-                .addStatement("$T entity = toEntity(dto)", entityClass)
-                .addStatement("$T savedEntity = service.save(entity)", entityClass)
-                .addStatement("return toDTO(savedEntity)")
+                .addParameter(Long.class, "id")
+                .addStatement("return repository.findProjectedById(id).orElseThrow(() -> new $T($S))",
+                        EntityGenerationException.class, "Entity not found: " + entity.getEntityName())
                 .build());
+    }
 
-        classBuilder.addMethod(MethodSpec.methodBuilder("update")
+    /**
+     * Builds the service method reading one keyset page. One extra row is fetched to tell
+     * whether a next page exists without a count query.
+     *
+     * @param entity Resolved entity.
+     * @return Service method.
+     */
+    private MethodSpec buildKeysetServiceMethod(ResolvedEntity entity) {
+        ClassName entityClass = entity.getEntityClass();
+        boolean byField = entity.getKeysetName() != null;
+        MethodSpec.Builder method = MethodSpec.methodBuilder("findNextPage")
                 .addModifiers(Modifier.PUBLIC)
-                .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.PutMapping.class)
-                        .addMember("value", "$S", "/{id}")
+                .returns(ParameterizedTypeName.get(ClassName.get(Slice.class), entityClass));
+        if (byField) method.addParameter(entity.getKeysetType(), "after");
+        return method.addParameter(Long.class, "afterId")
+                .addParameter(int.class, "size")
+                .addStatement("$T limit = $T.ofSize(size + 1)", Pageable.class, PageRequest.class)
+                .addStatement("$T rows = afterId == null ? repository.findFirstKeysetPage(limit) : repository.findNextKeysetPage($LafterId, limit)",
+                        ParameterizedTypeName.get(ClassName.get(List.class), entityClass), byField ? "after, " : "")
+                .addStatement("boolean hasNext = rows.size() > size")
+                .addStatement("return new $T<>(hasNext ? rows.subList(0, size) : rows, $T.ofSize(size), hasNext)",
+                        SliceImpl.class, PageRequest.class)
+                .build();
+    }
+
+    /**
+     * Builds the keyset pagination endpoint. Clients pass the keyset values of the last row of
+     * the previous page and omit them for the first page.
+     *
+     * @param entity Resolved entity.
+     * @return Controller method.
+     */
+    private MethodSpec buildKeysetEndpoint(ResolvedEntity entity) {
+        String entityName = entity.getEntityName();
+        boolean byField = entity.getKeysetName() != null;
+        MethodSpec.Builder method = MethodSpec.methodBuilder("getAfter")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.GetMapping.class)
+                        .addMember("value", "$S", "/seek")
                         .build())
                 .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
-                        .addMember("summary", "$S", "Update " + entityName)
+                        .addMember("summary", "$S", "Get " + entityName + " page after a keyset position")
+                        .addMember("description", "$S", "Pass the " + (byField ? entity.getKeysetName() + " and " : "")
+                                + "id of the last item of the previous page; omit them for the first page")
                         .build())
-                .addParameter(ParameterSpec.builder(Long.class, "id")
-                        .addAnnotation(org.springframework.web.bind.annotation.PathVariable.class)
+                .returns(ParameterizedTypeName.get(ClassName.get(Slice.class), entity.getDtoClass()));
+        if (byField) {
+            ParameterSpec.Builder after = ParameterSpec.builder(entity.getKeysetType(), "after")
+                    .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.RequestParam.class)
+                            .addMember("required", "$L", false)
+                            .build());
+            if (entity.getKeysetType().equals(ClassName.get(LocalDateTime.class))) {
+                after.addAnnotation(AnnotationSpec.builder(DateTimeFormat.class)
+                        .addMember("iso", "$T.DATE_TIME", DateTimeFormat.ISO.class)
+                        .build());
+            }
+            method.addParameter(after.build());
+        }
+        return method.addParameter(ParameterSpec.builder(Long.class, "afterId")
+                        .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.RequestParam.class)
+                                .addMember("required", "$L", false)
+                                .build())
                         .build())
-                .addParameter(ParameterSpec.builder(dtoClass, "dto")
-                        .addAnnotation(org.springframework.web.bind.annotation.RequestBody.class)
+                .addParameter(ParameterSpec.builder(int.class, "size")
+                        .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.RequestParam.class)
+                                .addMember("defaultValue", "$S", String.valueOf(entity.getMetadata().getDefaultPageSize()))
+                                .build())
                         .build())
-                .returns(dtoClass)
-                .addStatement("$T entity = toEntity(dto)", entityClass)
-                .addStatement("entity.setId(id)")
-                .addStatement("$T updatedEntity = service.save(entity)", entityClass)
-                .addStatement("return toDTO(updatedEntity)")
+                .addCode(byField
+                        // The seek predicate never matches a null key, so a position without it would return an empty page
+                        ? CodeBlock.builder()
+                                .beginControlFlow("if ((after == null) != (afterId == null))")
+                                .addStatement("throw new $T($T.BAD_REQUEST, $S)", ResponseStatusException.class, HttpStatus.class,
+                                        entity.getKeysetName() + " and id of the last item must be passed together")
+                                .endControlFlow()
+                                .build()
+                        : CodeBlock.of(""))
+                .addStatement("int boundedSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE))")
+                .addStatement("return service.findNextPage($LafterId, boundedSize).map(this::toDTO)", byField ? "after, " : "")
+                .build();
+    }
+
+    /**
+     * Adds the export query. It returns a {@link java.util.stream.Stream} so rows are read from the
+     * JDBC cursor in fetch-size batches, and it is read-only so Hibernate keeps no dirty-checking snapshots.
+     *
+     * @param interfaceBuilder The repository builder to modify.
+     * @param entity Resolved entity.
+     */
+    private void addExportQuery(TypeSpec.Builder interfaceBuilder, ResolvedEntity entity) {
+        interfaceBuilder.addMethod(MethodSpec.methodBuilder("streamAllBy")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addAnnotation(AnnotationSpec.builder(Query.class)
+                        .addMember("value", "$S", "select e from " + entity.getEntityName() + " e order by e." + entity.getIdName())
+                        .build())
+                .addAnnotation(AnnotationSpec.builder(QueryHints.class)
+                        .addMember("value", "{$L, $L}",
+                                AnnotationSpec.builder(QueryHint.class)
+                                        .addMember("name", "$T.HINT_FETCH_SIZE", HibernateHints.class)
+                                        .addMember("value", "$S", String.valueOf(entity.getMetadata().getExportFetchSize()))
+                                        .build(),
+                                AnnotationSpec.builder(QueryHint.class)
+                                        .addMember("name", "$T.HINT_READ_ONLY", HibernateHints.class)
+                                        .addMember("value", "$S", "true")
+                                        .build())
+                        .build())
+                .returns(ParameterizedTypeName.get(ClassName.get(java.util.stream.Stream.class), entity.getEntityClass()))
+                .build());
+    }
+
+    /**
+     * Adds the export method to the service. The stream must be consumed inside a transaction; the
+     * persistence context is cleared periodically so exported entities do not accumulate in memory.
+     *
+     * @param classBuilder The service builder to modify.
+     * @param entity Resolved entity.
+     */
+    private void addExportMethod(TypeSpec.Builder classBuilder, ResolvedEntity entity) {
+        ClassName entityClass = entity.getEntityClass();
+        classBuilder.addMethod(MethodSpec.methodBuilder("exportAll")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(Transactional.class)
+                        .addMember("readOnly", "$L", true)
+                        .build())
+                .returns(long.class)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Consumer.class), entityClass), "action")
+                .addStatement("long count = 0")
+                .beginControlFlow("try ($T rows = repository.streamAllBy())",
+                        ParameterizedTypeName.get(ClassName.get(java.util.stream.Stream.class), entityClass))
+                .addStatement("$T iterator = rows.iterator()", ParameterizedTypeName.get(ClassName.get(Iterator.class), entityClass))
+                .beginControlFlow("while (iterator.hasNext())")
+                .addStatement("action.accept(iterator.next())")
+                .beginControlFlow("if (++count % $L == 0)", Math.max(1, entity.getMetadata().getExportClearInterval()))
+                .addStatement("entityManager.clear()")
+                .endControlFlow()
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return count")
                 .build());
+    }
 
-        classBuilder.addMethod(MethodSpec.methodBuilder("delete")
+    /**
+     * Builds the NDJSON export endpoint, which writes one DTO per line while the rows are read.
+     *
+     * @param entity Resolved entity.
+     * @return Controller method.
+     */
+    private MethodSpec buildExportEndpoint(ResolvedEntity entity) {
+        ClassName dtoClass = entity.getDtoClass();
+        TypeName bodyType = ClassName.get(StreamingResponseBody.class);
+        return MethodSpec.methodBuilder("export")
                 .addModifiers(Modifier.PUBLIC)
-                .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.DeleteMapping.class)
-                        .addMember("value", "$S", "/{id}")
+                .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.GetMapping.class)
+                        .addMember("value", "$S", "/export")
+                        .addMember("produces", "$S", "application/x-ndjson")
                         .build())
                 .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
-                        .addMember("summary", "$S", "Delete " + entityName)
-                        .build())
-                .addParameter(ParameterSpec.builder(Long.class, "id")
-                        .addAnnotation(org.springframework.web.bind.annotation.PathVariable.class)
+                        .addMember("summary", "$S", "Export all " + entity.getEntityName() + " as NDJSON")
+                        .addMember("description", "$S", "Streams one JSON object per line without loading the table into memory")
                         .build())
-                .addStatement("service.deleteById(id)")
+                .returns(ParameterizedTypeName.get(ClassName.get(org.springframework.http.ResponseEntity.class), bodyType))
+                .addStatement("$T writer = objectMapper.writerFor($T.class)\n.without($T.AUTO_CLOSE_TARGET)\n.without($T.FLUSH_AFTER_WRITE_VALUE)",
+                        ObjectWriter.class, dtoClass, JsonGenerator.Feature.class, SerializationFeature.class)
+                .addCode("$T body = out -> service.exportAll(entity -> {\n$>", bodyType)
+                .beginControlFlow("try")
+                .addStatement("writer.writeValue(out, toDTO(entity))")
+                .addStatement("out.write('\\n')")
+                .nextControlFlow("catch ($T e)", IOException.class)
+                .addStatement("throw new $T(e)", java.io.UncheckedIOException.class)
+                .endControlFlow()
+                .addCode("$<});\n")
+                .addStatement("return $T.ok().contentType($T.parseMediaType($S)).body(body)",
+                        org.springframework.http.ResponseEntity.class, org.springframework.http.MediaType.class, "application/x-ndjson")
+                .build();
+    }
+
+    /**
+     * Builds the service method that loads the managed entity, checks its version and applies the changes
+     * in place. Dirty checking then writes only the changed columns, without the extra SELECT of a merge.
+     *
+     * @param entity Resolved entity.
+     * @return Service method.
+     */
+    private MethodSpec buildManagedUpdateServiceMethod(ResolvedEntity entity) {
+        ClassName entityClass = entity.getEntityClass();
+        boolean versioned = entity.getMetadata().isEnableOptimisticLocking();
+        MethodSpec.Builder update = MethodSpec.methodBuilder("update")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Transactional.class)
+                .returns(entityClass)
+                .addParameter(Long.class, "id");
+        if (versioned) {
+            update.addParameter(Long.class, "expectedVersion");
+        }
+        update.addParameter(ParameterizedTypeName.get(ClassName.get(Consumer.class), entityClass), "changes");
+        if (entity.isCached()) {
+            update.addAnnotation(AnnotationSpec.builder(CacheEvict.class)
+                    .addMember("cacheNames", "$S", entity.getCacheName())
+                    .addMember("key", "$S", "#id")
+                    .build());
+        }
+
+        update.addStatement("$T entity = repository.findById(id).orElseThrow(() -> new $T($S))",
+                entityClass, EntityGenerationException.class, "Entity not found: " + entity.getEntityName());
+        if (versioned) {
+            update.beginControlFlow("if (expectedVersion != null && !expectedVersion.equals(entity.getVersion()))")
+                    .addStatement("throw new $T($T.class, id)", ObjectOptimisticLockingFailureException.class, entityClass)
+                    .endControlFlow();
+        }
+        return update.addStatement("changes.accept(entity)")
+                .addStatement("return entity")
+                .build();
+    }
+
+    /**
+     * Builds the controller code of a PUT or PATCH that changes the managed entity through the service.
+     *
+     * @param entity Resolved entity.
+     * @param partial Whether only non-null DTO fields are applied.
+     * @return Method body.
+     */
+    private CodeBlock buildManagedUpdate(ResolvedEntity entity, boolean partial) {
+        boolean versioned = entity.getMetadata().isEnableOptimisticLocking();
+        CodeBlock.Builder code = CodeBlock.builder();
+        if (versioned && !partial) {
+            code.beginControlFlow("if (dto.getVersion() == null)")
+                    .addStatement("throw new $T($S)", EntityGenerationException.class, "Version is required to update " + entity.getEntityName())
+                    .endControlFlow();
+        }
+        code.add(versioned
+                ? "return toDTO(service.update(id, dto.getVersion(), entity -> {\n$>"
+                : "return toDTO(service.update(id, entity -> {\n$>");
+        for (ResolvedEntity.ResolvedField field : entity.getDtoFields()) {
+            String accessor = field.getAccessorSuffix();
+            if (partial) {
+                code.beginControlFlow("if (dto.get$L() != null)", accessor)
+                        .addStatement("entity.set$L(dto.get$L())", accessor, accessor)
+                        .endControlFlow();
+            } else {
+                code.addStatement("entity.set$L(dto.get$L())", accessor, accessor);
+            }
+        }
+        return code.add("$<}));\n").build();
+    }
+
+    /**
+     * Adds the bulk save and update methods to the service. Rows are processed in chunks of the entity's chunk
+     * size, which also becomes the JDBC batch size of the session; each chunk is flushed as one batch and the
+     * persistence context is cleared so large requests do not accumulate managed entities. Updates load every chunk with one query and change the managed rows, since
+     * saving detached rows would merge them with one SELECT per row.
+     *
+     * @param classBuilder The service builder to modify.
+     * @param entity Resolved entity.
+     */
+    private void addBulkMethods(TypeSpec.Builder classBuilder, ResolvedEntity entity) {
+        ClassName entityClass = entity.getEntityClass();
+        TypeName listType = ParameterizedTypeName.get(ClassName.get(List.class), entityClass);
+        classBuilder.addField(FieldSpec.builder(int.class, "BULK_CHUNK_SIZE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", Math.max(1, entity.getMetadata().getBulkChunkSize()))
                 .build());
 
-        classBuilder.addMethod(MethodSpec.methodBuilder("toDTO")
-                .addModifiers(Modifier.PRIVATE)
-                .returns(dtoClass)
-                .addParameter(entityClass, "entity")
-                .addStatement("$T dto = new $T()", dtoClass, dtoClass)
-                .addStatement("dto.setId(entity.getId())")
-                .beginControlFlow("if (entity.getCreatedAt() != null)")
-                .addStatement("dto.setCreatedAt(entity.getCreatedAt())")
-                .endControlFlow()
-                .beginControlFlow("if (entity.getUpdatedAt() != null)")
-                .addStatement("dto.setUpdatedAt(entity.getUpdatedAt())")
+        MethodSpec.Builder saveAll = MethodSpec.methodBuilder("saveAll")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Transactional.class);
+        if (entity.isCached()) {
+            saveAll.addAnnotation(AnnotationSpec.builder(CacheEvict.class)
+                    .addMember("cacheNames", "$S", entity.getCacheName())
+                    .addMember("allEntries", "$L", true)
+                    .build());
+        }
+        classBuilder.addMethod(saveAll
+                .returns(listType)
+                .addParameter(listType, "entities")
+                .addStatement("entityManager.unwrap($T.class).setJdbcBatchSize(BULK_CHUNK_SIZE)", Session.class)
+                .addStatement("$T saved = new $T<>(entities.size())", listType, ArrayList.class)
+                .beginControlFlow("for (int from = 0; from < entities.size(); from += BULK_CHUNK_SIZE)")
+                .addStatement("saved.addAll(repository.saveAll(entities.subList(from, Math.min(from + BULK_CHUNK_SIZE, entities.size()))))")
+                .addStatement("entityManager.flush()")
+                .addStatement("entityManager.clear()")
                 .endControlFlow()
-                .addCode(generateFieldMappingCode(metadata, true))
-                .addStatement("return dto")
+                .addStatement("return saved")
                 .build());
 
-        classBuilder.addMethod(MethodSpec.methodBuilder("toEntity")
-                .addModifiers(Modifier.PRIVATE)
-                .returns(entityClass)
-                .addParameter(dtoClass, "dto")
-                .addStatement("$T entity = new $T()", entityClass, entityClass)
-                .addStatement("entity.setId(dto.getId())")
-                .beginControlFlow("if (dto.getCreatedAt() != null)")
-                .addStatement("entity.setCreatedAt(dto.getCreatedAt())")
+        MethodSpec.Builder updateAll = MethodSpec.methodBuilder("updateAll")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Transactional.class);
+        if (entity.isCached()) {
+            updateAll.addAnnotation(AnnotationSpec.builder(CacheEvict.class)
+                    .addMember("cacheNames", "$S", entity.getCacheName())
+                    .addMember("allEntries", "$L", true)
+                    .build());
+        }
+        updateAll.returns(listType)
+                .addParameter(listType, "changes")
+                .addStatement("entityManager.unwrap($T.class).setJdbcBatchSize(BULK_CHUNK_SIZE)", Session.class)
+                .addStatement("$T updated = new $T<>(changes.size())", listType, ArrayList.class)
+                .beginControlFlow("for (int from = 0; from < changes.size(); from += BULK_CHUNK_SIZE)")
+                .addStatement("$T chunk = changes.subList(from, Math.min(from + BULK_CHUNK_SIZE, changes.size()))", listType)
+                .addStatement("$T managed = new $T<>()", ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(Long.class), entityClass),
+                        HashMap.class)
+                .addStatement("repository.findAllById(chunk.stream().map($T::getId).toList()).forEach(entity -> managed.put(entity.getId(), entity))",
+                        entityClass)
+                .beginControlFlow("for ($T change : chunk)", entityClass)
+                .addStatement("$T entity = managed.get(change.getId())", entityClass)
+                .beginControlFlow("if (entity == null)")
+                .addStatement("throw new $T($S + change.getId())", EntityGenerationException.class, "Entity not found: " + entity.getEntityName() + " ")
+                .endControlFlow();
+        if (entity.getMetadata().isEnableOptimisticLocking()) {
+            updateAll.beginControlFlow("if (!entity.getVersion().equals(change.getVersion()))")
+                    .addStatement("throw new $T($T.class, change.getId())", ObjectOptimisticLockingFailureException.class, entityClass)
+                    .endControlFlow();
+        }
+        for (ResolvedEntity.ResolvedField field : entity.getDtoFields()) {
+            updateAll.addStatement("entity.set$L(change.get$L())", field.getAccessorSuffix(), field.getAccessorSuffix());
+        }
+        classBuilder.addMethod(updateAll
+                .addStatement("updated.add(entity)")
                 .endControlFlow()
-                .beginControlFlow("if (dto.getUpdatedAt() != null)")
-                .addStatement("entity.setUpdatedAt(dto.getUpdatedAt())")
+                .addStatement("entityManager.flush()")
+                .addStatement("entityManager.clear()")
                 .endControlFlow()
-                .addCode(generateFieldMappingCode(metadata, false))
-                .addStatement("return entity")
+                .addStatement("return updated")
                 .build());
     }
 
-    private CodeBlock generateFieldMappingCode(EntityMetadata metadata, boolean toDTO) {
-        CodeBlock.Builder codeBuilder = CodeBlock.builder();
-        if (metadata.getFields() != null) {
-            for (Field field : metadata.getFields()) {
-                if (!Boolean.TRUE.equals(field.isPrimaryKey())) {
-                    String fieldName = field.getName().trim();
-                    String capitalizedFieldName = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
-                    if (toDTO) {
-                        codeBuilder.addStatement("dto.set" + capitalizedFieldName + "(entity.get" + capitalizedFieldName + "())");
-                    } else {
-                        codeBuilder.addStatement("entity.set" + capitalizedFieldName + "(dto.get" + capitalizedFieldName + "())");
-                    }
-                }
+    /**
+     * Adds the bulk create and update endpoints to the controller.
+     *
+     * @param classBuilder The controller builder to modify.
+     * @param entity Resolved entity.
+     */
+    private void addBulkEndpoints(TypeSpec.Builder classBuilder, ResolvedEntity entity) {
+        String entityName = entity.getEntityName();
+        TypeName dtoList = ParameterizedTypeName.get(ClassName.get(List.class), entity.getDtoClass());
+        TypeName entityList = ParameterizedTypeName.get(ClassName.get(List.class), entity.getEntityClass());
+        ClassName entityClass = entity.getEntityClass();
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("createAll")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.PostMapping.class)
+                        .addMember("value", "$S", "/bulk")
+                        .build())
+                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
+                        .addMember("summary", "$S", "Create many " + entityName)
+                        .addMember("description", "$S", "Inserts the items in JDBC batches within one transaction")
+                        .build())
+                .addParameter(ParameterSpec.builder(dtoList, "dtos")
+                        .addAnnotation(org.springframework.web.bind.annotation.RequestBody.class)
+                        .build())
+                .returns(dtoList)
+                .addStatement("$T entities = dtos.stream().map(this::toEntity).toList()", entityList)
+                .addStatement("entities.forEach(entity -> entity.setId(null))")
+                .addStatement("return service.saveAll(entities).stream().map(this::toDTO).toList()")
+                .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("updateAll")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(org.springframework.web.bind.annotation.PutMapping.class)
+                        .addMember("value", "$S", "/bulk")
+                        .build())
+                .addAnnotation(AnnotationSpec.builder(io.swagger.v3.oas.annotations.Operation.class)
+                        .addMember("summary", "$S", "Update many " + entityName)
+                        .addMember("description", "$S", "Loads the items with one query per batch and updates them in JDBC batches within one transaction; every item needs an id")
+                        .build())
+                .addParameter(ParameterSpec.builder(dtoList, "dtos")
+                        .addAnnotation(org.springframework.web.bind.annotation.RequestBody.class)
+                        .build())
+                .returns(dtoList)
+                .beginControlFlow("if (dtos.stream().anyMatch(dto -> dto.getId() == null))")
+                .addStatement("throw new $T($S)", EntityGenerationException.class, "Id is required for every " + entityName + " in a bulk update")
+                .endControlFlow()
+                .addCode(entity.getMetadata().isEnableOptimisticLocking()
+                        ? CodeBlock.builder()
+                                .beginControlFlow("if (dtos.stream().anyMatch(dto -> dto.getVersion() == null))")
+                                .addStatement("throw new $T($S)", EntityGenerationException.class,
+                                        "Version is required for every " + entityName + " in a bulk update")
+                                .endControlFlow()
+                                .addStatement("$T entities = dtos.stream().map(dto -> {\n$>$T entity = toEntity(dto);\n"
+                                        + "entity.setVersion(dto.getVersion());\nreturn entity;\n$<}).toList()", entityList, entityClass)
+                                .build()
+                        : CodeBlock.of("$T entities = dtos.stream().map(this::toEntity).toList();\n", entityList))
+                .addStatement("return service.updateAll(entities).stream().map(this::toDTO).toList()")
+                .build());
+    }
+
+    /**
+     * Generates the Hibernate settings that let the bulk endpoints batch their statements. Hibernate reads them
+     * once for the whole persistence unit, so all entities share the same file with a default batch size; each
+     * bulk method sets its own entity's chunk size on the session it runs in.
+     *
+     * @return Generated properties as a string.
+     */
+    String generateJdbcBatchingPropertiesContent() {
+        return "# Generated for entities with bulk operations: inserts and updates are sent in JDBC batches.\n"
+                + "# Import it from application.properties:\n"
+                + "# spring.config.import=optional:classpath:" + ArtifactType.JDBC_BATCHING.relativePath("", "") + "\n"
+                + "spring.jpa.properties.hibernate.jdbc.batch_size=" + DEFAULT_JDBC_BATCH_SIZE + "\n"
+                + "spring.jpa.properties.hibernate.order_inserts=true\n"
+                + "spring.jpa.properties.hibernate.order_updates=true\n";
+    }
+
+    /**
+     * Generates the settings running Tomcat request handling and the application task executor, which
+     * {@code @Async} methods and asynchronous MVC requests use, on virtual threads. Blocking JDBC calls then park
+     * a cheap virtual thread instead of holding a platform thread, so the number of concurrent requests is bounded
+     * by the connection pool rather than by the request thread pool. Spring Boot configures both from one
+     * property, so all entities share the same file; it is imported by the application rather than written
+     * into its own configuration.
+     *
+     * @return Generated properties as a string.
+     */
+    String generateVirtualThreadsPropertiesContent() {
+        return "# Generated for the Java 21 target: request handling and @Async methods run on virtual threads.\n"
+                + "# Import it from application.properties:\n"
+                + "# spring.config.import=optional:classpath:" + ArtifactType.VIRTUAL_THREADS.relativePath("", "") + "\n"
+                + "spring.threads.virtual.enabled=true\n";
+    }
+
+    /**
+     * Generates the configuration enabling {@code @Async} methods. With virtual threads enabled, Spring Boot's
+     * application task executor runs them on virtual threads, but only once asynchronous execution is enabled.
+     * The class is the same for every entity, so all entities share the same file.
+     *
+     * @return Generated Java code as a string.
+     */
+    String generateAsyncConfigClassContent() {
+        TypeSpec config = TypeSpec.classBuilder("AsyncConfig")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Configuration.class)
+                .addAnnotation(EnableAsync.class)
+                .addJavadoc("Runs {@code @Async} methods on the application task executor, which uses virtual threads.\n")
+                .build();
+
+        String packageName = DEFAULT_PACKAGE + ".config";
+        return JavaFile.builder(packageName, config)
+                .indent("    ")
+                .build()
+                .toString();
+    }
+
+    /**
+     * Builds the Hibernate cache annotation for the entity and its collections.
+     *
+     * @param entity Resolved entity.
+     * @return Cache annotation using the configured concurrency strategy.
+     */
+    private AnnotationSpec buildCacheAnnotation(ResolvedEntity entity) {
+        return AnnotationSpec.builder(org.hibernate.annotations.Cache.class)
+                .addMember("usage", "$T.$L", CacheConcurrencyStrategy.class, entity.getMetadata().getCacheStrategy().name())
+                .build();
+    }
+
+    /**
+     * Generates the cache configuration of a cached entity. It creates size- and time-bounded Caffeine caches
+     * for the entity region, its collection regions and the Spring cache of the DTO lookups; the settings shared
+     * by all cached entities are in the second-level cache configuration.
+     *
+     * @param entity Resolved entity.
+     * @return Generated Java code as a string.
+     */
+    String generateCacheConfigClassContent(ResolvedEntity entity) {
+        String entityName = entity.getEntityName();
+        String beanPrefix = entity.getCacheName();
+        // Types of the cache providers; like R2DBC and WebFlux, they are dependencies of the generated code only
+        ClassName cacheManager = ClassName.get("javax.cache", "CacheManager");
+        ClassName cacheManagerCustomizer = ClassName.get("org.springframework.boot.autoconfigure.cache", "JCacheManagerCustomizer");
+        ClassName caffeineConfiguration = ClassName.get("com.github.benmanes.caffeine.jcache.configuration", "CaffeineConfiguration");
+
+        CodeBlock.Builder regions = CodeBlock.builder()
+                .addStatement("createCache(cacheManager, $S)", entity.getEntityClass().canonicalName());
+        for (ResolvedEntity.ResolvedRelationship rel : entity.getRelationships()) {
+            if (rel.isCollection()) {
+                regions.addStatement("createCache(cacheManager, $S)", entity.getEntityClass().canonicalName() + "." + rel.getFieldName());
             }
         }
-        return codeBuilder.build();
+        regions.addStatement("createCache(cacheManager, $S)", entity.getCacheName());
+
+        TypeSpec config = TypeSpec.classBuilder(entityName + "CacheConfig")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Configuration.class)
+                .addJavadoc("Second-level and service caches of $L.\n", entityName)
+                .addField(FieldSpec.builder(long.class, "MAX_ENTRIES", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$L", Math.max(1, entity.getMetadata().getCacheMaxEntries()))
+                        .build())
+                .addField(FieldSpec.builder(long.class, "TTL_SECONDS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$L", Math.max(1, entity.getMetadata().getCacheTtlSeconds()))
+                        .build())
+                .addMethod(MethodSpec.methodBuilder(beanPrefix + "Caches")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Bean.class)
+                        .returns(cacheManagerCustomizer)
+                        .addCode("return cacheManager -> {\n$>")
+                        .addCode(regions.build())
+                        .addCode("$<};\n")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("createCache")
+                        .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                        .addParameter(cacheManager, "cacheManager")
+                        .addParameter(String.class, "name")
+                        .beginControlFlow("if (cacheManager.getCache(name) != null)")
+                        .addStatement("return")
+                        .endControlFlow()
+                        .addStatement("$T<Object, Object> configuration = new $T<>()", caffeineConfiguration, caffeineConfiguration)
+                        .addStatement("configuration.setMaximumSize($T.of(MAX_ENTRIES))", OptionalLong.class)
+                        .addStatement("configuration.setExpireAfterWrite($T.of($T.SECONDS.toNanos(TTL_SECONDS)))",
+                                OptionalLong.class, java.util.concurrent.TimeUnit.class)
+                        .addStatement("configuration.setStoreByValue(false)")
+                        .addStatement("cacheManager.createCache(name, configuration)")
+                        .build())
+                .build();
+
+        String packageName = DEFAULT_PACKAGE + ".config";
+        return JavaFile.builder(packageName, config)
+                .indent("    ")
+                .build()
+                .toString();
+    }
+
+    /**
+     * Generates the settings shared by all cached entities: Spring caching, and Hibernate's second-level and
+     * query cache on the JCache manager that holds the entity regions. The query results region is bounded like
+     * the entity regions; the update timestamps region is left to Hibernate, which needs its entries to outlive
+     * the cached query results. The class is the same for every entity, so all entities share the same file.
+     *
+     * @return Generated Java code as a string.
+     */
+    String generateSecondLevelCacheConfigClassContent() {
+        ClassName cacheManager = ClassName.get("javax.cache", "CacheManager");
+        ClassName cacheManagerCustomizer = ClassName.get("org.springframework.boot.autoconfigure.cache", "JCacheManagerCustomizer");
+        ClassName caffeineConfiguration = ClassName.get("com.github.benmanes.caffeine.jcache.configuration", "CaffeineConfiguration");
+        ClassName jcacheSettings = ClassName.get("org.hibernate.cache.jcache", "ConfigSettings");
+
+        TypeSpec config = TypeSpec.classBuilder("SecondLevelCacheConfig")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Configuration.class)
+                .addAnnotation(EnableCaching.class)
+                .addJavadoc("Second-level and query cache settings shared by all cached entities.\n")
+                .addField(FieldSpec.builder(long.class, "QUERY_MAX_ENTRIES", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$L", QUERY_CACHE_MAX_ENTRIES)
+                        .build())
+                .addField(FieldSpec.builder(long.class, "QUERY_TTL_SECONDS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$L", QUERY_CACHE_TTL_SECONDS)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("queryResultsCache")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Bean.class)
+                        .returns(cacheManagerCustomizer)
+                        .addCode("return cacheManager -> {\n$>")
+                        .beginControlFlow("if (cacheManager.getCache($T.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME) != null)", RegionFactory.class)
+                        .addStatement("return")
+                        .endControlFlow()
+                        .addStatement("$T<Object, Object> configuration = new $T<>()", caffeineConfiguration, caffeineConfiguration)
+                        .addStatement("configuration.setMaximumSize($T.of(QUERY_MAX_ENTRIES))", OptionalLong.class)
+                        .addStatement("configuration.setExpireAfterWrite($T.of($T.SECONDS.toNanos(QUERY_TTL_SECONDS)))",
+                                OptionalLong.class, java.util.concurrent.TimeUnit.class)
+                        .addStatement("configuration.setStoreByValue(false)")
+                        .addStatement("cacheManager.createCache($T.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, configuration)", RegionFactory.class)
+                        .addCode("$<};\n")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("secondLevelCache")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Bean.class)
+                        .returns(HibernatePropertiesCustomizer.class)
+                        .addParameter(cacheManager, "cacheManager")
+                        .addCode("return hibernateProperties -> {\n$>")
+                        .addStatement("hibernateProperties.put($T.USE_SECOND_LEVEL_CACHE, $S)", AvailableSettings.class, "true")
+                        .addStatement("hibernateProperties.put($T.USE_QUERY_CACHE, $S)", AvailableSettings.class, "true")
+                        .addStatement("hibernateProperties.put($T.CACHE_REGION_FACTORY, $S)", AvailableSettings.class, "jcache")
+                        .addStatement("hibernateProperties.put($T.CACHE_MANAGER, cacheManager)", jcacheSettings)
+                        .addStatement("hibernateProperties.put($T.MISSING_CACHE_STRATEGY, $S)", jcacheSettings, "create")
+                        .addCode("$<};\n")
+                        .build())
+                .build();
+
+        String packageName = DEFAULT_PACKAGE + ".config";
+        return JavaFile.builder(packageName, config)
+                .indent("    ")
+                .build()
+                .toString();
     }
 
     /**
-     * Validates a field metadata.
+     * Generates the entity-to-DTO and DTO-to-entity field mappings in a single pass.
      *
-     * @param field Field metadata to validate.
-     * @throws EntityGenerationException If validation fails.
+     * @param entity Resolved entity.
+     * @return Mapping code, toDTO first and toEntity second.
      */
-    private void validateField(Field field) {
-        if (isBlank(field.getName())) throw new EntityGenerationException("Field name is required");
-        if (isBlank(field.getType())) throw new EntityGenerationException("Field type is required for field: " + field.getName());
+    private CodeBlock[] generateFieldMappingCode(ResolvedEntity entity) {
+        CodeBlock.Builder toDTO = CodeBlock.builder();
+        CodeBlock.Builder toEntity = CodeBlock.builder();
+        for (ResolvedEntity.ResolvedField field : entity.getDtoFields()) {
+            String accessor = field.getAccessorSuffix();
+            toDTO.addStatement("dto.set$L(entity.get$L())", accessor, accessor);
+            toEntity.addStatement("entity.set$L(dto.get$L())", accessor, accessor);
+        }
+        return new CodeBlock[]{toDTO.build(), toEntity.build()};
     }
 
     /**
-     * Validates a relationship metadata.
+     * Builds the id generation annotations. Identity columns force Hibernate to insert every row on its own
+     * to learn the id, so entities with bulk operations use a pooled sequence that hands out ids in blocks.
      *
-     * @param rel Relationship metadata to validate.
-     * @param entityName Name of the entity.
-     * @throws EntityGenerationException If validation fails.
+     * @param entity Resolved entity.
+     * @return Annotations for the primary key field.
      */
-    private void validateRelationship(Relationship rel, String entityName) {
-        if (isBlank(rel.getSourceField())) throw new EntityGenerationException("Source field is required for relationship in entity: " + entityName);
-        if (isBlank(rel.getTargetEntity())) throw new EntityGenerationException("Target entity is required for relationship in entity: " + entityName);
+    private List<AnnotationSpec> buildIdGenerationAnnotations(ResolvedEntity entity) {
+        if (!entity.getMetadata().isEnableBulkOperations()) {
+            return List.of(AnnotationSpec.builder(GeneratedValue.class)
+                    .addMember("strategy", "$T.IDENTITY", GenerationType.class)
+                    .build());
+        }
+        String sequenceName = entity.getEntityName().toLowerCase() + "_seq";
+        return List.of(
+                AnnotationSpec.builder(GeneratedValue.class)
+                        .addMember("strategy", "$T.SEQUENCE", GenerationType.class)
+                        .addMember("generator", "$S", sequenceName)
+                        .build(),
+                AnnotationSpec.builder(SequenceGenerator.class)
+                        .addMember("name", "$S", sequenceName)
+                        .addMember("sequenceName", "$S", sequenceName)
+                        .addMember("allocationSize", "$L", Math.max(1, entity.getMetadata().getSequenceAllocationSize()))
+                        .build());
     }
 
     /**
      * Builds a field specification for the entity class.
      *
-     * @param field Field metadata.
+     * @param entity Resolved entity.
+     * @param resolved Resolved field.
      * @param enableValidation Whether validation annotations are enabled.
      * @return FieldSpec for the entity.
      */
-    private FieldSpec buildFieldSpec(Field field, boolean enableValidation) {
-        TypeName fieldType = ClassName.bestGuess(field.getType().trim());
-        FieldSpec.Builder fieldBuilder = FieldSpec.builder(fieldType, field.getName().trim(), Modifier.PRIVATE);
+    private FieldSpec buildFieldSpec(ResolvedEntity entity, ResolvedEntity.ResolvedField resolved, boolean enableValidation) {
+        Field field = resolved.getSource();
+        FieldSpec.Builder fieldBuilder = FieldSpec.builder(resolved.getType(), resolved.getName(), Modifier.PRIVATE);
 
         if (Boolean.TRUE.equals(field.isPrimaryKey())) {
             fieldBuilder.addAnnotation(Id.class)
-                    .addAnnotation(AnnotationSpec.builder(GeneratedValue.class)
-                            .addMember("strategy", "$T.IDENTITY", GenerationType.class)
-                            .build());
+                    .addAnnotations(buildIdGenerationAnnotations(entity));
         }
 
         AnnotationSpec.Builder columnBuilder = AnnotationSpec.builder(Column.class);
-        columnBuilder.addMember("name", "$S", field.getName().trim());
+        columnBuilder.addMember("name", "$S", resolved.getColumnName());
         if (Boolean.FALSE.equals(field.isNullable())) columnBuilder.addMember("nullable", "$L", false);
         if (Boolean.TRUE.equals(field.isUnique())) columnBuilder.addMember("unique", "$L", true);
         if (field.getLength() != null && field.getLength() > 0) columnBuilder.addMember("length", "$L", field.getLength());
@@ -756,14 +2731,14 @@ public class EntityGeneratorService {
     /**
      * Builds a field specification for the DTO class.
      *
-     * @param field Field metadata.
+     * @param resolved Resolved field.
      * @param enableSwagger Whether Swagger annotations are enabled.
      * @param enableJsonAnnotations Whether JSON annotations are enabled.
      * @return FieldSpec for the DTO.
      */
-    private FieldSpec buildDTOFieldSpec(Field field, boolean enableSwagger, boolean enableJsonAnnotations) {
-        TypeName fieldType = ClassName.bestGuess(field.getType().trim());
-        FieldSpec.Builder fieldBuilder = FieldSpec.builder(fieldType, field.getName().trim(), Modifier.PRIVATE);
+    private FieldSpec buildDTOFieldSpec(ResolvedEntity.ResolvedField resolved, boolean enableSwagger, boolean enableJsonAnnotations) {
+        Field field = resolved.getSource();
+        FieldSpec.Builder fieldBuilder = FieldSpec.builder(resolved.getType(), resolved.getName(), Modifier.PRIVATE);
 
         if (enableSwagger && field.getSwaggerConfig() != null) {
             Field.SwaggerConfig swagger = field.getSwaggerConfig();
@@ -799,20 +2774,41 @@ public class EntityGeneratorService {
     }
 
     /**
-     * Builds a relationship field specification.
+     * Builds the entity graph loading all relationships of the entity in one query.
+     *
+     * @param entity Resolved entity.
+     * @return NamedEntityGraph annotation.
+     */
+    private AnnotationSpec buildEntityGraph(ResolvedEntity entity) {
+        AnnotationSpec.Builder graph = AnnotationSpec.builder(NamedEntityGraph.class)
+                .addMember("name", "$S", entity.getEntityGraphName());
+        for (ResolvedEntity.ResolvedRelationship rel : entity.getRelationships()) {
+            graph.addMember("attributeNodes", "$L", AnnotationSpec.builder(NamedAttributeNode.class)
+                    .addMember("value", "$S", rel.getFieldName())
+                    .build());
+        }
+        return graph.build();
+    }
+
+    /**
+     * Builds a relationship field specification. Relationships are lazy unless the metadata asks otherwise;
+     * collections are initialized in batches and left out of the Lombok equals, hashCode and toString,
+     * which would otherwise load them or recurse through bidirectional relationships.
      *
-     * @param rel Relationship metadata.
+     * @param entity Resolved entity owning the relationship.
+     * @param resolved Resolved relationship.
      * @return FieldSpec for the relationship.
      */
-    private FieldSpec buildRelationshipFieldSpec(Relationship rel) {
-        TypeName targetType = ClassName.bestGuess(rel.getTargetEntity().trim());
-        AnnotationSpec.Builder relAnnotation = AnnotationSpec.builder(getRelationshipAnnotation(rel.getType()));
+    private FieldSpec buildRelationshipFieldSpec(ResolvedEntity entity, ResolvedEntity.ResolvedRelationship resolved) {
+        Relationship rel = resolved.getSource();
+        AnnotationSpec.Builder relAnnotation = AnnotationSpec.builder(resolved.getAnnotation());
         if (rel.getMappedBy() != null && !rel.getMappedBy().trim().isEmpty()) {
             relAnnotation.addMember("mappedBy", "$S", rel.getMappedBy().trim());
         }
-        if (rel.getFetch() != null && !rel.getFetch().trim().isEmpty()) {
-            relAnnotation.addMember("fetch", "$T.$L", FetchType.class, rel.getFetch().trim().toUpperCase());
-        }
+        String fetch = rel.getFetch() != null && !rel.getFetch().trim().isEmpty()
+                ? rel.getFetch().trim().toUpperCase()
+                : FetchType.LAZY.name();
+        relAnnotation.addMember("fetch", "$T.$L", FetchType.class, fetch);
         if (rel.getCascade() != null && !rel.getCascade().isEmpty()) {
             CodeBlock cascadeBlock = CodeBlock.builder()
                     .add("{")
@@ -827,8 +2823,20 @@ public class EntityGeneratorService {
             relAnnotation.addMember("optional", "$L", false);
         }
 
-        return FieldSpec.builder(targetType, rel.getSourceField().trim(), Modifier.PRIVATE)
-                .addAnnotation(relAnnotation.build())
+        FieldSpec.Builder fieldBuilder = FieldSpec.builder(resolved.getFieldType(), resolved.getFieldName(), Modifier.PRIVATE)
+                .addAnnotation(relAnnotation.build());
+        if (resolved.isCollection()) {
+            fieldBuilder.addAnnotation(AnnotationSpec.builder(BatchSize.class)
+                            .addMember("size", "$L", Math.max(1, entity.getMetadata().getAssociationBatchSize()))
+                            .build())
+                    .initializer("new $T<>()", HashSet.class);
+            if (entity.isCached()) {
+                fieldBuilder.addAnnotation(buildCacheAnnotation(entity));
+            }
+        }
+        return fieldBuilder
+                .addAnnotation(lombok.ToString.Exclude.class)
+                .addAnnotation(lombok.EqualsAndHashCode.Exclude.class)
                 .addAnnotation(AnnotationSpec.builder(Schema.class)
                         .addMember("description", "$S", "Relationship field " + rel.getSourceField())
                         .build())
@@ -905,23 +2913,6 @@ public class EntityGeneratorService {
         return builder != null ? builder.build() : null;
     }
 
-    /**
-     * Returns the annotation class for a given relationship type.
-     *
-     * @param type Relationship type.
-     * @return Annotation class.
-     * @throws EntityGenerationException If type is unsupported.
-     */
-    private Class<?> getRelationshipAnnotation(String type) {
-        return switch (type) {
-            case "OneToOne" -> OneToOne.class;
-            case "OneToMany" -> OneToMany.class;
-            case "ManyToOne" -> ManyToOne.class;
-            case "ManyToMany" -> ManyToMany.class;
-            default -> throw new EntityGenerationException("Unsupported relationship type: " + type);
-        };
-    }
-
     /**
      * Checks if a string is null or blank.
      *
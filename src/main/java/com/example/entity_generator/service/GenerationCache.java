@@ -0,0 +1,105 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.model.CacheStatistics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded LRU cache of rendered artifacts, keyed by artifact type and metadata fingerprint.
+ * Hits, misses and size are published as {@code generator.cache.*} meters.
+ */
+@Component
+public class GenerationCache implements MeterBinder {
+
+    private final int maxEntries;
+    private final Map<String, String> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public GenerationCache(@Value("${generator.cache.max-entries:2000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > GenerationCache.this.maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("generator.cache.requests", hits, AtomicLong::get)
+                .description("Artifact cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("generator.cache.requests", misses, AtomicLong::get)
+                .description("Artifact cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("generator.cache.size", this, cache -> cache.getStatistics().getSize())
+                .description("Rendered artifacts held in the cache")
+                .register(registry);
+    }
+
+    /**
+     * Looks up a rendered artifact and records a hit or miss.
+     *
+     * @param key Cache key.
+     * @return Cached content, or null if absent.
+     */
+    public String get(String key) {
+        String content;
+        synchronized (entries) {
+            content = entries.get(key);
+        }
+        (content != null ? hits : misses).incrementAndGet();
+        return content;
+    }
+
+    /**
+     * Stores a rendered artifact, evicting the least recently used entry when full.
+     *
+     * @param key Cache key.
+     * @param content Rendered content.
+     * @return The stored content.
+     */
+    public String put(String key, String content) {
+        if (maxEntries > 0) {
+            synchronized (entries) {
+                entries.put(key, content);
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Removes all cached artifacts. Hits and misses are kept, since they are published as counters that
+     * must never decrease.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns the current cache statistics.
+     *
+     * @return Cache statistics.
+     */
+    public CacheStatistics getStatistics() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStatistics(size, maxEntries, hits.get(), misses.get());
+    }
+}
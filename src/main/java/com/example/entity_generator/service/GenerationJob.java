@@ -0,0 +1,140 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.model.EntityMetadata;
+import com.example.entity_generator.model.GenerationJobStatus;
+import com.example.entity_generator.model.GenerationResult;
+import com.example.entity_generator.model.JobState;
+import com.example.entity_generator.model.WriteMode;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mutable state of an asynchronous batch job. Progress is updated from generation workers
+ * and read by status requests, so every field is either volatile or atomic.
+ */
+final class GenerationJob implements BatchProgressListener {
+
+    private final String id;
+    private final List<EntityMetadata> metadataList;
+    private final WriteMode mode;
+    private final AtomicReferenceArray<GenerationResult> results;
+    private final AtomicInteger successCount = new AtomicInteger();
+    private final AtomicInteger errorCount = new AtomicInteger();
+    private final AtomicInteger cancelledCount = new AtomicInteger();
+    private final Instant createdAt = Instant.now();
+
+    private volatile JobState state = JobState.QUEUED;
+    private volatile String message = "Waiting for a job worker";
+    private volatile boolean cancelled;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile Future<?> future;
+
+    GenerationJob(String id, List<EntityMetadata> metadataList, WriteMode mode) {
+        this.id = id;
+        this.metadataList = metadataList;
+        this.mode = mode;
+        this.results = new AtomicReferenceArray<>(metadataList.size());
+    }
+
+    @Override
+    public void entityCompleted(int index, GenerationResult result) {
+        results.set(index, result);
+        if (result.isSuccess()) successCount.incrementAndGet();
+        else errorCount.incrementAndGet();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    String getId() { return id; }
+    List<EntityMetadata> getMetadataList() { return metadataList; }
+    WriteMode getMode() { return mode; }
+    JobState getState() { return state; }
+    Instant getCreatedAt() { return createdAt; }
+    Instant getFinishedAt() { return finishedAt; }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        state = JobState.RUNNING;
+        message = "Generating " + metadataList.size() + " entities";
+    }
+
+    void finished(JobState finalState, String finalMessage) {
+        message = finalMessage;
+        finishedAt = Instant.now();
+        state = finalState;
+    }
+
+    /**
+     * Requests cancellation. A queued job is removed from the worker queue right away;
+     * a running job stops before its next entity.
+     *
+     * @return True if the job was still queued or running.
+     */
+    boolean cancel() {
+        if (state.isFinished()) return false;
+        cancelled = true;
+        Future<?> pending = future;
+        if (state == JobState.QUEUED && pending != null && pending.cancel(false)) {
+            finished(JobState.CANCELLED, "Cancelled before start");
+        }
+        return true;
+    }
+
+    /**
+     * Discards the results of a cancelled batch. Its staged files were never written, so every entity
+     * reported as generated is turned into a cancelled result without files. Failures are kept, and
+     * entities the batch never reached stay without a result. Called once the batch has returned, when no
+     * worker reports progress any more.
+     */
+    void discarded() {
+        for (int i = 0; i < results.length(); i++) {
+            GenerationResult result = results.get(i);
+            if (result != null && result.isSuccess()) {
+                results.set(i, GenerationResult.cancelled(metadataList.get(i).getEntityName()
+                        + ": Generated but not written, the job was cancelled"));
+                successCount.decrementAndGet();
+                cancelledCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Takes a snapshot of the job for status requests.
+     *
+     * @return Job status with the results completed so far.
+     */
+    GenerationJobStatus toStatus() {
+        GenerationJobStatus status = new GenerationJobStatus();
+        status.setId(id);
+        status.setState(state);
+        status.setMessage(message);
+        status.setTotal(metadataList.size());
+        status.setSuccessCount(successCount.get());
+        status.setErrorCount(errorCount.get());
+        status.setCancelledCount(cancelledCount.get());
+        status.setProcessed(status.getSuccessCount() + status.getErrorCount() + status.getCancelledCount());
+
+        List<GenerationResult> snapshot = new ArrayList<>(results.length());
+        for (int i = 0; i < results.length(); i++) {
+            snapshot.add(results.get(i));
+        }
+        status.setResults(snapshot);
+        status.setCreatedAt(createdAt);
+        status.setStartedAt(startedAt);
+        status.setFinishedAt(finishedAt);
+        return status;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.exception.EntityGenerationException;
+import com.example.entity_generator.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs batch generations as background jobs so that request threads return immediately.
+ * Jobs are kept in a bounded in-memory registry; finished jobs expire after a time-to-live
+ * and are evicted lazily whenever the registry is accessed.
+ */
+@Service
+public class GenerationJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerationJobService.class);
+
+    private final EntityGeneratorService generatorService;
+    private final ExecutorService jobExecutor;
+    private final int maxJobs;
+    private final Duration ttl;
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+
+    public GenerationJobService(EntityGeneratorService generatorService,
+                                @Qualifier("jobExecutor") ExecutorService jobExecutor,
+                                @Value("${generator.jobs.max-entries:100}") int maxJobs,
+                                @Value("${generator.jobs.ttl-minutes:60}") long ttlMinutes) {
+        this.generatorService = generatorService;
+        this.jobExecutor = jobExecutor;
+        this.maxJobs = maxJobs;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    /**
+     * Registers a batch job and queues it for execution.
+     *
+     * @param metadataList List of entity metadata.
+     * @param mode How existing files are treated.
+     * @return Initial status of the job.
+     * @throws EntityGenerationException If the registry is full of unfinished jobs.
+     */
+    public GenerationJobStatus submit(List<EntityMetadata> metadataList, WriteMode mode) {
+        GenerationJob job = new GenerationJob(UUID.randomUUID().toString(), List.copyOf(metadataList), mode);
+        synchronized (jobs) {
+            evictExpired();
+            if (jobs.size() >= maxJobs && !evictOldestFinished()) {
+                throw new EntityGenerationException("Too many generation jobs in progress, try again later");
+            }
+            jobs.put(job.getId(), job);
+        }
+        job.setFuture(jobExecutor.submit(() -> run(job)));
+        logger.info("Queued generation job {} for {} entities", job.getId(), metadataList.size());
+        return job.toStatus();
+    }
+
+    /**
+     * Returns the current status of a job.
+     *
+     * @param id Job identifier.
+     * @return Job status, or empty if the job is unknown or expired.
+     */
+    public Optional<GenerationJobStatus> getStatus(String id) {
+        evictExpired();
+        GenerationJob job = jobs.get(id);
+        return job == null ? Optional.empty() : Optional.of(job.toStatus());
+    }
+
+    /**
+     * Cancels a queued or running job. No files are written; entities already generated are reported as cancelled.
+     *
+     * @param id Job identifier.
+     * @return Job status after the cancellation request, or empty if the job is unknown or expired.
+     */
+    public Optional<GenerationJobStatus> cancel(String id) {
+        GenerationJob job = jobs.get(id);
+        if (job == null) return Optional.empty();
+        if (job.cancel()) {
+            logger.info("Cancellation requested for generation job {}", id);
+        }
+        return Optional.of(job.toStatus());
+    }
+
+    private void run(GenerationJob job) {
+        if (job.isCancelled()) {
+            job.finished(JobState.CANCELLED, "Cancelled before start");
+            return;
+        }
+        job.started();
+        try {
+            BatchGenerationResult result = generatorService.generateBatch(job.getMetadataList(), job.getMode(), job);
+            job.finished(JobState.COMPLETED, "Generated " + result.getSuccessCount() + " of "
+                    + result.getTotalProcessed() + " entities");
+        } catch (CancellationException e) {
+            job.discarded();
+            job.finished(JobState.CANCELLED, "Cancelled; no files were written");
+        } catch (RuntimeException e) {
+            logger.error("Generation job {} failed: {}", job.getId(), e.getMessage());
+            job.finished(JobState.FAILED, e.getMessage());
+        }
+        logger.info("Generation job {} finished with state {}", job.getId(), job.getState());
+    }
+
+    private void evictExpired() {
+        Instant cutoff = Instant.now().minus(ttl);
+        jobs.values().removeIf(job -> job.getState().isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private boolean evictOldestFinished() {
+        GenerationJob oldest = null;
+        for (GenerationJob job : jobs.values()) {
+            if (job.getState().isFinished() && (oldest == null || job.getCreatedAt().isBefore(oldest.getCreatedAt()))) {
+                oldest = job;
+            }
+        }
+        if (oldest == null) return false;
+        jobs.remove(oldest.getId());
+        return true;
+    }
+}
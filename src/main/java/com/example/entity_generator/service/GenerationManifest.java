@@ -0,0 +1,267 @@
+package com.example.entity_generator.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Persistent record of what was generated from which metadata, kept as a JSON file in the source root.
+ * Maps every generated entity to its metadata fingerprint and the content digests, sizes and modification times
+ * of its output files, so that incremental runs skip unchanged entities and deleting an entity removes exactly
+ * the files written for it.
+ * The file is read on first use and rewritten atomically whenever an update changes it. Without a file, the
+ * entities found by the legacy scan are recorded instead, so output generated before the manifest existed is
+ * listed and deleted like any other.
+ */
+final class GenerationManifest {
+
+    static final String FILE_NAME = ".generator-manifest.json";
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerationManifest.class);
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .build();
+
+    private final Path file;
+    private final Supplier<Map<String, Entry>> legacyEntries;
+    private Map<String, Entry> entries;
+    // Output path -> names of the entities listing it; shared artifacts are listed by several entities
+    private final Map<String, Set<String>> referencedBy = new HashMap<>();
+
+    /**
+     * @param file Manifest file.
+     * @param legacyEntries Scan of the entities already on disk, used once if the manifest file does not exist.
+     */
+    GenerationManifest(Path file, Supplier<Map<String, Entry>> legacyEntries) {
+        this.file = file;
+        this.legacyEntries = legacyEntries;
+    }
+
+    /**
+     * Returns the entry of an entity if it was generated from the given metadata and all of its files still
+     * hold the generated content, so files edited or removed since then are generated again.
+     *
+     * @param entityName Generated entity name.
+     * @param metadataHash Fingerprint of the current metadata.
+     * @return Current entry, or null if the entity has to be generated.
+     */
+    Entry current(String entityName, String metadataHash) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries().get(entityName);
+        }
+        if (entry == null || !entry.getMetadataHash().equals(metadataHash)) return null;
+        for (Map.Entry<String, String> file : entry.getFiles().entrySet()) {
+            if (!hasDigest(Path.of(file.getKey()), file.getValue(), entry.getStamps().get(file.getKey()))) return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Whether a file still holds the recorded content. Files whose size and modification time match the ones
+     * recorded when they were written are taken as unchanged; only the others are read and hashed.
+     */
+    private static boolean hasDigest(Path path, String digest, FileStamp stamp) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) return false;
+            if (stamp != null && stamp.matches(attributes)) return true;
+            return MetadataFingerprint.sha256(Files.readAllBytes(path)).equals(digest);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Records the size and modification time of the files of an entry, once they have been written.
+     */
+    private static Entry stamp(Entry entry) {
+        Map<String, FileStamp> stamps = new LinkedHashMap<>();
+        for (String file : entry.getFiles().keySet()) {
+            try {
+                stamps.put(file, new FileStamp(Files.readAttributes(Path.of(file), BasicFileAttributes.class)));
+            } catch (IOException e) {
+                // Without a stamp the file is hashed on the next incremental run
+            }
+        }
+        entry.setStamps(stamps);
+        return entry;
+    }
+
+    /**
+     * Whether a file belongs to any recorded entity. Answered from the path index, without visiting the entries.
+     *
+     * @param path Output path.
+     * @return True if an entry lists the file.
+     */
+    synchronized boolean isReferenced(String path) {
+        entries();
+        return referencedBy.containsKey(path);
+    }
+
+    synchronized List<String> getEntityNames() {
+        return new ArrayList<>(entries().keySet());
+    }
+
+    /**
+     * Records the entities of a committed stage and persists the manifest.
+     *
+     * @param updates Entries by generated entity name.
+     * @throws IOException If the manifest cannot be written.
+     */
+    void putAll(Map<String, Entry> updates) throws IOException {
+        if (updates.isEmpty()) return;
+        updates.values().forEach(GenerationManifest::stamp);
+        synchronized (this) {
+            Map<String, Entry> current = entries();
+            updates.forEach((entityName, entry) -> {
+                unindex(entityName, current.put(entityName, entry));
+                index(entityName, entry);
+            });
+            save();
+        }
+    }
+
+    /**
+     * Removes an entity and persists the manifest.
+     *
+     * @param entityName Generated entity name.
+     * @return Removed entry, or null if the entity is not recorded.
+     * @throws IOException If the manifest cannot be written.
+     */
+    synchronized Entry remove(String entityName) throws IOException {
+        Entry removed = entries().remove(entityName);
+        if (removed != null) {
+            unindex(entityName, removed);
+            save();
+        }
+        return removed;
+    }
+
+    private void index(String entityName, Entry entry) {
+        for (String path : entry.getFiles().keySet()) {
+            referencedBy.computeIfAbsent(path, key -> new HashSet<>()).add(entityName);
+        }
+    }
+
+    private void unindex(String entityName, Entry entry) {
+        if (entry == null) return;
+        for (String path : entry.getFiles().keySet()) {
+            Set<String> entityNames = referencedBy.get(path);
+            if (entityNames != null && entityNames.remove(entityName) && entityNames.isEmpty()) {
+                referencedBy.remove(path);
+            }
+        }
+    }
+
+    private Map<String, Entry> entries() {
+        if (entries == null) {
+            entries = new TreeMap<>();
+            if (Files.exists(file)) {
+                try {
+                    entries.putAll(MAPPER.readValue(file.toFile(), new TypeReference<Map<String, Entry>>() { }));
+                    entries.forEach(this::index);
+                } catch (IOException e) {
+                    logger.warn("Ignoring unreadable generation manifest {}: {}", file, e.getMessage());
+                }
+            } else {
+                legacyEntries.get().forEach((entityName, entry) -> entries.put(entityName, stamp(entry)));
+                entries.forEach(this::index);
+                if (!entries.isEmpty()) {
+                    logger.info("Recording {} entities generated before the manifest existed", entries.size());
+                    try {
+                        save();
+                    } catch (IOException e) {
+                        logger.warn("Could not write generation manifest {}: {}", file, e.getMessage());
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    private void save() throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+        MAPPER.writeValue(temp.toFile(), entries);
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Generation record of a single entity.
+     */
+    static final class Entry {
+        private String metadataHash;
+        private Map<String, String> files = new LinkedHashMap<>();
+        private Map<String, FileStamp> stamps = new LinkedHashMap<>();
+        private Instant generatedAt;
+
+        Entry() {
+        }
+
+        Entry(String metadataHash, Map<String, String> files, Instant generatedAt) {
+            this.metadataHash = metadataHash;
+            this.files = files;
+            this.generatedAt = generatedAt;
+        }
+
+        public String getMetadataHash() { return metadataHash; }
+        public void setMetadataHash(String metadataHash) { this.metadataHash = metadataHash; }
+
+        // Output path -> SHA-256 of the generated content
+        public Map<String, String> getFiles() { return files; }
+        public void setFiles(Map<String, String> files) { this.files = files; }
+
+        // Output path -> size and modification time of the file once written
+        public Map<String, FileStamp> getStamps() { return stamps; }
+        public void setStamps(Map<String, FileStamp> stamps) { this.stamps = stamps; }
+
+        public Instant getGeneratedAt() { return generatedAt; }
+        public void setGeneratedAt(Instant generatedAt) { this.generatedAt = generatedAt; }
+    }
+
+    /**
+     * Size and modification time of a generated file, checked before its content is hashed.
+     */
+    static final class FileStamp {
+        private long size;
+        private long modifiedMillis;
+
+        FileStamp() {
+        }
+
+        FileStamp(BasicFileAttributes attributes) {
+            this.size = attributes.size();
+            this.modifiedMillis = attributes.lastModifiedTime().toMillis();
+        }
+
+        boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size() && modifiedMillis == attributes.lastModifiedTime().toMillis();
+        }
+
+        public long getSize() { return size; }
+        public void setSize(long size) { this.size = size; }
+
+        public long getModifiedMillis() { return modifiedMillis; }
+        public void setModifiedMillis(long modifiedMillis) { this.modifiedMillis = modifiedMillis; }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.model.TimingNode;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in timing tree of a generation request. A span measures wall time, and the CPU time and allocated
+ * bytes of the thread that opened it; spans opened on worker threads are attached to the parent they were
+ * created from, so parallel renders show up as siblings. A span must be closed on the thread that opened it.
+ * The disabled trace records nothing.
+ */
+public final class GenerationTrace implements AutoCloseable {
+
+    public static final GenerationTrace DISABLED = new GenerationTrace(null);
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final TimingNode node;
+    private final long startNanos;
+    private final long startCpuNanos;
+    private final long startAllocatedBytes;
+
+    private GenerationTrace(TimingNode node) {
+        this.node = node;
+        this.startNanos = node != null ? System.nanoTime() : 0;
+        this.startCpuNanos = node != null ? cpuNanos() : 0;
+        this.startAllocatedBytes = node != null ? allocatedBytes() : 0;
+    }
+
+    /**
+     * Opens the root span of a request.
+     *
+     * @param name Stage name.
+     * @param enabled Whether the request asked for a trace.
+     * @return Root span, or the disabled trace.
+     */
+    public static GenerationTrace start(String name, boolean enabled) {
+        return enabled ? new GenerationTrace(new TimingNode(name, Instant.now())) : DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return node != null;
+    }
+
+    /**
+     * Opens a child span on the calling thread.
+     *
+     * @param name Stage name.
+     * @return Child span, or the disabled trace if this trace is disabled.
+     */
+    GenerationTrace child(String name) {
+        if (node == null) return DISABLED;
+        TimingNode child = new TimingNode(name, Instant.now());
+        synchronized (node) {
+            node.getChildren().add(child);
+        }
+        return new GenerationTrace(child);
+    }
+
+    /**
+     * Runs a stage inside a child span.
+     *
+     * @param name Stage name.
+     * @param stage Stage to run.
+     * @param <T> Result type.
+     * @return Stage result.
+     */
+    <T> T record(String name, Supplier<T> stage) {
+        if (node == null) return stage.get();
+        try (GenerationTrace ignored = child(name)) {
+            return stage.get();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (node == null) return;
+        node.setWallNanos(System.nanoTime() - startNanos);
+        node.setCpuNanos(startCpuNanos < 0 ? -1 : cpuNanos() - startCpuNanos);
+        node.setAllocatedBytes(startAllocatedBytes < 0 ? -1 : allocatedBytes() - startAllocatedBytes);
+    }
+
+    /**
+     * Closes the root span and returns the recorded tree.
+     *
+     * @return Timing tree, or null if the trace is disabled.
+     */
+    public TimingNode finish() {
+        close();
+        return node;
+    }
+
+    private static long cpuNanos() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS instanceof com.sun.management.ThreadMXBean allocations && allocations.isThreadAllocatedMemoryEnabled()
+                ? allocations.getCurrentThreadAllocatedBytes()
+                : -1;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.model.TimingNode;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays finished timing trees as OpenTelemetry spans. Spans are created after the request with the
+ * recorded timestamps, so untraced requests never touch the tracer.
+ */
+@Component
+public class GenerationTraceExporter {
+
+    private final Tracer tracer;
+
+    public GenerationTraceExporter(OpenTelemetry openTelemetry) {
+        this.tracer = openTelemetry.getTracer("entity-generator");
+    }
+
+    /**
+     * Exports a timing tree.
+     *
+     * @param root Timing tree, or null if the request was not traced.
+     * @return The same timing tree.
+     */
+    public TimingNode export(TimingNode root) {
+        if (root != null) {
+            export(root, Context.root());
+        }
+        return root;
+    }
+
+    private void export(TimingNode node, Context parent) {
+        long start = epochNanos(node.getStartedAt());
+        Span span = tracer.spanBuilder(node.getName())
+                .setParent(parent)
+                .setStartTimestamp(start, TimeUnit.NANOSECONDS)
+                .setAttribute("generator.cpu_nanos", node.getCpuNanos())
+                .setAttribute("generator.allocated_bytes", node.getAllocatedBytes())
+                .startSpan();
+        Context context = parent.with(span);
+        for (TimingNode child : node.getChildren()) {
+            export(child, context);
+        }
+        span.end(start + node.getWallNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static long epochNanos(Instant instant) {
+        return TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano();
+    }
+}
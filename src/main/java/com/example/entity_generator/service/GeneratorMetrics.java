@@ -0,0 +1,119 @@
+package com.example.entity_generator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters of the generation pipeline: one timer per stage and artifact type, and counters for
+ * generated entities, fields, written bytes and failures. Percentile histograms are switched on with
+ * {@code management.metrics.distribution.percentiles-histogram.generator}, so that the Prometheus endpoint
+ * shows which stage dominates batch latency.
+ */
+@Component
+public class GeneratorMetrics {
+
+    private final Map<ArtifactType, Timer> renderTimers = new EnumMap<>(ArtifactType.class);
+    private final Map<Stage, Counter> failures = new EnumMap<>(Stage.class);
+    private final Timer analysisTimer;
+    private final Timer writeTimer;
+    private final Counter entities;
+    private final Counter fields;
+    private final Counter bytesWritten;
+
+    public GeneratorMetrics(MeterRegistry registry) {
+        for (ArtifactType type : ArtifactType.values()) {
+            renderTimers.put(type, Timer.builder("generator.render")
+                    .description("Time to render one artifact")
+                    .tag("artifact", type.name().toLowerCase())
+                    .register(registry));
+        }
+        for (Stage stage : Stage.values()) {
+            failures.put(stage, Counter.builder("generator.failures")
+                    .description("Entities or models that failed")
+                    .tag("stage", stage.name().toLowerCase())
+                    .register(registry));
+        }
+        this.analysisTimer = Timer.builder("generator.analysis")
+                .description("Time to analyze one model class")
+                .register(registry);
+        this.writeTimer = Timer.builder("generator.write")
+                .description("Time to write the staged files of a request or batch")
+                .register(registry);
+        this.entities = Counter.builder("generator.entities")
+                .description("Entities generated")
+                .register(registry);
+        this.fields = Counter.builder("generator.fields")
+                .description("Fields of the generated entities")
+                .register(registry);
+        this.bytesWritten = Counter.builder("generator.bytes.written")
+                .description("Bytes of generated files written to disk")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Renders an artifact and records the time taken.
+     *
+     * @param type Artifact type.
+     * @param renderer Artifact renderer.
+     * @return Rendered content.
+     */
+    String recordRender(ArtifactType type, Supplier<String> renderer) {
+        return renderTimers.get(type).record(renderer);
+    }
+
+    /**
+     * Analyzes a model and records the time taken.
+     *
+     * @param analysis Model analysis.
+     * @param <T> Result type.
+     * @return Analysis result.
+     */
+    <T> T recordAnalysis(Supplier<T> analysis) {
+        return analysisTimer.record(analysis);
+    }
+
+    /**
+     * Records a completed write of staged files.
+     *
+     * @param nanos Time taken in nanoseconds.
+     * @param bytes Bytes written.
+     */
+    void recordWrite(long nanos, long bytes) {
+        writeTimer.record(nanos, TimeUnit.NANOSECONDS);
+        bytesWritten.increment(bytes);
+    }
+
+    /**
+     * Counts a generated entity.
+     *
+     * @param fieldCount Number of fields of the entity.
+     */
+    void entityGenerated(int fieldCount) {
+        entities.increment();
+        fields.increment(fieldCount);
+    }
+
+    /**
+     * Counts a failure.
+     *
+     * @param stage Stage that failed.
+     */
+    void failed(Stage stage) {
+        failures.get(stage).increment();
+    }
+
+    /**
+     * Pipeline stage a failure is attributed to.
+     */
+    enum Stage {
+        ANALYSIS, VALIDATION, RENDER, WRITE
+    }
+}
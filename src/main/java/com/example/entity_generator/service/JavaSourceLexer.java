@@ -0,0 +1,149 @@
+package com.example.entity_generator.service;
+
+/**
+ * Single-pass tokenizer for Java source code.
+ * Whitespace and comments are skipped; tokens are exposed as offsets into the source,
+ * so no text is copied unless {@link #text()} is called.
+ */
+final class JavaSourceLexer {
+
+    enum TokenType {
+        IDENTIFIER, NUMBER, STRING, CHAR, SYMBOL, EOF
+    }
+
+    private final String source;
+    private final int length;
+    private int position;
+
+    private TokenType type;
+    private int start;
+    private int end;
+
+    JavaSourceLexer(String source) {
+        this.source = source;
+        this.length = source.length();
+    }
+
+    /**
+     * Advances to the next token.
+     *
+     * @return Type of the new current token.
+     */
+    TokenType next() {
+        skipWhitespaceAndComments();
+        start = position;
+        if (position >= length) {
+            end = position;
+            return type = TokenType.EOF;
+        }
+
+        char c = source.charAt(position);
+        if (Character.isJavaIdentifierStart(c)) {
+            while (position < length && Character.isJavaIdentifierPart(source.charAt(position))) position++;
+            type = TokenType.IDENTIFIER;
+        } else if (Character.isDigit(c)) {
+            while (position < length && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '.' || source.charAt(position) == '_')) position++;
+            type = TokenType.NUMBER;
+        } else if (c == '"') {
+            position = skipQuoted(position, '"');
+            type = TokenType.STRING;
+        } else if (c == '\'') {
+            position = skipQuoted(position, '\'');
+            type = TokenType.CHAR;
+        } else {
+            position++;
+            type = TokenType.SYMBOL;
+        }
+        end = position;
+        return type;
+    }
+
+    TokenType type() {
+        return type;
+    }
+
+    int start() {
+        return start;
+    }
+
+    int end() {
+        return end;
+    }
+
+    /**
+     * Returns the text of the current token.
+     *
+     * @return Token text.
+     */
+    String text() {
+        return source.substring(start, end);
+    }
+
+    /**
+     * Returns the source text between two offsets.
+     *
+     * @param from Start offset, inclusive.
+     * @param to End offset, exclusive.
+     * @return Source text.
+     */
+    String text(int from, int to) {
+        return source.substring(from, to);
+    }
+
+    /**
+     * Checks whether the current token is the given symbol.
+     *
+     * @param symbol Symbol character.
+     * @return True if the current token is that symbol.
+     */
+    boolean isSymbol(char symbol) {
+        return type == TokenType.SYMBOL && source.charAt(start) == symbol;
+    }
+
+    /**
+     * Checks whether the current token is the given identifier or keyword, without copying it.
+     *
+     * @param word Identifier text.
+     * @return True if the current token matches.
+     */
+    boolean isWord(String word) {
+        return type == TokenType.IDENTIFIER && end - start == word.length() && source.startsWith(word, start);
+    }
+
+    private void skipWhitespaceAndComments() {
+        while (position < length) {
+            char c = source.charAt(position);
+            if (Character.isWhitespace(c)) {
+                position++;
+            } else if (c == '/' && position + 1 < length && source.charAt(position + 1) == '/') {
+                int newline = source.indexOf('\n', position);
+                position = newline < 0 ? length : newline + 1;
+            } else if (c == '/' && position + 1 < length && source.charAt(position + 1) == '*') {
+                int close = source.indexOf("*/", position + 2);
+                position = close < 0 ? length : close + 2;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private int skipQuoted(int from, char quote) {
+        // Text blocks
+        if (quote == '"' && source.startsWith("\"\"\"", from)) {
+            int close = source.indexOf("\"\"\"", from + 3);
+            return close < 0 ? length : close + 3;
+        }
+        int i = from + 1;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote || c == '\n') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+}
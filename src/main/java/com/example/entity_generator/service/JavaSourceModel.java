@@ -0,0 +1,81 @@
+package com.example.entity_generator.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightweight syntax tree of a Java model class: package, class name and the fields
+ * declared directly in the class body together with their annotations.
+ */
+final class JavaSourceModel {
+
+    private final String packageName;
+    private final String className;
+    private final List<FieldDeclaration> fields;
+
+    JavaSourceModel(String packageName, String className, List<FieldDeclaration> fields) {
+        this.packageName = packageName;
+        this.className = className;
+        this.fields = Collections.unmodifiableList(fields);
+    }
+
+    String getPackageName() { return packageName; }
+    String getClassName() { return className; }
+    List<FieldDeclaration> getFields() { return fields; }
+
+    /**
+     * Field declared in the class body.
+     */
+    static final class FieldDeclaration {
+        private final String name;
+        private final String type;
+        private final boolean isStatic;
+        private final List<AnnotationUsage> annotations;
+
+        FieldDeclaration(String name, String type, boolean isStatic, List<AnnotationUsage> annotations) {
+            this.name = name;
+            this.type = type;
+            this.isStatic = isStatic;
+            this.annotations = annotations;
+        }
+
+        String getName() { return name; }
+        String getType() { return type; }
+        boolean isStatic() { return isStatic; }
+        List<AnnotationUsage> getAnnotations() { return annotations; }
+
+        /**
+         * Finds an annotation by its simple name.
+         *
+         * @param simpleName Annotation name without package.
+         * @return Annotation, or null if the field is not annotated with it.
+         */
+        AnnotationUsage getAnnotation(String simpleName) {
+            for (AnnotationUsage annotation : annotations) {
+                if (annotation.getName().equals(simpleName)) return annotation;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Annotation with its parameters as raw source text. A single unnamed parameter is stored as {@code value}.
+     */
+    static final class AnnotationUsage {
+        private final String name;
+        private final Map<String, String> parameters;
+
+        AnnotationUsage(String name, Map<String, String> parameters) {
+            this.name = name;
+            this.parameters = parameters;
+        }
+
+        String getName() { return name; }
+        Map<String, String> getParameters() { return parameters; }
+
+        String getParameter(String key) {
+            return parameters.get(key);
+        }
+    }
+}
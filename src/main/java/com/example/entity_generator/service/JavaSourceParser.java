@@ -0,0 +1,336 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.service.JavaSourceLexer.TokenType;
+import com.example.entity_generator.service.JavaSourceModel.AnnotationUsage;
+import com.example.entity_generator.service.JavaSourceModel.FieldDeclaration;
+
+import java.util.*;
+
+/**
+ * Recursive-descent parser that builds a {@link JavaSourceModel} in a single pass over the
+ * token stream. Only declarations are parsed; method bodies, initializers and nested types
+ * are skipped by bracket matching, so the cost is linear in the size of the source.
+ */
+final class JavaSourceParser {
+
+    private static final Set<String> MODIFIERS = Set.of("public", "protected", "private", "static", "final",
+            "abstract", "transient", "volatile", "synchronized", "native", "strictfp", "default", "sealed");
+    private static final Set<String> TYPE_KEYWORDS = Set.of("class", "interface", "enum", "record");
+
+    private final JavaSourceLexer lexer;
+
+    private JavaSourceParser(String source) {
+        this.lexer = new JavaSourceLexer(source);
+    }
+
+    /**
+     * Parses a Java compilation unit. The public top-level class is preferred;
+     * otherwise the first top-level class is used.
+     *
+     * @param source Java source code.
+     * @return Parsed model; the class name is null if the source declares no class.
+     */
+    static JavaSourceModel parse(String source) {
+        return new JavaSourceParser(source).parseCompilationUnit();
+    }
+
+    private JavaSourceModel parseCompilationUnit() {
+        String packageName = null;
+        String className = null;
+        boolean classIsPublic = false;
+        List<FieldDeclaration> fields = new ArrayList<>();
+        boolean publicSeen = false;
+
+        lexer.next();
+        while (lexer.type() != TokenType.EOF) {
+            if (lexer.isWord("package")) {
+                lexer.next();
+                packageName = qualifiedName();
+                skipPast(';');
+            } else if (lexer.isWord("import")) {
+                skipPast(';');
+            } else if (lexer.isSymbol('@')) {
+                parseAnnotation();
+            } else if (lexer.isWord("public")) {
+                publicSeen = true;
+                lexer.next();
+            } else if (lexer.isWord("class") && (className == null || (publicSeen && !classIsPublic))) {
+                lexer.next();
+                className = lexer.text();
+                classIsPublic = publicSeen;
+                publicSeen = false;
+                skipTo('{');
+                fields = parseClassBody();
+            } else if (isTypeKeyword()) {
+                publicSeen = false;
+                skipTypeDeclaration();
+            } else {
+                lexer.next();
+            }
+        }
+        return new JavaSourceModel(packageName, className, fields);
+    }
+
+    /**
+     * Parses the members of a class body. The current token is the opening brace;
+     * on return the closing brace has been consumed.
+     */
+    private List<FieldDeclaration> parseClassBody() {
+        List<FieldDeclaration> fields = new ArrayList<>();
+        lexer.next();
+        while (lexer.type() != TokenType.EOF && !lexer.isSymbol('}')) {
+            List<AnnotationUsage> annotations = new ArrayList<>(2);
+            boolean isStatic = false;
+            while (true) {
+                if (lexer.isSymbol('@')) {
+                    AnnotationUsage annotation = parseAnnotation();
+                    if (annotation == null) break;
+                    annotations.add(annotation);
+                } else if (lexer.type() == TokenType.IDENTIFIER && MODIFIERS.contains(lexer.text())) {
+                    isStatic |= lexer.isWord("static");
+                    lexer.next();
+                } else {
+                    break;
+                }
+            }
+
+            if (lexer.isSymbol(';')) {
+                lexer.next();
+            } else if (lexer.isSymbol('{')) {
+                skipBalanced('{', '}');
+            } else if (isTypeKeyword()) {
+                skipTypeDeclaration();
+            } else if (lexer.isSymbol('<')) {
+                // Type parameters of a generic method
+                skipBalanced('<', '>');
+            } else if (lexer.type() == TokenType.IDENTIFIER) {
+                parseMember(fields, annotations, isStatic);
+            } else if (!lexer.isSymbol('}')) {
+                lexer.next();
+            }
+        }
+        lexer.next();
+        return fields;
+    }
+
+    private void parseMember(List<FieldDeclaration> fields, List<AnnotationUsage> annotations, boolean isStatic) {
+        int typeStart = lexer.start();
+        int typeEnd = parseType();
+        String type = null;
+
+        if (lexer.isSymbol('(')) {
+            // Constructor
+            skipMethod();
+            return;
+        }
+        while (lexer.type() == TokenType.IDENTIFIER) {
+            String name = lexer.text();
+            lexer.next();
+            if (lexer.isSymbol('(')) {
+                skipMethod();
+                return;
+            }
+            while (lexer.isSymbol('[') || lexer.isSymbol(']')) lexer.next();
+            if (type == null) type = normalizeWhitespace(lexer.text(typeStart, typeEnd));
+            fields.add(new FieldDeclaration(name, type, isStatic, annotations));
+
+            if (lexer.isSymbol('=')) {
+                lexer.next();
+                skipExpression();
+            }
+            if (!lexer.isSymbol(',')) break;
+            lexer.next();
+        }
+        if (lexer.isSymbol(';')) lexer.next();
+    }
+
+    /**
+     * Consumes a type: a qualified name with optional type arguments and array dimensions.
+     *
+     * @return End offset of the type in the source.
+     */
+    private int parseType() {
+        int end = lexer.end();
+        lexer.next();
+        while (lexer.isSymbol('.')) {
+            lexer.next();
+            end = lexer.end();
+            lexer.next();
+        }
+        if (lexer.isSymbol('<')) {
+            end = skipBalanced('<', '>');
+        }
+        while (lexer.isSymbol('[') || lexer.isSymbol(']')) {
+            end = lexer.end();
+            lexer.next();
+        }
+        return end;
+    }
+
+    /**
+     * Parses an annotation. The current token is the {@code @} symbol.
+     *
+     * @return Annotation, or null if the {@code @} starts an annotation type declaration.
+     */
+    private AnnotationUsage parseAnnotation() {
+        lexer.next();
+        if (lexer.isWord("interface")) return null;
+
+        String name = lexer.text();
+        lexer.next();
+        while (lexer.isSymbol('.')) {
+            lexer.next();
+            name = lexer.text();
+            lexer.next();
+        }
+        if (!lexer.isSymbol('(')) {
+            return new AnnotationUsage(name, Collections.emptyMap());
+        }
+
+        Map<String, String> parameters = new LinkedHashMap<>();
+        lexer.next();
+        while (lexer.type() != TokenType.EOF && !lexer.isSymbol(')')) {
+            String key = "value";
+            int valueStart = lexer.start();
+            int valueEnd = valueStart;
+            if (lexer.type() == TokenType.IDENTIFIER) {
+                int identifierEnd = lexer.end();
+                String identifier = lexer.text();
+                lexer.next();
+                if (lexer.isSymbol('=')) {
+                    key = identifier;
+                    lexer.next();
+                    valueStart = lexer.start();
+                    valueEnd = valueStart;
+                } else {
+                    valueEnd = identifierEnd;
+                }
+            }
+            valueEnd = skipAnnotationValue(valueEnd);
+            parameters.put(key, lexer.text(valueStart, valueEnd));
+            if (lexer.isSymbol(',')) lexer.next();
+        }
+        lexer.next();
+        return new AnnotationUsage(name, parameters);
+    }
+
+    /**
+     * Consumes an annotation element value up to the next top-level comma or closing parenthesis.
+     *
+     * @param valueEnd End offset of the value consumed so far.
+     * @return End offset of the value.
+     */
+    private int skipAnnotationValue(int valueEnd) {
+        int depth = 0;
+        while (lexer.type() != TokenType.EOF) {
+            if (depth == 0 && (lexer.isSymbol(',') || lexer.isSymbol(')'))) break;
+            if (lexer.isSymbol('(') || lexer.isSymbol('{') || lexer.isSymbol('[')) depth++;
+            if (lexer.isSymbol(')') || lexer.isSymbol('}') || lexer.isSymbol(']')) depth--;
+            valueEnd = lexer.end();
+            lexer.next();
+        }
+        return valueEnd;
+    }
+
+    /**
+     * Skips a method or constructor starting at its parameter list, including the body if present.
+     */
+    private void skipMethod() {
+        skipBalanced('(', ')');
+        while (lexer.type() != TokenType.EOF && !lexer.isSymbol('{') && !lexer.isSymbol(';')) {
+            if (lexer.isSymbol('(')) {
+                skipBalanced('(', ')');
+            } else {
+                lexer.next();
+            }
+        }
+        if (lexer.isSymbol('{')) {
+            skipBalanced('{', '}');
+        } else {
+            lexer.next();
+        }
+    }
+
+    /**
+     * Skips a field initializer up to the next top-level comma or semicolon.
+     */
+    private void skipExpression() {
+        int depth = 0;
+        while (lexer.type() != TokenType.EOF) {
+            if (depth == 0 && (lexer.isSymbol(',') || lexer.isSymbol(';'))) return;
+            if (lexer.isSymbol('(') || lexer.isSymbol('{') || lexer.isSymbol('[')) depth++;
+            if (lexer.isSymbol(')') || lexer.isSymbol('}') || lexer.isSymbol(']')) depth--;
+            lexer.next();
+        }
+    }
+
+    private void skipTypeDeclaration() {
+        skipTo('{');
+        skipBalanced('{', '}');
+    }
+
+    /**
+     * Skips a bracketed region. The current token is the opening symbol.
+     *
+     * @return End offset of the closing symbol.
+     */
+    private int skipBalanced(char open, char close) {
+        int depth = 0;
+        int end = lexer.end();
+        while (lexer.type() != TokenType.EOF) {
+            if (lexer.isSymbol(open)) depth++;
+            else if (lexer.isSymbol(close)) depth--;
+            end = lexer.end();
+            lexer.next();
+            if (depth == 0) break;
+        }
+        return end;
+    }
+
+    private void skipTo(char symbol) {
+        while (lexer.type() != TokenType.EOF && !lexer.isSymbol(symbol)) lexer.next();
+    }
+
+    private void skipPast(char symbol) {
+        skipTo(symbol);
+        lexer.next();
+    }
+
+    private String qualifiedName() {
+        int start = lexer.start();
+        int end = lexer.end();
+        lexer.next();
+        while (lexer.isSymbol('.')) {
+            lexer.next();
+            end = lexer.end();
+            lexer.next();
+        }
+        return lexer.text(start, end);
+    }
+
+    private boolean isTypeKeyword() {
+        return lexer.type() == TokenType.IDENTIFIER && TYPE_KEYWORDS.contains(lexer.text());
+    }
+
+    /**
+     * Removes whitespace from a type, keeping a single space only between two words (as in {@code ? extends T}).
+     */
+    private static String normalizeWhitespace(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && sb.length() > 0 && Character.isJavaIdentifierPart(sb.charAt(sb.length() - 1))
+                    && Character.isJavaIdentifierPart(c)) {
+                sb.append(' ');
+            }
+            pendingSpace = false;
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.exception.EntityGenerationException;
+import com.example.entity_generator.model.EntityMetadata;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.squareup.javapoet.JavaFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Stable content hash of entity metadata.
+ * Properties and map entries are serialized in sorted order, so equal metadata always hashes the same.
+ * The hash is salted with the version of the generator, so output recorded by an older generator is
+ * rendered again after an upgrade.
+ */
+final class MetadataFingerprint {
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+    // Classes whose code determines the rendered output
+    private static final List<Class<?>> RENDERERS = List.of(EntityGeneratorService.class, ResolvedEntity.class, ArtifactType.class);
+    private static final byte[] GENERATOR_VERSION = generatorVersion();
+
+    private MetadataFingerprint() {
+    }
+
+    /**
+     * Computes the SHA-256 fingerprint of the metadata.
+     *
+     * @param metadata Entity metadata.
+     * @return Hex-encoded hash.
+     * @throws EntityGenerationException If the metadata cannot be serialized.
+     */
+    static String of(EntityMetadata metadata) {
+        try {
+            MessageDigest digest = sha256Digest();
+            digest.update(GENERATOR_VERSION);
+            return HexFormat.of().formatHex(digest.digest(CANONICAL_MAPPER.writeValueAsBytes(metadata)));
+        } catch (JsonProcessingException e) {
+            throw new EntityGenerationException("Failed to fingerprint metadata: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Computes the SHA-256 hash of a byte array.
+     *
+     * @param bytes Content to hash.
+     * @return Hex-encoded hash.
+     */
+    static String sha256(byte[] bytes) {
+        return HexFormat.of().formatHex(sha256Digest().digest(bytes));
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Hashes the compiled rendering classes, including their nested classes, together with the JavaPoet version.
+     * Any change to the templates changes the class files, without a version number to maintain by hand.
+     *
+     * @return Digest identifying the generator build.
+     */
+    private static byte[] generatorVersion() {
+        MessageDigest digest = sha256Digest();
+        Deque<Class<?>> classes = new ArrayDeque<>(RENDERERS);
+        while (!classes.isEmpty()) {
+            Class<?> type = classes.poll();
+            classes.addAll(List.of(type.getDeclaredClasses()));
+            String resource = type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class";
+            try (InputStream in = type.getResourceAsStream(resource)) {
+                if (in != null) digest.update(in.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read generator class " + type.getName(), e);
+            }
+        }
+        digest.update(String.valueOf(JavaFile.class.getPackage().getImplementationVersion()).getBytes(StandardCharsets.UTF_8));
+        return digest.digest();
+    }
+}
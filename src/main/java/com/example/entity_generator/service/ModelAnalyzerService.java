@@ -2,162 +2,232 @@ package com.example.entity_generator.service;
 
 import com.example.entity_generator.exception.EntityGenerationException;
 import com.example.entity_generator.model.*;
+import com.example.entity_generator.service.JavaSourceModel.AnnotationUsage;
+import com.example.entity_generator.service.JavaSourceModel.FieldDeclaration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Service
 public class ModelAnalyzerService {
 
     private static final Logger logger = LoggerFactory.getLogger(ModelAnalyzerService.class);
 
+    private static final Set<String> RELATIONSHIP_ANNOTATIONS = Set.of("OneToOne", "OneToMany", "ManyToOne", "ManyToMany");
+    private static final Set<String> VALIDATION_ANNOTATIONS = Set.of("NotNull", "NotBlank", "Size", "Pattern", "Min", "Max",
+            "Email", "Positive", "Negative", "Digits");
+
+    private final GeneratorMetrics metrics;
+
+    public ModelAnalyzerService(GeneratorMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     public EntityMetadata analyzeModel(String javaCode) throws EntityGenerationException {
-        logger.info("Analyzing Java model code");
+        try {
+            return metrics.recordAnalysis(() -> analyze(javaCode));
+        } catch (RuntimeException e) {
+            metrics.failed(GeneratorMetrics.Stage.ANALYSIS);
+            throw e;
+        }
+    }
+
+    private EntityMetadata analyze(String javaCode) {
+        logger.debug("Analyzing Java model code");
+        JavaSourceModel model = JavaSourceParser.parse(javaCode);
+        if (model.getClassName() == null) {
+            throw new EntityGenerationException("Class name not found in Java code");
+        }
+
         EntityMetadata metadata = new EntityMetadata();
+        metadata.setPackageName(model.getPackageName());
+        metadata.setEntityName(model.getClassName());
+        logger.debug("Extracted package: {}, entity name: {}", model.getPackageName(), model.getClassName());
 
-        metadata.setPackageName(extractPackageName(javaCode));
-        metadata.setEntityName(extractClassName(javaCode));
-        metadata.setFields(extractFields(javaCode));
-        metadata.setRelationships(extractRelationships(javaCode));
+        List<Field> fields = new ArrayList<>();
+        List<Relationship> relationships = new ArrayList<>();
+        for (FieldDeclaration declaration : model.getFields()) {
+            if (declaration.isStatic()) continue;
+            AnnotationUsage relationship = findRelationship(declaration);
+            if (relationship != null) {
+                Relationship rel = toRelationship(declaration, relationship);
+                relationships.add(rel);
+                logger.debug("Extracted relationship: {}", rel);
+            } else {
+                Field field = toField(declaration);
+                fields.add(field);
+                logger.debug("Extracted field: {} of type {}, isPrimaryKey: {}",
+                        field.getName(), field.getType(), field.isPrimaryKey());
+            }
+        }
+        metadata.setFields(fields);
+        metadata.setRelationships(relationships);
 
-        logger.info("Model analysis completed for entity: {}", metadata.getEntityName());
+        logger.debug("Model analysis completed for entity: {}", metadata.getEntityName());
         return metadata;
     }
 
-    private String extractPackageName(String javaCode) {
-        Pattern packagePattern = Pattern.compile("package\\s+([\\w.]+);");
-        Matcher matcher = packagePattern.matcher(javaCode);
-        if (matcher.find()) {
-            String packageName = matcher.group(1);
-            logger.debug("Extracted package: {}", packageName);
-            return packageName;
+    private AnnotationUsage findRelationship(FieldDeclaration declaration) {
+        for (AnnotationUsage annotation : declaration.getAnnotations()) {
+            if (RELATIONSHIP_ANNOTATIONS.contains(annotation.getName())) return annotation;
         }
         return null;
     }
 
-    private String extractClassName(String javaCode) {
-        Pattern classPattern = Pattern.compile("public\\s+class\\s+(\\w+)");
-        Matcher matcher = classPattern.matcher(javaCode);
-        if (matcher.find()) {
-            String className = matcher.group(1);
-            logger.debug("Extracted entity name: {}", className);
-            return className;
+    private Field toField(FieldDeclaration declaration) {
+        Field field = new Field();
+        field.setType(declaration.getType());
+        field.setName(declaration.getName());
+        field.setPrimaryKey(declaration.getAnnotation("Id") != null);
+
+        AnnotationUsage column = declaration.getAnnotation("Column");
+        if (column != null) {
+            field.setColumnName(unquote(column.getParameter("name")));
+            field.setNullable(!"false".equals(column.getParameter("nullable")));
+            field.setUnique("true".equals(column.getParameter("unique")));
+            field.setLength(parseInteger(column.getParameter("length")));
+            field.setPrecision(parseInteger(column.getParameter("precision")));
+            field.setScale(parseInteger(column.getParameter("scale")));
         }
-        throw new EntityGenerationException("Class name not found in Java code");
-    }
 
-    private List<Relationship> extractRelationships(String javaCode) {
-        List<Relationship> relationships = new ArrayList<>();
-        Pattern relPattern = Pattern.compile("@(OneToOne|OneToMany|ManyToOne|ManyToMany)\\s*\\((.*?)\\)");
-        Matcher matcher = relPattern.matcher(javaCode);
-        while (matcher.find()) {
-            Relationship rel = new Relationship();
-            rel.setType(matcher.group(1));
-            String params = matcher.group(2);
-            rel.setMappedBy(extractMappedBy(params));
-            rel.setFetch(extractFetchType(params));
-            relationships.add(rel);
-            logger.debug("Extracted relationship: {}", rel);
+        List<ValidationRule> validations = new ArrayList<>();
+        for (AnnotationUsage annotation : declaration.getAnnotations()) {
+            // Only include known validation annotations
+            if (VALIDATION_ANNOTATIONS.contains(annotation.getName())) {
+                ValidationRule rule = new ValidationRule(annotation.getName(), parseParameters(annotation));
+                validations.add(rule);
+                logger.debug("Extracted validation for field {}: {}", declaration.getName(), rule);
+            }
         }
-        return relationships;
+        field.setValidations(validations);
+        return field;
     }
 
-    private String extractMappedBy(String params) {
-        Pattern mappedByPattern = Pattern.compile("mappedBy\\s*=\\s*\"(\\w+)\"");
-        Matcher matcher = mappedByPattern.matcher(params);
-        return matcher.find() ? matcher.group(1) : null;
+    private Relationship toRelationship(FieldDeclaration declaration, AnnotationUsage annotation) {
+        Relationship rel = new Relationship();
+        rel.setType(annotation.getName());
+        rel.setSourceField(declaration.getName());
+        rel.setTargetEntity(targetEntity(declaration.getType()));
+        rel.setMappedBy(unquote(annotation.getParameter("mappedBy")));
+        rel.setFetch(constantName(annotation.getParameter("fetch")));
+        rel.setOptional(!"false".equals(annotation.getParameter("optional")));
+
+        String cascade = annotation.getParameter("cascade");
+        if (cascade != null) {
+            List<String> cascadeTypes = new ArrayList<>();
+            for (String value : stripBraces(cascade).split(",")) {
+                if (!value.isBlank()) cascadeTypes.add(constantName(value.trim()));
+            }
+            rel.setCascade(cascadeTypes);
+        }
+
+        AnnotationUsage joinColumn = declaration.getAnnotation("JoinColumn");
+        if (joinColumn != null) rel.setJoinColumn(unquote(joinColumn.getParameter("name")));
+        AnnotationUsage joinTable = declaration.getAnnotation("JoinTable");
+        if (joinTable != null) rel.setJoinTable(unquote(joinTable.getParameter("name")));
+        return rel;
     }
 
-    private String extractFetchType(String params) {
-        Pattern fetchPattern = Pattern.compile("fetch\\s*=\\s*FetchType\\.(\\w+)");
-        Matcher matcher = fetchPattern.matcher(params);
-        return matcher.find() ? matcher.group(1) : null;
+    /**
+     * Returns the entity type of a relationship field: the element type for collections,
+     * otherwise the field type itself, without package.
+     */
+    private String targetEntity(String type) {
+        int open = type.indexOf('<');
+        if (open >= 0) {
+            int close = type.lastIndexOf('>');
+            String arguments = type.substring(open + 1, close < 0 ? type.length() : close);
+            // Map<K, V> targets the value type
+            type = arguments.substring(arguments.lastIndexOf(',') + 1);
+            if (type.startsWith("? extends ")) type = type.substring("? extends ".length());
+        }
+        if (type.endsWith("[]")) type = type.substring(0, type.indexOf('['));
+        return type.substring(type.lastIndexOf('.') + 1);
     }
 
-    private Map<String, Object> parseParameters(String params) {
+    private Map<String, Object> parseParameters(AnnotationUsage annotation) {
         Map<String, Object> parameters = new HashMap<>();
-        String[] paramArray = params.split(",");
-        for (String param : paramArray) {
-            String[] keyValue = param.trim().split("=");
-            if (keyValue.length == 2) {
-                String key = keyValue[0].trim();
-                String value = keyValue[1].trim().replace("\"", "");
-                try {
-                    if (value.matches("\\d+")) {
-                        parameters.put(key, Integer.parseInt(value));
-                    } else if (value.matches("\\d+\\.\\d+")) {
-                        parameters.put(key, Double.parseDouble(value));
-                    } else {
-                        parameters.put(key, value);
-                    }
-                } catch (Exception e) {
-                    parameters.put(key, value);
-                    logger.warn("Failed to parse parameter: {} = {}", key, value);
+        for (Map.Entry<String, String> entry : annotation.getParameters().entrySet()) {
+            String value = unquote(entry.getValue());
+            try {
+                if (isNumber(value, false)) {
+                    parameters.put(entry.getKey(), Integer.parseInt(value));
+                } else if (isNumber(value, true)) {
+                    parameters.put(entry.getKey(), Double.parseDouble(value));
+                } else {
+                    parameters.put(entry.getKey(), value);
                 }
+            } catch (NumberFormatException e) {
+                parameters.put(entry.getKey(), value);
+                logger.warn("Failed to parse parameter: {} = {}", entry.getKey(), value);
             }
         }
         return parameters;
     }
 
-    private List<Field> extractFields(String javaCode) {
-        List<Field> fields = new ArrayList<>();
-        // Match fields with optional annotations, type, and name
-        Pattern fieldPattern = Pattern.compile("(?:@\\w+\\s*(?:\\([^)]*\\))?\\s*)*" +
-                "(private|protected|public)?\\s*(\\w+)\\s+(\\w+);");
-        Matcher matcher = fieldPattern.matcher(javaCode);
-
-        while (matcher.find()) {
-            Field field = new Field();
-            field.setType(matcher.group(2));
-            field.setName(matcher.group(3));
-
-            // Check for @Id annotation to mark primary key
-            String fieldBlock = extractFieldBlock(javaCode, matcher.start());
-            if (fieldBlock.contains("@Id")) {
-                field.setPrimaryKey(true);
+    private static boolean isNumber(String value, boolean decimal) {
+        int start = value.startsWith("-") ? 1 : 0;
+        if (value.length() == start) return false;
+        boolean dotSeen = false;
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '.' && decimal && !dotSeen && i > start && i < value.length() - 1) {
+                dotSeen = true;
+            } else if (!Character.isDigit(c)) {
+                return false;
             }
-
-            // Extract validations
-            field.setValidations(extractValidations(fieldBlock, field.getName()));
-            fields.add(field);
-            logger.debug("Extracted field: {} of type {}, isPrimaryKey: {}",
-                    field.getName(), field.getType(), field.isPrimaryKey());
         }
-        return fields;
+        return dotSeen == decimal;
     }
 
-    private String extractFieldBlock(String javaCode, int startIndex) {
-        // Extract the block of code before the field declaration
-        int endIndex = javaCode.indexOf(";", startIndex) + 1;
-        int blockStart = javaCode.lastIndexOf("\n", startIndex);
-        if (blockStart == -1) blockStart = 0;
-        return javaCode.substring(blockStart, endIndex);
+    private static Integer parseInteger(String value) {
+        if (value == null || !isNumber(value, false)) return null;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
-    private List<ValidationRule> extractValidations(String fieldBlock, String fieldName) {
-        List<ValidationRule> validations = new ArrayList<>();
-        Pattern validationPattern = Pattern.compile("@(\\w+)\\s*(?:\\((.*?)\\))?");
-        Matcher matcher = validationPattern.matcher(fieldBlock);
-
-        while (matcher.find()) {
-            String annotation = matcher.group(1);
-            String params = matcher.group(2);
-            // Only include known validation annotations
-            if (isValidationAnnotation(annotation)) {
-                ValidationRule rule = new ValidationRule(annotation, parseParameters(params != null ? params : ""));
-                validations.add(rule);
-                logger.debug("Extracted validation for field {}: {}", fieldName, rule);
+    /**
+     * Returns the content of a string literal with escapes resolved, or the raw value if it is not a string literal.
+     */
+    private static String unquote(String value) {
+        if (value == null || value.length() < 2 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            return value;
+        }
+        String content = value.substring(1, value.length() - 1);
+        if (content.indexOf('\\') < 0) return content;
+
+        StringBuilder sb = new StringBuilder(content.length());
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == '\\' && i + 1 < content.length()) {
+                char escaped = content.charAt(++i);
+                sb.append(switch (escaped) {
+                    case 'n' -> '\n';
+                    case 't' -> '\t';
+                    case 'r' -> '\r';
+                    default -> escaped;
+                });
+            } else {
+                sb.append(c);
             }
         }
-        return validations;
+        return sb.toString();
+    }
+
+    private static String constantName(String value) {
+        return value == null ? null : value.substring(value.lastIndexOf('.') + 1).trim();
     }
 
-    private boolean isValidationAnnotation(String annotation) {
-        return Set.of("NotNull", "NotBlank", "Size", "Pattern", "Min", "Max", "Email",
-                "Positive", "Negative", "Digits").contains(annotation);
+    private static String stripBraces(String value) {
+        String trimmed = value.trim();
+        if (trimmed.startsWith("{") && trimmed.endsWith("}")) {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,225 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.exception.EntityGenerationException;
+import com.example.entity_generator.model.*;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Analyzes every model class in a ZIP, TAR or TAR.GZ archive and generates the entities in one batch.
+ * Entries are read sequentially from the stream and analyzed in parallel; at most the configured number
+ * of sources is held in memory at a time, so archives with thousands of files are never extracted.
+ */
+@Service
+public class ModelArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModelArchiveService.class);
+    private static final int SIGNATURE_LENGTH = 512;
+
+    private final ModelAnalyzerService analyzerService;
+    private final EntityGeneratorService generatorService;
+    private final ExecutorService analysisExecutor;
+    private final int maxConcurrency;
+    private final int maxEntrySize;
+
+    public ModelArchiveService(ModelAnalyzerService analyzerService,
+                               EntityGeneratorService generatorService,
+                               @Qualifier("generationExecutor") ExecutorService analysisExecutor,
+                               @Value("${generator.archive.max-concurrency:0}") int maxConcurrency,
+                               @Value("${generator.archive.max-entry-size:1000000}") int maxEntrySize) {
+        this.analyzerService = analyzerService;
+        this.generatorService = generatorService;
+        this.analysisExecutor = analysisExecutor;
+        this.maxConcurrency = maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    /**
+     * Analyzes all {@code .java} entries of an archive, resolves relationships between them and generates the entities.
+     *
+     * @param archive Archive stream (ZIP, TAR or gzip-compressed TAR).
+     * @param mode How existing files are treated.
+     * @return Batch result in archive order; files that cannot be analyzed are reported as error results.
+     * @throws IOException If the archive cannot be read.
+     * @throws EntityGenerationException If the archive format is not supported.
+     */
+    public BatchGenerationResult generateFromArchive(InputStream archive, WriteMode mode) throws IOException {
+        List<AnalyzedSource> sources = analyzeArchive(archive);
+        resolveRelationships(sources);
+
+        List<EntityMetadata> metadataList = new ArrayList<>();
+        for (AnalyzedSource source : sources) {
+            if (source.metadata != null) metadataList.add(source.metadata);
+        }
+        List<GenerationResult> generated = metadataList.isEmpty()
+                ? Collections.emptyList()
+                : generatorService.generateBatch(metadataList, mode).getResults();
+
+        List<GenerationResult> results = new ArrayList<>(sources.size());
+        int successCount = 0, errorCount = 0, next = 0;
+        for (AnalyzedSource source : sources) {
+            GenerationResult result = source.metadata != null
+                    ? generated.get(next++)
+                    : GenerationResult.error(source.path + ": " + source.error);
+            if (result.isSuccess() && !source.warnings.isEmpty()) {
+                result.setWarnings(source.warnings);
+            }
+            results.add(result);
+            if (result.isSuccess()) successCount++;
+            else errorCount++;
+        }
+
+        BatchGenerationResult result = new BatchGenerationResult();
+        result.setTotalProcessed(results.size());
+        result.setSuccessCount(successCount);
+        result.setErrorCount(errorCount);
+        result.setResults(results);
+        logger.info("Archive generation completed: files={}, success={}, errors={}", results.size(), successCount, errorCount);
+        return result;
+    }
+
+    /**
+     * Streams the archive entries through the model analyzer.
+     *
+     * @param archive Archive stream.
+     * @return Analysis outcome of every Java source, in archive order.
+     * @throws IOException If the archive cannot be read.
+     */
+    List<AnalyzedSource> analyzeArchive(InputStream archive) throws IOException {
+        List<AnalyzedSource> sources = new ArrayList<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        Semaphore permits = new Semaphore(maxConcurrency);
+
+        try (ArchiveInputStream<? extends ArchiveEntry> entries = openArchive(archive)) {
+            ArchiveEntry entry;
+            while ((entry = entries.getNextEntry()) != null) {
+                if (entry.isDirectory() || !isModelSource(entry.getName())) continue;
+
+                AnalyzedSource source = new AnalyzedSource(entry.getName());
+                sources.add(source);
+                if (!entries.canReadEntryData(entry)) {
+                    source.error = "Entry cannot be read (encrypted or unsupported compression)";
+                    continue;
+                }
+                byte[] content = entries.readNBytes(maxEntrySize + 1);
+                if (entry.getSize() > maxEntrySize || content.length > maxEntrySize) {
+                    source.error = "File size exceeds " + maxEntrySize + " bytes";
+                    continue;
+                }
+
+                permits.acquireUninterruptibly();
+                futures.add(CompletableFuture.runAsync(() -> analyze(source, content), analysisExecutor)
+                        .whenComplete((ignored, error) -> permits.release()));
+            }
+        } finally {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).join();
+        }
+        logger.info("Analyzed {} model sources from archive", sources.size());
+        return sources;
+    }
+
+    private void analyze(AnalyzedSource source, byte[] content) {
+        try {
+            source.metadata = analyzerService.analyzeModel(new String(content, StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            logger.warn("Analysis failed for {}: {}", source.path, e.getMessage());
+            source.error = e.getMessage();
+        }
+    }
+
+    /**
+     * Points relationship targets at the generated entity names of the other sources. Relationships to
+     * classes that are not part of the archive are dropped with a warning, since the generated code would
+     * not compile; sources declaring an entity name that is already taken are reported as errors.
+     *
+     * @param sources Analyzed sources.
+     */
+    void resolveRelationships(List<AnalyzedSource> sources) {
+        Map<String, String> entityNames = new HashMap<>();
+        Map<String, String> declaredIn = new HashMap<>();
+        for (AnalyzedSource source : sources) {
+            if (source.metadata == null) continue;
+            String className = source.metadata.getEntityName();
+            String generatedName = EntityGeneratorService.toSingular(className);
+            String previous = declaredIn.putIfAbsent(generatedName, source.path);
+            if (previous != null) {
+                source.error = "Entity " + generatedName + " is already declared in " + previous;
+                source.metadata = null;
+                continue;
+            }
+            entityNames.put(className, generatedName);
+        }
+
+        for (AnalyzedSource source : sources) {
+            if (source.metadata == null || source.metadata.getRelationships() == null) continue;
+            source.metadata.getRelationships().removeIf(rel -> {
+                String target = entityNames.get(rel.getTargetEntity());
+                if (target == null) {
+                    source.warnings.add("Relationship " + rel.getSourceField() + " dropped: entity "
+                            + rel.getTargetEntity() + " is not part of the archive");
+                    return true;
+                }
+                rel.setTargetEntity(target);
+                return false;
+            });
+        }
+    }
+
+    private ArchiveInputStream<? extends ArchiveEntry> openArchive(InputStream in) throws IOException {
+        InputStream buffered = new BufferedInputStream(in);
+        byte[] signature = peek(buffered);
+        if (signature.length >= 2 && (signature[0] & 0xff) == 0x1f && (signature[1] & 0xff) == 0x8b) {
+            buffered = new BufferedInputStream(new GZIPInputStream(buffered));
+            signature = peek(buffered);
+        }
+        if (ZipArchiveInputStream.matches(signature, signature.length)) {
+            return new ZipArchiveInputStream(buffered);
+        }
+        if (TarArchiveInputStream.matches(signature, signature.length)) {
+            return new TarArchiveInputStream(buffered);
+        }
+        throw new EntityGenerationException("Unsupported archive format; expected ZIP, TAR or TAR.GZ");
+    }
+
+    private static byte[] peek(InputStream in) throws IOException {
+        in.mark(SIGNATURE_LENGTH);
+        byte[] signature = in.readNBytes(SIGNATURE_LENGTH);
+        in.reset();
+        return signature;
+    }
+
+    private static boolean isModelSource(String name) {
+        return name.endsWith(".java") && !name.endsWith("package-info.java") && !name.endsWith("module-info.java");
+    }
+
+    /**
+     * Analysis outcome of a single archive entry.
+     */
+    static final class AnalyzedSource {
+        final String path;
+        final List<String> warnings = new ArrayList<>();
+        volatile EntityMetadata metadata;
+        volatile String error;
+
+        AnalyzedSource(String path) {
+            this.path = path;
+        }
+    }
+}
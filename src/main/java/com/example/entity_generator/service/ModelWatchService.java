@@ -0,0 +1,331 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.exception.EntityGenerationException;
+import com.example.entity_generator.model.BatchGenerationResult;
+import com.example.entity_generator.model.EntityMetadata;
+import com.example.entity_generator.model.Relationship;
+import com.example.entity_generator.model.WriteMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Development mode that watches a directory of model sources ({@code .java}) and metadata files
+ * ({@code .json}, one entity each) and regenerates entities as they are saved. Bursts of file events
+ * are debounced into one batch; only the changed files are re-analyzed, and the changed entities are
+ * regenerated together with the entities whose relationships point at them. Generation runs in
+ * incremental mode, so dependents whose resolved metadata did not change are not rendered again.
+ * Removing a file, or renaming the class it declares, deletes the generated files of its previous entity.
+ */
+@Service
+@ConditionalOnProperty(name = "generator.watch.enabled", havingValue = "true")
+public class ModelWatchService implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModelWatchService.class);
+
+    private final ModelAnalyzerService analyzerService;
+    private final EntityGeneratorService generatorService;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final long debounceMillis;
+    // Only touched by the watcher thread
+    private final Map<Path, WatchedSource> sources = new HashMap<>();
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+    private volatile WatchService watchService;
+    private volatile Thread watcher;
+
+    public ModelWatchService(ModelAnalyzerService analyzerService,
+                             EntityGeneratorService generatorService,
+                             ObjectMapper objectMapper,
+                             @Value("${generator.watch.directory:models}") String directory,
+                             @Value("${generator.watch.debounce-ms:150}") long debounceMillis) {
+        this.analyzerService = analyzerService;
+        this.generatorService = generatorService;
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * Registers the watched directory tree and starts the watcher thread, which first generates
+     * every model found in the directory.
+     *
+     * @throws EntityGenerationException If the directory cannot be watched.
+     */
+    @Override
+    public synchronized void start() {
+        if (watcher != null) return;
+        try {
+            Files.createDirectories(directory);
+            watchService = directory.getFileSystem().newWatchService();
+            registerTree(directory);
+        } catch (IOException e) {
+            throw new EntityGenerationException("Cannot watch model directory " + directory + ": " + e.getMessage(), e);
+        }
+        watcher = new Thread(this::watch, "model-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        logger.info("Watching {} for model changes", directory);
+    }
+
+    @Override
+    public synchronized void stop() {
+        Thread thread = watcher;
+        if (thread == null) return;
+        watcher = null;
+        try {
+            watchService.close();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (IOException e) {
+            logger.warn("Failed to close model watcher: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return watcher != null;
+    }
+
+    private void watch() {
+        try {
+            processSafely(rescan());
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                boolean overflow = collect(watchService.take(), changed);
+                // Wait until no event arrived for the debounce period, so a save touching several files is one batch
+                for (WatchKey key; (key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null; ) {
+                    overflow |= collect(key, changed);
+                }
+                processSafely(overflow ? rescan() : changed);
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            logger.info("Stopped watching {}", directory);
+        }
+    }
+
+    private void processSafely(Collection<Path> changed) {
+        try {
+            process(changed);
+        } catch (RuntimeException e) {
+            logger.error("Regeneration after model change failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lists every model file that is known or currently in the directory, so that a rescan also
+     * notices deleted files.
+     *
+     * @return Model files to process.
+     */
+    private Set<Path> rescan() {
+        Set<Path> files = new LinkedHashSet<>(sources.keySet());
+        files.addAll(modelFiles(directory));
+        return files;
+    }
+
+    /**
+     * Drains the events of a watch key.
+     *
+     * @param key Signalled key.
+     * @param changed Receives the changed model files.
+     * @return True if events were lost and the directory has to be rescanned.
+     */
+    private boolean collect(WatchKey key, Set<Path> changed) {
+        Path parent = watchedDirectories.get(key);
+        boolean overflow = parent == null;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || parent == null) {
+                overflow = true;
+                continue;
+            }
+            Path path = parent.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    registerTree(path);
+                    changed.addAll(modelFiles(path));
+                } catch (IOException e) {
+                    logger.warn("Cannot watch new directory {}: {}", path, e.getMessage());
+                }
+            } else if (isModelFile(path)) {
+                changed.add(path);
+            }
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+        return overflow;
+    }
+
+    /**
+     * Re-analyzes changed files and regenerates the affected entities.
+     *
+     * @param changed Changed, created or deleted model files.
+     */
+    void process(Collection<Path> changed) {
+        if (changed.isEmpty()) return;
+        long start = System.nanoTime();
+        Set<String> changedNames = new HashSet<>();
+        Set<Path> affected = new LinkedHashSet<>();
+        List<String> removed = new ArrayList<>();
+
+        for (Path path : changed) {
+            WatchedSource previous = sources.remove(path);
+            if (previous != null) changedNames.addAll(previous.names());
+            if (!Files.isRegularFile(path)) {
+                if (previous != null) removed.add(previous.entityName);
+                continue;
+            }
+            try {
+                WatchedSource source = analyze(path);
+                sources.put(path, source);
+                // The file now declares another entity, so the output of the one it declared before goes away
+                if (previous != null && !previous.entityName.equals(source.entityName)) removed.add(previous.entityName);
+                changedNames.addAll(source.names());
+                affected.add(path);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Skipping {}: {}", path, e.getMessage());
+                if (previous != null) sources.put(path, previous);
+            }
+        }
+
+        Map<String, String> entityNames = new HashMap<>();
+        for (WatchedSource source : sources.values()) {
+            entityNames.put(source.className, source.entityName);
+            entityNames.put(source.entityName, source.entityName);
+        }
+        sources.forEach((path, source) -> {
+            if (!Collections.disjoint(source.targets, changedNames)) affected.add(path);
+        });
+
+        for (String entityName : removed) {
+            if (entityNames.containsKey(entityName)) continue;
+            try {
+                generatorService.deleteGenerated(entityName);
+            } catch (IOException e) {
+                logger.warn("Failed to delete generated files of {}: {}", entityName, e.getMessage());
+            }
+        }
+
+        List<EntityMetadata> batch = new ArrayList<>(affected.size());
+        for (Path path : affected) {
+            batch.add(resolve(sources.get(path), entityNames));
+        }
+        BatchGenerationResult result = batch.isEmpty()
+                ? new BatchGenerationResult()
+                : generatorService.generateBatch(batch, WriteMode.INCREMENTAL);
+        logger.atInfo()
+                .setMessage("Regenerated models after change")
+                .addKeyValue("files", changed.size())
+                .addKeyValue("entities", batch.size())
+                .addKeyValue("removed", removed.size())
+                .addKeyValue("errors", result.getErrorCount())
+                .addKeyValue("durationMs", () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .log();
+    }
+
+    private WatchedSource analyze(Path path) throws IOException {
+        String content = Files.readString(path, StandardCharsets.UTF_8);
+        boolean javaSource = path.getFileName().toString().endsWith(".java");
+        EntityMetadata metadata = javaSource
+                ? analyzerService.analyzeModel(content)
+                : objectMapper.readValue(content, EntityMetadata.class);
+        if (metadata.getEntityName() == null || metadata.getEntityName().isBlank()) {
+            throw new EntityGenerationException("Entity name is required");
+        }
+        return new WatchedSource(metadata, javaSource);
+    }
+
+    /**
+     * Copies the metadata of a source and points its relationship targets at the generated entity names.
+     * Relationships of model sources to classes outside the directory are dropped, as the generated code
+     * would not compile; metadata files keep their targets as written.
+     *
+     * @param source Watched source.
+     * @param entityNames Generated entity names by class and entity name.
+     * @return Metadata to generate.
+     */
+    private EntityMetadata resolve(WatchedSource source, Map<String, String> entityNames) {
+        EntityMetadata metadata = objectMapper.convertValue(source.metadata, EntityMetadata.class);
+        if (metadata.getRelationships() != null) {
+            metadata.getRelationships().removeIf(rel -> {
+                String target = entityNames.get(rel.getTargetEntity());
+                if (target != null) {
+                    rel.setTargetEntity(target);
+                    return false;
+                }
+                if (source.javaSource) {
+                    logger.warn("Relationship {} of {} dropped: entity {} is not in the watched directory",
+                            rel.getSourceField(), source.className, rel.getTargetEntity());
+                }
+                return source.javaSource;
+            });
+        }
+        return metadata;
+    }
+
+    private void registerTree(Path root) throws IOException {
+        try (Stream<Path> directories = Files.walk(root)) {
+            for (Path dir : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator) {
+                watchedDirectories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+            }
+        }
+    }
+
+    private static List<Path> modelFiles(Path root) {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(ModelWatchService::isModelFile).filter(Files::isRegularFile).toList();
+        } catch (IOException e) {
+            logger.warn("Cannot scan {}: {}", root, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static boolean isModelFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(".json")
+                || name.endsWith(".java") && !name.equals("package-info.java") && !name.equals("module-info.java");
+    }
+
+    /**
+     * Last successfully analyzed state of a watched file.
+     */
+    private static final class WatchedSource {
+        final EntityMetadata metadata;
+        final boolean javaSource;
+        final String className;
+        final String entityName;
+        final Set<String> targets = new HashSet<>();
+
+        WatchedSource(EntityMetadata metadata, boolean javaSource) {
+            this.metadata = metadata;
+            this.javaSource = javaSource;
+            this.className = metadata.getEntityName();
+            this.entityName = EntityGeneratorService.toSingular(className);
+            if (metadata.getRelationships() != null) {
+                for (Relationship rel : metadata.getRelationships()) {
+                    targets.add(rel.getTargetEntity());
+                }
+            }
+        }
+
+        List<String> names() {
+            return List.of(className, entityName);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.model.WriteMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the generated files of a request or batch and writes them in one step.
+ * Files are first written to a staging directory inside the staging root and then moved
+ * into place atomically, so readers never observe a partially written file and a failure
+ * while staging leaves the output tree untouched. Targets may lie outside the staging root,
+ * for example in the resources root. Per-file debug lines are sampled, since a large batch touches
+ * thousands of files; outcomes are reported in the generation result instead.
+ */
+final class OutputStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutputStage.class);
+
+    private final Path root;
+    // Log every n-th per-file debug line; 0 logs none
+    private final int fileLogSampleRate;
+    private final Map<Path, byte[]> files = new LinkedHashMap<>();
+    private final Map<String, GenerationManifest.Entry> entities = new HashMap<>();
+    private final AtomicLong fileEvents = new AtomicLong();
+    private long bytesWritten;
+
+    OutputStage(Path root, int fileLogSampleRate) {
+        this.root = root;
+        this.fileLogSampleRate = fileLogSampleRate;
+    }
+
+    /**
+     * Stages a file if the write mode requires it to be written.
+     *
+     * @param target Path of the file.
+     * @param content File content.
+     * @param mode How an existing file is treated.
+     * @return Whether the file will be written, is unchanged or is skipped.
+     * @throws IOException If the existing file cannot be read.
+     */
+    WriteStatus add(Path target, byte[] content, WriteMode mode) throws IOException {
+        if (Files.exists(target)) {
+            if (mode == WriteMode.SKIP_EXISTING) {
+                if (sampleFileLog()) logger.debug("File {} already exists and overwrite is disabled, skipping", target);
+                return WriteStatus.SKIPPED;
+            }
+            if (mode == WriteMode.OVERWRITE_IF_CHANGED && hasSameContent(target, content)) {
+                if (sampleFileLog()) logger.debug("File {} is unchanged, keeping existing file", target);
+                return WriteStatus.UNCHANGED;
+            }
+        }
+        synchronized (files) {
+            files.put(target, content);
+        }
+        return WriteStatus.WRITTEN;
+    }
+
+    /**
+     * Records the manifest entry of an entity whose files were staged, to be persisted after the commit.
+     *
+     * @param entityName Generated entity name.
+     * @param entry Manifest entry.
+     */
+    void record(String entityName, GenerationManifest.Entry entry) {
+        synchronized (entities) {
+            entities.put(entityName, entry);
+        }
+    }
+
+    /**
+     * Returns the manifest entries recorded for this stage.
+     *
+     * @return Entries by generated entity name.
+     */
+    Map<String, GenerationManifest.Entry> getManifestEntries() {
+        synchronized (entities) {
+            return new HashMap<>(entities);
+        }
+    }
+
+    /**
+     * Writes all staged files and moves them into place.
+     *
+     * @return Number of files written.
+     * @throws IOException If staging or moving fails.
+     */
+    int commit() throws IOException {
+        List<Map.Entry<Path, byte[]>> pending;
+        synchronized (files) {
+            pending = new ArrayList<>(files.entrySet());
+            files.clear();
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        Files.createDirectories(root);
+        Path staging = Files.createTempDirectory(root, ".staging-");
+        try {
+            // Flat staging names avoid creating a directory tree per file
+            List<Path> staged = new ArrayList<>(pending.size());
+            long bytes = 0;
+            for (int i = 0; i < pending.size(); i++) {
+                Path file = staging.resolve(Integer.toString(i));
+                Files.write(file, pending.get(i).getValue());
+                staged.add(file);
+                bytes += pending.get(i).getValue().length;
+            }
+
+            Set<Path> directories = new HashSet<>();
+            for (Map.Entry<Path, byte[]> entry : pending) {
+                directories.add(entry.getKey().getParent());
+            }
+            for (Path directory : directories) {
+                Files.createDirectories(directory);
+            }
+
+            for (int i = 0; i < pending.size(); i++) {
+                move(staged.get(i), pending.get(i).getKey());
+            }
+            bytesWritten += bytes;
+            logger.debug("Committed {} generated files to {}", pending.size(), root);
+            return pending.size();
+        } finally {
+            deleteStaging(staging);
+        }
+    }
+
+    /**
+     * Returns the number of bytes written by all commits of this stage.
+     *
+     * @return Bytes written.
+     */
+    long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (sampleFileLog()) logger.debug("Moved generated file into place: {}", target);
+    }
+
+    private boolean sampleFileLog() {
+        return fileLogSampleRate > 0 && logger.isDebugEnabled() && fileEvents.getAndIncrement() % fileLogSampleRate == 0;
+    }
+
+    private void deleteStaging(Path staging) {
+        try (var leftovers = Files.list(staging)) {
+            for (Path file : (Iterable<Path>) leftovers::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(staging);
+        } catch (IOException e) {
+            logger.warn("Failed to clean up staging directory {}: {}", staging, e.getMessage());
+        }
+    }
+
+    /**
+     * Compares a file on disk with new content. The size is checked first so that
+     * changed files of a different length are never read.
+     *
+     * @param path Existing file.
+     * @param bytes New content.
+     * @return True if the file holds exactly the given bytes.
+     * @throws IOException If the file cannot be read.
+     */
+    private static boolean hasSameContent(Path path, byte[] bytes) throws IOException {
+        return Files.size(path) == bytes.length && Arrays.equals(Files.readAllBytes(path), bytes);
+    }
+
+    /**
+     * Outcome of staging a single generated file.
+     */
+    enum WriteStatus {
+        WRITTEN, UNCHANGED, SKIPPED
+    }
+}
@@ -0,0 +1,362 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.exception.EntityGenerationException;
+import com.example.entity_generator.model.CacheStrategy;
+import com.example.entity_generator.model.EntityMetadata;
+import com.example.entity_generator.model.Field;
+import com.example.entity_generator.model.GenerationTarget;
+import com.example.entity_generator.model.IndexDefinition;
+import com.example.entity_generator.model.Relationship;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable, normalized view of {@link EntityMetadata} shared by all artifact generators.
+ * Names, types and accessors are resolved once per entity instead of once per artifact.
+ */
+final class ResolvedEntity {
+
+    private final EntityMetadata metadata;
+    private final String entityName;
+    private final ClassName entityClass;
+    private final ClassName dtoClass;
+    private final ClassName repositoryClass;
+    private final ClassName serviceClass;
+    private final boolean hasPrimaryKey;
+    private final List<ResolvedField> fields;
+    private final List<ResolvedField> dtoFields;
+    private final List<ResolvedRelationship> relationships;
+    private final String idName;
+    private final String keysetName;
+    private final TypeName keysetType;
+    private final List<ResolvedIndex> indexes;
+
+    private ResolvedEntity(EntityMetadata metadata, String basePackage) {
+        this.metadata = metadata;
+        this.entityName = EntityGeneratorService.toSingular(metadata.getEntityName());
+        List<String> unsupported = unsupportedFeatures(metadata);
+        if (!unsupported.isEmpty()) {
+            throw new EntityGenerationException("Target " + metadata.getTarget() + " of entity " + entityName
+                    + " does not support: " + String.join(", ", unsupported));
+        }
+        this.entityClass = ClassName.get(basePackage + ".entity", entityName);
+        this.dtoClass = ClassName.get(basePackage + ".dto", entityName + "DTO");
+        this.repositoryClass = ClassName.get(basePackage + ".repository", entityName + "Repository");
+        this.serviceClass = ClassName.get(basePackage + ".service", entityName + "Service");
+
+        List<ResolvedField> resolvedFields = new ArrayList<>();
+        List<ResolvedField> resolvedDtoFields = new ArrayList<>();
+        boolean primaryKeyFound = false;
+        if (metadata.getFields() != null) {
+            for (Field field : metadata.getFields()) {
+                ResolvedField resolved = new ResolvedField(field);
+                resolvedFields.add(resolved);
+                if (resolved.isPrimaryKey()) {
+                    primaryKeyFound = true;
+                } else {
+                    resolvedDtoFields.add(resolved);
+                }
+            }
+        }
+        this.hasPrimaryKey = primaryKeyFound;
+        this.fields = Collections.unmodifiableList(resolvedFields);
+        this.dtoFields = Collections.unmodifiableList(resolvedDtoFields);
+
+        List<ResolvedRelationship> resolvedRelationships = new ArrayList<>();
+        if (metadata.getRelationships() != null) {
+            for (Relationship rel : metadata.getRelationships()) {
+                resolvedRelationships.add(new ResolvedRelationship(rel, entityName));
+            }
+        }
+        this.relationships = Collections.unmodifiableList(resolvedRelationships);
+
+        String primaryKey = "id";
+        for (ResolvedField field : resolvedFields) {
+            if (field.isPrimaryKey()) {
+                primaryKey = field.getName();
+                break;
+            }
+        }
+        this.idName = primaryKey;
+
+        String keyset = isBlank(metadata.getKeysetField()) ? null : metadata.getKeysetField().trim();
+        if (keyset == null || keyset.equals(idName)) {
+            this.keysetName = null;
+            this.keysetType = null;
+        } else if (keyset.equals("createdAt") || keyset.equals("updatedAt")) {
+            this.keysetName = keyset;
+            this.keysetType = ClassName.get(LocalDateTime.class);
+        } else {
+            ResolvedField field = resolvedFields.stream()
+                    .filter(candidate -> candidate.getName().equals(keyset))
+                    .findFirst()
+                    .orElseThrow(() -> new EntityGenerationException("Keyset field not found in entity " + entityName + ": " + keyset));
+            // Rows with a NULL key never match the seek predicate and would be missing from every page
+            if (field.getSource().isNullable()) {
+                throw new EntityGenerationException("Keyset field must not be nullable in entity " + entityName + ": " + keyset);
+            }
+            this.keysetName = field.getName();
+            this.keysetType = field.getType();
+        }
+
+        List<ResolvedIndex> resolvedIndexes = new ArrayList<>();
+        for (ResolvedField field : resolvedFields) {
+            if (field.getSource().isIndexed() && !field.isPrimaryKey()) {
+                resolvedIndexes.add(resolveIndex(null, List.of(field.getName()), false, null, null));
+            }
+        }
+        if (metadata.getIndexes() != null) {
+            for (IndexDefinition index : metadata.getIndexes()) {
+                resolvedIndexes.add(resolveIndex(index.getName(), index.getFields(), index.isUnique(), index.getWhere(), index.getInclude()));
+            }
+        }
+        this.indexes = Collections.unmodifiableList(resolvedIndexes);
+    }
+
+    private ResolvedIndex resolveIndex(String name, List<String> fieldNames, boolean unique, String where, List<String> include) {
+        if (fieldNames == null || fieldNames.isEmpty()) {
+            throw new EntityGenerationException("Index of entity " + entityName + " has no fields");
+        }
+        if (!isBlank(where) && where.contains(";")) {
+            throw new EntityGenerationException("Partial index predicate of entity " + entityName + " must be a single expression");
+        }
+        List<String> columns = fieldNames.stream().map(this::columnOf).toList();
+        List<String> includeColumns = include == null ? List.of() : include.stream().map(this::columnOf).toList();
+        String indexName = isBlank(name)
+                ? (unique ? "ux_" : "idx_") + getTableName() + "_" + String.join("_", columns)
+                : name.trim();
+        String leadingField = fieldNames.get(0).trim();
+        boolean uniqueLookup = columns.size() == 1 && (unique || fields.stream()
+                .anyMatch(field -> field.getName().equals(leadingField) && field.getSource().isUnique()));
+        return new ResolvedIndex(indexName, columns, includeColumns, unique, isBlank(where) ? null : where.trim(),
+                leadingField, typeOf(leadingField), uniqueLookup);
+    }
+
+    private String columnOf(String fieldName) {
+        String name = fieldName == null ? "" : fieldName.trim();
+        if (name.equals("createdAt")) return "created_at";
+        if (name.equals("updatedAt")) return "updated_at";
+        if (!hasPrimaryKey && name.equals("id")) return "id";
+        return findField(name).getColumnName();
+    }
+
+    private TypeName typeOf(String fieldName) {
+        if (fieldName.equals("createdAt") || fieldName.equals("updatedAt")) return ClassName.get(LocalDateTime.class);
+        if (!hasPrimaryKey && fieldName.equals("id")) return ClassName.get(Long.class);
+        return findField(fieldName).getType();
+    }
+
+    private ResolvedField findField(String name) {
+        return fields.stream()
+                .filter(candidate -> candidate.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new EntityGenerationException("Index field not found in entity " + entityName + ": " + name));
+    }
+
+    /**
+     * Lists the enabled options that the generation target of an entity cannot express. R2DBC has no
+     * associations, persistence context, second-level cache or constructor expressions, so the reactive
+     * target supports plain CRUD, indexes and streaming export only.
+     *
+     * @param metadata Entity metadata.
+     * @return Names of the unsupported options; empty if all options can be generated.
+     */
+    static List<String> unsupportedFeatures(EntityMetadata metadata) {
+        List<String> unsupported = new ArrayList<>();
+        if (metadata.getTarget() != GenerationTarget.REACTIVE) return unsupported;
+        if (metadata.getRelationships() != null && !metadata.getRelationships().isEmpty()) unsupported.add("relationships");
+        if (metadata.getCacheStrategy() != null && metadata.getCacheStrategy() != CacheStrategy.NONE) unsupported.add("cacheStrategy");
+        if (metadata.isEnableKeysetPagination()) unsupported.add("enableKeysetPagination");
+        if (metadata.isEnableBulkOperations()) unsupported.add("enableBulkOperations");
+        if (metadata.isEnableProjections()) unsupported.add("enableProjections");
+        if (metadata.isEnableOptimisticLocking()) unsupported.add("enableOptimisticLocking");
+        if (metadata.isEnablePartialUpdates()) unsupported.add("enablePartialUpdates");
+        return unsupported;
+    }
+
+    /**
+     * Resolves entity metadata into the generator model.
+     *
+     * @param metadata Entity metadata.
+     * @param basePackage Base package of the generated classes.
+     * @return Resolved entity.
+     * @throws EntityGenerationException If a field or relationship is incomplete.
+     */
+    static ResolvedEntity resolve(EntityMetadata metadata, String basePackage) {
+        return new ResolvedEntity(metadata, basePackage);
+    }
+
+    EntityMetadata getMetadata() { return metadata; }
+    String getEntityName() { return entityName; }
+    ClassName getEntityClass() { return entityClass; }
+    ClassName getDtoClass() { return dtoClass; }
+    ClassName getRepositoryClass() { return repositoryClass; }
+    ClassName getServiceClass() { return serviceClass; }
+    boolean hasPrimaryKey() { return hasPrimaryKey; }
+    boolean isReactive() { return metadata.getTarget() == GenerationTarget.REACTIVE; }
+    boolean usesVirtualThreads() { return metadata.getJavaVersion() >= 21 && !isReactive(); }
+
+    List<ResolvedField> getFields() { return fields; }
+    List<ResolvedField> getDtoFields() { return dtoFields; }
+    List<ResolvedRelationship> getRelationships() { return relationships; }
+    String getIdName() { return idName; }
+    String getEntityGraphName() { return entityName + ".withAssociations"; }
+    String getTableName() { return entityName.toLowerCase(); }
+    List<ResolvedIndex> getIndexes() { return indexes; }
+
+    /**
+     * Whether updates load the managed entity and change it in place instead of merging a detached copy.
+     * Hibernate then only updates the changed columns and checks the version of the loaded row.
+     *
+     * @return True if partial updates or optimistic locking are enabled.
+     */
+    boolean usesManagedUpdates() {
+        return metadata.isEnablePartialUpdates() || metadata.isEnableOptimisticLocking();
+    }
+
+    /**
+     * Whether the entity is kept in the second-level cache.
+     *
+     * @return True unless the cache strategy is missing or NONE.
+     */
+    boolean isCached() {
+        return metadata.getCacheStrategy() != null && metadata.getCacheStrategy() != CacheStrategy.NONE;
+    }
+
+    /**
+     * Name of the Spring cache holding entities looked up by id.
+     *
+     * @return Cache name.
+     */
+    String getCacheName() {
+        return entityName.substring(0, 1).toLowerCase() + entityName.substring(1);
+    }
+
+    /**
+     * Field ordering keyset pages in addition to the primary key.
+     *
+     * @return Field name, or null if pages are ordered by the primary key alone.
+     */
+    String getKeysetName() { return keysetName; }
+    TypeName getKeysetType() { return keysetType; }
+
+    /**
+     * Field with its Java type, column name and accessor suffix resolved.
+     */
+    static final class ResolvedField {
+        private final Field source;
+        private final String name;
+        private final TypeName type;
+        private final String columnName;
+        private final String accessorSuffix;
+
+        private ResolvedField(Field field) {
+            if (isBlank(field.getName())) throw new EntityGenerationException("Field name is required");
+            if (isBlank(field.getType())) throw new EntityGenerationException("Field type is required for field: " + field.getName());
+            this.source = field;
+            this.name = field.getName().trim();
+            this.type = ClassName.bestGuess(field.getType().trim());
+            this.columnName = isBlank(field.getColumnName()) ? name : field.getColumnName().trim();
+            this.accessorSuffix = name.substring(0, 1).toUpperCase() + name.substring(1);
+        }
+
+        Field getSource() { return source; }
+        String getName() { return name; }
+        TypeName getType() { return type; }
+        String getColumnName() { return columnName; }
+        String getAccessorSuffix() { return accessorSuffix; }
+        boolean isPrimaryKey() { return source.isPrimaryKey(); }
+    }
+
+    /**
+     * Index with its column names resolved. Only plain indexes can be expressed with JPA;
+     * partial and covering indexes exist in the SQL migration alone.
+     */
+    static final class ResolvedIndex {
+        private final String name;
+        private final List<String> columns;
+        private final List<String> includeColumns;
+        private final boolean unique;
+        private final String where;
+        private final String leadingField;
+        private final TypeName leadingType;
+        private final boolean uniqueLookup;
+
+        private ResolvedIndex(String name, List<String> columns, List<String> includeColumns, boolean unique, String where,
+                              String leadingField, TypeName leadingType, boolean uniqueLookup) {
+            this.name = name;
+            this.columns = columns;
+            this.includeColumns = includeColumns;
+            this.unique = unique;
+            this.where = where;
+            this.leadingField = leadingField;
+            this.leadingType = leadingType;
+            this.uniqueLookup = uniqueLookup;
+        }
+
+        String getName() { return name; }
+        List<String> getColumns() { return columns; }
+        List<String> getIncludeColumns() { return includeColumns; }
+        boolean isUnique() { return unique; }
+        String getWhere() { return where; }
+        String getLeadingField() { return leadingField; }
+        TypeName getLeadingType() { return leadingType; }
+        boolean isUniqueLookup() { return uniqueLookup; }
+        boolean isExpressibleInJpa() { return where == null && includeColumns.isEmpty(); }
+    }
+
+    /**
+     * Relationship with its target type, field type and JPA annotation resolved.
+     * To-many relationships are held in a {@link Set}, which Hibernate can fetch together with other collections.
+     */
+    static final class ResolvedRelationship {
+        private final Relationship source;
+        private final String fieldName;
+        private final TypeName targetType;
+        private final TypeName fieldType;
+        private final Class<?> annotation;
+
+        private ResolvedRelationship(Relationship rel, String entityName) {
+            if (isBlank(rel.getSourceField())) throw new EntityGenerationException("Source field is required for relationship in entity: " + entityName);
+            if (isBlank(rel.getTargetEntity())) throw new EntityGenerationException("Target entity is required for relationship in entity: " + entityName);
+            this.source = rel;
+            this.fieldName = rel.getSourceField().trim();
+            this.targetType = ClassName.bestGuess(rel.getTargetEntity().trim());
+            this.annotation = relationshipAnnotation(rel.getType());
+            this.fieldType = isCollection() ? ParameterizedTypeName.get(ClassName.get(Set.class), targetType) : targetType;
+        }
+
+        Relationship getSource() { return source; }
+        String getFieldName() { return fieldName; }
+        TypeName getTargetType() { return targetType; }
+        TypeName getFieldType() { return fieldType; }
+        Class<?> getAnnotation() { return annotation; }
+        boolean isCollection() { return annotation == OneToMany.class || annotation == ManyToMany.class; }
+    }
+
+    private static Class<?> relationshipAnnotation(String type) {
+        if (type == null) throw new EntityGenerationException("Unsupported relationship type: null");
+        return switch (type) {
+            case "OneToOne" -> OneToOne.class;
+            case "OneToMany" -> OneToMany.class;
+            case "ManyToOne" -> ManyToOne.class;
+            case "ManyToMany" -> ManyToMany.class;
+            default -> throw new EntityGenerationException("Unsupported relationship type: " + type);
+        };
+    }
+
+    private static boolean isBlank(String str) {
+        return str == null || str.trim().isEmpty();
+    }
+}
@@ -3,7 +3,8 @@ package com.example.entity_generator;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// R2DBC is on the test classpath only to check the reactive target; the generator itself runs on JPA
+@SpringBootTest(properties = "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration")
 class EntityGeneratorApplicationTests {
 
 	@Test
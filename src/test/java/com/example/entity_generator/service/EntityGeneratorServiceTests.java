@@ -0,0 +1,394 @@
+package com.example.entity_generator.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.entity_generator.exception.EntityGenerationException;
+import com.example.entity_generator.model.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static com.example.entity_generator.service.TestMetadata.entity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EntityGeneratorServiceTests {
+
+    @TempDir
+    Path outputRoot;
+
+    private ExecutorService executor;
+    private GenerationCache cache;
+    private SimpleMeterRegistry registry;
+    private EntityGeneratorService service;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ForkJoinPool(4);
+        cache = new GenerationCache(100);
+        registry = new SimpleMeterRegistry();
+        service = new EntityGeneratorService(executor, cache, new GeneratorMetrics(registry), outputRoot.toString(), outputRoot.resolve("resources").toString(), 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void batchKeepsInputOrderAndReportsFailuresPerEntity() {
+        List<EntityMetadata> batch = List.of(entity("Product"), entity(" "), entity("Order"));
+
+        BatchGenerationResult result = service.generateBatch(batch, WriteMode.OVERWRITE);
+
+        assertThat(result.getTotalProcessed()).isEqualTo(3);
+        assertThat(result.getSuccessCount()).isEqualTo(2);
+        assertThat(result.getErrorCount()).isEqualTo(1);
+        assertThat(result.getResults()).extracting(GenerationResult::isSuccess).containsExactly(true, false, true);
+        assertThat(result.getResults().get(0).getGeneratedFiles()).first().asString().endsWith("Product.java");
+        assertThat(result.getResults().get(2).getGeneratedFiles()).first().asString().endsWith("Order.java");
+        assertThat(outputRoot.resolve("com/example/generated/entity/Order.java")).exists();
+    }
+
+    @Test
+    void overwriteIfChangedKeepsIdenticalFiles() throws IOException {
+        GenerationResult first = service.generateEntity(entity("Product"), WriteMode.OVERWRITE_IF_CHANGED);
+        Path entityFile = outputRoot.resolve("com/example/generated/entity/Product.java");
+        long modified = Files.getLastModifiedTime(entityFile).toMillis();
+
+        GenerationResult second = service.generateEntity(entity("Product"), WriteMode.OVERWRITE_IF_CHANGED);
+        GenerationResult skipped = service.generateEntity(entity("Product"), WriteMode.SKIP_EXISTING);
+
+        assertThat(first.getWrittenCount()).isEqualTo(5);
+        assertThat(second.getWrittenCount()).isZero();
+        assertThat(second.getUnchangedCount()).isEqualTo(5);
+        assertThat(skipped.getSkippedCount()).isEqualTo(5);
+        assertThat(Files.getLastModifiedTime(entityFile).toMillis()).isEqualTo(modified);
+    }
+
+    @Test
+    void stagingDirectoryIsRemovedAfterCommit() throws IOException {
+        service.generateEntity(entity("Product"), WriteMode.OVERWRITE);
+
+        try (Stream<Path> files = Files.list(outputRoot)) {
+            assertThat(files.map(p -> p.getFileName().toString())).containsExactlyInAnyOrder("com", GenerationManifest.FILE_NAME);
+        }
+    }
+
+    @Test
+    void incrementalRunRegeneratesOnlyChangedEntities() throws IOException {
+        service.generateBatch(List.of(entity("Product"), entity("Order")), WriteMode.OVERWRITE);
+        EntityMetadata changed = entity("Order");
+        changed.getFields().get(0).setLength(80);
+
+        BatchGenerationResult rerun = service.generateBatch(List.of(entity("Product"), changed), WriteMode.INCREMENTAL);
+
+        assertThat(rerun.getResults().get(0).getMessage()).isEqualTo("Entity unchanged since the last generation");
+        assertThat(rerun.getResults().get(0).getUnchangedCount()).isEqualTo(5);
+        assertThat(rerun.getResults().get(1).getWrittenCount()).isPositive();
+        assertThat(cache.getStatistics().getMisses()).isEqualTo(15);
+
+        EntityGeneratorService restarted = new EntityGeneratorService(executor, new GenerationCache(0), new GeneratorMetrics(new SimpleMeterRegistry()), outputRoot.toString(), outputRoot.resolve("resources").toString(), 2, 1);
+        assertThat(restarted.getGeneratedEntities()).containsExactly("Order", "Product");
+        restarted.deleteGenerated("Order");
+        assertThat(restarted.getGeneratedEntities()).containsExactly("Product");
+        assertThat(outputRoot.resolve("com/example/generated/entity/Order.java")).doesNotExist();
+        assertThat(Files.readString(outputRoot.resolve(GenerationManifest.FILE_NAME))).contains("Product").doesNotContain("Order");
+    }
+
+    @Test
+    void incrementalRunHashesOnlyFilesWhoseSizeOrTimeChanged() throws IOException {
+        service.generateEntity(entity("Product"), WriteMode.OVERWRITE);
+        Path entityFile = outputRoot.resolve("com/example/generated/entity/Product.java");
+        FileTime written = Files.getLastModifiedTime(entityFile);
+        String sameSize = "x".repeat((int) Files.size(entityFile));
+
+        // A stamp that still matches is trusted without reading the file
+        Files.writeString(entityFile, sameSize);
+        Files.setLastModifiedTime(entityFile, written);
+        assertThat(service.generateEntity(entity("Product"), WriteMode.INCREMENTAL).getWrittenCount()).isZero();
+
+        Files.setLastModifiedTime(entityFile, FileTime.fromMillis(written.toMillis() + 1000));
+        assertThat(service.generateEntity(entity("Product"), WriteMode.INCREMENTAL).getWrittenCount()).isEqualTo(1);
+        assertThat(Files.readString(entityFile)).contains("class Product");
+    }
+
+    @Test
+    void incrementalRunRegeneratesFilesThatWereSkippedOrEdited() throws IOException {
+        service.generateEntity(entity("Product"), WriteMode.OVERWRITE);
+        Path entityFile = outputRoot.resolve("com/example/generated/entity/Product.java");
+        Files.writeString(entityFile, "// edited by hand");
+        EntityMetadata changed = entity("Product");
+        changed.getFields().get(0).setLength(80);
+
+        GenerationResult skipped = service.generateEntity(changed, WriteMode.SKIP_EXISTING);
+        GenerationResult regenerated = service.generateEntity(changed, WriteMode.INCREMENTAL);
+
+        assertThat(skipped.getSkippedCount()).isEqualTo(5);
+        assertThat(regenerated.getWrittenCount()).isPositive();
+        assertThat(Files.readString(entityFile)).contains("length = 80");
+
+        Files.writeString(entityFile, "// edited again");
+        GenerationResult restored = service.generateEntity(changed, WriteMode.INCREMENTAL);
+        assertThat(restored.getWrittenCount()).isEqualTo(1);
+        assertThat(restored.getUnchangedCount()).isEqualTo(4);
+        assertThat(Files.readString(entityFile)).contains("length = 80");
+    }
+
+    @Test
+    void listingKeepsEntitiesGeneratedBeforeTheManifest() throws IOException {
+        Path legacy = outputRoot.resolve("com/example/generated/entity/Legacy.java");
+        Files.createDirectories(legacy.getParent());
+        Files.writeString(legacy, "package com.example.generated.entity;\n\npublic class Legacy {\n}\n");
+        assertThat(service.getGeneratedEntities()).containsExactly("Legacy");
+        assertThat(Files.readString(outputRoot.resolve(GenerationManifest.FILE_NAME))).contains("Legacy.java");
+
+        service.generateEntity(entity("Product"), WriteMode.OVERWRITE);
+
+        assertThat(service.getGeneratedEntities()).containsExactly("Legacy", "Product");
+        service.deleteGenerated("Legacy");
+        assertThat(legacy).doesNotExist();
+        assertThat(service.getGeneratedEntities()).containsExactly("Product");
+    }
+
+    @Test
+    void unchangedMetadataIsServedFromCache() {
+        service.generatePreview(entity("Product"));
+        service.generatePreview(entity("Product"));
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertThat(statistics.getMisses()).isEqualTo(5);
+        assertThat(statistics.getHits()).isEqualTo(5);
+    }
+
+    @Test
+    void sharedArtifactsAreCachedOnceForAllEntities() {
+        EntityMetadata product = entity("Product");
+        product.setJavaVersion(21);
+        EntityMetadata order = entity("Order");
+        order.setJavaVersion(21);
+
+        service.generatePreview(product);
+        service.generatePreview(order);
+
+        // Five entity artifacts each, plus the async config and virtual-thread settings once
+        CacheStatistics statistics = cache.getStatistics();
+        assertThat(statistics.getMisses()).isEqualTo(12);
+        assertThat(statistics.getHits()).isEqualTo(2);
+    }
+
+    @Test
+    void clearingTheCacheKeepsItsCounters() {
+        service.generatePreview(entity("Product"));
+        service.generatePreview(entity("Product"));
+
+        cache.clear();
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertThat(statistics.getSize()).isZero();
+        assertThat(statistics.getMisses()).isEqualTo(5);
+        assertThat(statistics.getHits()).isEqualTo(5);
+    }
+
+    @Test
+    void cachedArtifactsSharingASubpackageKeepTheirOwnContent() {
+        EntityMetadata metadata = entity("Product");
+        metadata.setEnableBulkOperations(true);
+        metadata.setCacheStrategy(CacheStrategy.READ_WRITE);
+        metadata.setJavaVersion(21);
+
+        service.generatePreview(metadata);
+        Map<String, String> cached = service.generatePreview(metadata);
+
+        assertThat(cache.getStatistics().getHits()).isPositive();
+        assertThat(cached).containsKeys("config/AsyncConfig.java", "config/ProductCacheConfig.java");
+        cached.forEach((path, content) -> {
+            if (!path.endsWith(".java")) return;
+            String className = path.substring(path.lastIndexOf('/') + 1, path.length() - ".java".length());
+            assertThat(content).as(path).containsPattern("(class|interface) " + className + "\\b");
+        });
+    }
+
+    @Test
+    void generationIsRecordedInMetrics() {
+        cache.bindTo(registry);
+
+        service.generateBatch(List.of(entity("Product"), entity(" ")), WriteMode.OVERWRITE);
+        service.generatePreview(entity("Product"));
+
+        assertThat(registry.get("generator.entities").counter().count()).isEqualTo(1);
+        assertThat(registry.get("generator.fields").counter().count()).isEqualTo(1);
+        assertThat(registry.get("generator.failures").tag("stage", "validation").counter().count()).isEqualTo(1);
+        assertThat(registry.get("generator.render").tag("artifact", "entity").timer().count()).isEqualTo(1);
+        assertThat(registry.get("generator.write").timer().count()).isEqualTo(1);
+        assertThat(registry.get("generator.bytes.written").counter().count()).isPositive();
+        assertThat(registry.get("generator.cache.requests").tag("result", "hit").functionCounter().count()).isEqualTo(5);
+        assertThat(registry.get("generator.cache.size").gauge().value()).isEqualTo(5);
+    }
+
+    @Test
+    void tracedBatchReportsStageTimingsPerEntity() {
+        GenerationTrace trace = GenerationTrace.start("generate-batch", true);
+
+        service.generateBatch(List.of(entity("Product"), entity("Order")), WriteMode.OVERWRITE, BatchProgressListener.NONE, trace);
+        TimingNode timing = trace.finish();
+
+        assertThat(timing.getName()).isEqualTo("generate-batch");
+        assertThat(timing.getChildren()).extracting(TimingNode::getName)
+                .containsExactlyInAnyOrder("entity:Product", "entity:Order", "write");
+        TimingNode product = timing.getChildren().stream()
+                .filter(node -> node.getName().equals("entity:Product"))
+                .findFirst().orElseThrow();
+        assertThat(product.getChildren()).extracting(TimingNode::getName).containsExactlyInAnyOrder(
+                "validation", "resolve", "render.entity", "render.dto", "render.repository",
+                "render.service", "render.controller", "stage");
+        assertThat(product.getWallNanos()).isPositive();
+        assertThat(product.getChildren()).allSatisfy(stage -> assertThat(stage.getWallNanos()).isPositive());
+        assertThat(GenerationTrace.DISABLED.finish()).isNull();
+    }
+
+    @Test
+    void batchLogsOneSummaryEventAtInfo() {
+        Logger serviceLogger = (Logger) LoggerFactory.getLogger(EntityGeneratorService.class);
+        Logger stageLogger = (Logger) LoggerFactory.getLogger(OutputStage.class);
+        ListAppender<ILoggingEvent> events = new ListAppender<>();
+        events.start();
+        serviceLogger.addAppender(events);
+        stageLogger.addAppender(events);
+        serviceLogger.setLevel(Level.INFO);
+        stageLogger.setLevel(Level.INFO);
+        try {
+            service.generateBatch(List.of(entity("Product"), entity("Order")), WriteMode.OVERWRITE);
+        } finally {
+            serviceLogger.detachAppender(events);
+            stageLogger.detachAppender(events);
+            serviceLogger.setLevel(null);
+            stageLogger.setLevel(null);
+        }
+
+        assertThat(events.list).singleElement().satisfies(event -> {
+            assertThat(event.getMessage()).isEqualTo("Batch generation completed");
+            assertThat(event.getKeyValuePairs()).extracting(pair -> pair.key + "=" + pair.value)
+                    .contains("entities=2", "success=2", "errors=0", "written=10");
+        });
+    }
+
+    @Test
+    void zipStreamsEntitiesInOrderWithoutWritingFiles() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.writeBatchZip(List.of(entity("Product"), entity(" "), entity("Order")), out);
+
+        List<String> entries = zipEntryNames(out.toByteArray());
+        assertThat(entries).hasSize(11);
+        assertThat(entries.get(0)).isEqualTo("com/example/generated/entity/Product.java");
+        assertThat(entries.get(5)).startsWith("errors/2-");
+        assertThat(entries.get(10)).isEqualTo("com/example/generated/controller/OrderController.java");
+        try (Stream<Path> files = Files.list(outputRoot)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void indexMigrationIsWrittenToResourcesRoot() throws IOException {
+        EntityMetadata metadata = entity("Product");
+        metadata.getFields().get(0).setIndexed(true);
+
+        GenerationResult result = service.generateEntity(metadata, WriteMode.OVERWRITE);
+
+        Path migration = outputRoot.resolve("resources/db/migration/R__product_indexes.sql");
+        assertThat(result.getGeneratedFiles()).contains(migration.toString());
+        assertThat(Files.readString(migration)).contains("CREATE INDEX IF NOT EXISTS idx_product_title ON \"product\" (title);");
+
+        service.deleteGenerated("Product");
+        assertThat(migration).doesNotExist();
+    }
+
+    @Test
+    void virtualThreadSettingsAreSharedByAllEntities() throws IOException {
+        List<EntityMetadata> batch = List.of(entity("Product"), entity("Order"));
+        batch.forEach(metadata -> metadata.setJavaVersion(21));
+
+        service.generateEntity(batch.get(0), WriteMode.OVERWRITE);
+        GenerationResult order = service.generateEntity(batch.get(1), WriteMode.SKIP_EXISTING);
+        GenerationResult rerun = service.generateEntity(batch.get(1), WriteMode.INCREMENTAL);
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        service.writeBatchZip(batch, zip);
+
+        // The shared files already exist, but they are owned by the generator and do not block the manifest
+        assertThat(order.getSkippedCount()).isZero();
+        assertThat(rerun.getMessage()).isEqualTo("Entity unchanged since the last generation");
+        Path settings = outputRoot.resolve("resources/generated/virtual-threads.properties");
+        Path asyncConfig = outputRoot.resolve("com/example/generated/config/AsyncConfig.java");
+        assertThat(Files.readString(settings)).isEqualTo(service.generateVirtualThreadsPropertiesContent());
+        assertThat(zipEntryNames(zip.toByteArray()))
+                .containsOnlyOnce("generated/virtual-threads.properties", "com/example/generated/config/AsyncConfig.java");
+        service.deleteGenerated("Product");
+        assertThat(settings).exists();
+        assertThat(asyncConfig).exists();
+        service.deleteGenerated("Order");
+        assertThat(settings).doesNotExist();
+        assertThat(asyncConfig).doesNotExist();
+    }
+
+    @Test
+    void sharedFilesFollowTheManifestAfterReloadAndRegeneration() throws IOException {
+        List<EntityMetadata> batch = List.of(entity("Product"), entity("Order"), entity("Customer"));
+        batch.forEach(metadata -> metadata.setJavaVersion(21));
+        service.generateBatch(batch, WriteMode.OVERWRITE);
+        Path settings = outputRoot.resolve("resources/generated/virtual-threads.properties");
+
+        // A new service reads the manifest from disk; Customer no longer uses the shared files once regenerated for Java 17
+        EntityGeneratorService restarted = new EntityGeneratorService(executor, cache, new GeneratorMetrics(registry), outputRoot.toString(), outputRoot.resolve("resources").toString(), 2, 1);
+        restarted.generateEntity(entity("Customer"), WriteMode.OVERWRITE);
+        restarted.deleteGenerated("Product");
+        assertThat(settings).exists();
+        restarted.deleteGenerated("Order");
+        assertThat(settings).doesNotExist();
+        assertThat(restarted.getGeneratedEntities()).containsExactly("Customer");
+    }
+
+    @Test
+    void reactiveTargetRejectsJpaOnlyOptions() {
+        EntityMetadata metadata = entity("Product");
+        metadata.setTarget(GenerationTarget.REACTIVE);
+        metadata.setCacheStrategy(CacheStrategy.READ_WRITE);
+
+        assertThatThrownBy(() -> service.generateEntity(metadata, WriteMode.OVERWRITE))
+                .isInstanceOf(EntityGenerationException.class)
+                .hasMessageContaining("cacheStrategy");
+        assertThat(service.validateMetadata(metadata).getErrors())
+                .containsExactly("Option cacheStrategy is not supported by the REACTIVE target");
+        assertThat(outputRoot.resolve("com/example/generated")).doesNotExist();
+    }
+
+    private static List<String> zipEntryNames(byte[] archive) throws IOException {
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.add(entry.getName());
+            }
+        }
+        return entries;
+    }
+}
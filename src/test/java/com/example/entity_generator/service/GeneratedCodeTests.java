@@ -0,0 +1,587 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.exception.EntityGenerationException;
+import com.example.entity_generator.model.CacheStrategy;
+import com.example.entity_generator.model.EntityMetadata;
+import com.example.entity_generator.model.Field;
+import com.example.entity_generator.model.GenerationTarget;
+import com.example.entity_generator.model.IndexDefinition;
+import com.example.entity_generator.model.Relationship;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.registry.BootstrapServiceRegistry;
+import org.hibernate.boot.registry.BootstrapServiceRegistryBuilder;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.jpa.SpecHints;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.example.entity_generator.service.TestMetadata.entity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the shape of generated sources and that they compile.
+ */
+class GeneratedCodeTests {
+
+    @TempDir
+    Path workDir;
+
+    private ExecutorService executor;
+    private EntityGeneratorService service;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ForkJoinPool(2);
+        service = new EntityGeneratorService(executor, new GenerationCache(0), new GeneratorMetrics(new SimpleMeterRegistry()), workDir.resolve("out").toString(), workDir.resolve("resources").toString(), 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void columnNameOfFieldIsUsedForColumn() {
+        EntityMetadata metadata = entity("Product");
+        metadata.getFields().get(0).setColumnName("product_title");
+
+        String source = service.generatePreview(metadata).get("entity/Product.java");
+
+        assertThat(source).contains("name = \"product_title\"").doesNotContain("name = \"title\"");
+        assertThat(service.generatePreview(entity("Order")).get("entity/Order.java")).contains("name = \"title\"");
+    }
+
+    @Test
+    void listEndpointIsPaginatedWithoutCountQuery() throws IOException {
+        Map<String, String> sources = service.generatePreview(entity("Product"));
+
+        assertThat(sources.get("repository/ProductRepository.java")).contains("Slice<Product> findAllBy(Pageable pageable);");
+        assertThat(sources.get("controller/ProductController.java"))
+                .contains("private static final int MAX_PAGE_SIZE = 100;")
+                .contains("@PageableDefault(size = 20) Pageable pageable")
+                .contains("Math.min(pageable.getPageSize(), MAX_PAGE_SIZE)")
+                .doesNotContain("/seek");
+        assertThat(GeneratedSourceCompiler.compile(sources, workDir)).isEmpty();
+    }
+
+    @Test
+    void keysetPaginationUsesIdAsTiebreaker() throws IOException {
+        EntityMetadata byTitle = entity("Product");
+        byTitle.setEnableKeysetPagination(true);
+        byTitle.setKeysetField("title");
+        EntityMetadata byId = entity("Order");
+        byId.setEnableKeysetPagination(true);
+
+        Map<String, String> sources = new HashMap<>(service.generatePreview(byTitle));
+        sources.putAll(service.generatePreview(byId));
+
+        assertThat(sources.get("repository/ProductRepository.java"))
+                .contains("where e.title > :after or (e.title = :after and e.id > :afterId) order by e.title asc, e.id asc");
+        assertThat(sources.get("repository/OrderRepository.java"))
+                .contains("select e from Order e where e.id > :afterId order by e.id asc");
+        assertThat(sources.get("controller/ProductController.java"))
+                .contains("@GetMapping(\"/seek\")")
+                .contains("if ((after == null) != (afterId == null))")
+                .contains("throw new ResponseStatusException(HttpStatus.BAD_REQUEST");
+        assertThat(sources.get("controller/OrderController.java")).doesNotContain("ResponseStatusException");
+        assertThat(GeneratedSourceCompiler.compile(sources, workDir)).isEmpty();
+    }
+
+    @Test
+    void keysetFieldMustNotBeNullable() {
+        EntityMetadata metadata = entity("Product");
+        metadata.getFields().get(0).setNullable(true);
+        metadata.setEnableKeysetPagination(true);
+        metadata.setKeysetField("title");
+
+        assertThatThrownBy(() -> service.generatePreview(metadata))
+                .isInstanceOf(EntityGenerationException.class)
+                .hasMessageContaining("Keyset field must not be nullable");
+    }
+
+    @Test
+    void streamingExportClearsPersistenceContextPeriodically() throws IOException {
+        EntityMetadata metadata = entity("Product");
+        metadata.setEnableStreamingExport(true);
+        metadata.setExportFetchSize(1000);
+        metadata.setExportClearInterval(250);
+
+        Map<String, String> sources = service.generatePreview(metadata);
+
+        assertThat(sources.get("repository/ProductRepository.java"))
+                .contains("@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = \"1000\")")
+                .contains("Stream<Product> streamAllBy();");
+        assertThat(sources.get("service/ProductService.java"))
+                .contains("readOnly = true")
+                .contains("if (++count % 250 == 0)");
+        assertThat(sources.get("controller/ProductController.java"))
+                .contains("produces = \"application/x-ndjson\"");
+        assertThat(GeneratedSourceCompiler.compile(sources, workDir)).isEmpty();
+    }
+
+    @Test
+    void bulkOperationsUsePooledSequenceAndChunkedFlush() throws IOException {
+        EntityMetadata metadata = entity("Product");
+        metadata.setEnableBulkOperations(true);
+        metadata.setBulkChunkSize(100);
+        metadata.setSequenceAllocationSize(200);
+
+        Map<String, String> sources = service.generatePreview(metadata);
+
+        assertThat(sources.get("entity/Product.java"))
+                .contains("strategy = GenerationType.SEQUENCE")
+                .contains("allocationSize = 200")
+                .doesNotContain("IDENTITY");
+        assertThat(sources.get("service/ProductService.java"))
+                .contains("private static final int BULK_CHUNK_SIZE = 100;")
+                .contains("entityManager.flush();");
+        assertThat(sources.get("controller/ProductController.java")).contains("@PostMapping(\"/bulk\")", "@PutMapping(\"/bulk\")");
+        assertThat(sources.get("service/ProductService.java")).contains("entityManager.unwrap(Session.class).setJdbcBatchSize(BULK_CHUNK_SIZE);");
+        assertThat(sources.get("generated/jdbc-batching.properties"))
+                .contains("spring.jpa.properties.hibernate.jdbc.batch_size=50")
+                .contains("spring.jpa.properties.hibernate.order_inserts=true")
+                .contains("spring.jpa.properties.hibernate.order_updates=true");
+        assertThat(service.generatePreview(entity("Order"))).doesNotContainKey("generated/jdbc-batching.properties");
+        assertThat(GeneratedSourceCompiler.compile(sources, workDir)).isEmpty();
+    }
+
+    @Test
+    void bulkUpdateLoadsEachChunkWithOneQuery() throws Exception {
+        EntityMetadata metadata = entity("Product");
+        metadata.setEnableBulkOperations(true);
+        metadata.setBulkChunkSize(5);
+
+        Map<String, String> sources = service.generatePreview(metadata);
+        assertThat(sources.get("controller/ProductController.java")).contains("return service.updateAll(entities)");
+        assertThat(GeneratedSourceCompiler.compile(sources, workDir)).isEmpty();
+
+        try (URLClassLoader loader = GeneratedSourceCompiler.classLoader(workDir)) {
+            Class<?> entityClass = loader.loadClass("com.example.generated.entity.Product");
+            Class<?> repositoryClass = loader.loadClass("com.example.generated.repository.ProductRepository");
+            BootstrapServiceRegistry registry = new BootstrapServiceRegistryBuilder().applyClassLoader(loader).build();
+            try (SessionFactory sessionFactory = new Configuration(registry)
+                    .addAnnotatedClass(entityClass)
+                    .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1")
+                    .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                    .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+                    .buildSessionFactory();
+                 Session session = sessionFactory.openSession()) {
+                JpaRepositoryFactory repositoryFactory = new JpaRepositoryFactory(session);
+                repositoryFactory.setBeanClassLoader(loader);
+                Object repository = repositoryFactory.getRepository(repositoryClass);
+                Object productService = loader.loadClass("com.example.generated.service.ProductService")
+                        .getConstructor(repositoryClass).newInstance(repository);
+                java.lang.reflect.Field entityManager = productService.getClass().getDeclaredField("entityManager");
+                entityManager.setAccessible(true);
+                entityManager.set(productService, session);
+                Method saveAll = productService.getClass().getMethod("saveAll", List.class);
+                Method updateAll = productService.getClass().getMethod("updateAll", List.class);
+
+                List<Object> products = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    Object product = entityClass.getConstructor().newInstance();
+                    entityClass.getMethod("setTitle", String.class).invoke(product, "before");
+                    products.add(product);
+                }
+                List<?> saved = (List<?>) inTransaction(session, saveAll, productService, products);
+
+                List<Object> changes = new ArrayList<>();
+                for (Object product : saved) {
+                    Object change = entityClass.getConstructor().newInstance();
+                    entityClass.getMethod("setId", Long.class).invoke(change, property(product, "getId"));
+                    entityClass.getMethod("setTitle", String.class).invoke(change, "after");
+                    changes.add(change);
+                }
+                Statistics statistics = sessionFactory.getStatistics();
+                statistics.clear();
+                inTransaction(session, updateAll, productService, changes);
+
+                // One SELECT and one batched UPDATE per chunk of five, instead of a SELECT per merged row; the batch
+                // size comes from the chunk size the service sets on its session
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+                assertThat(statistics.getEntityUpdateCount()).isEqualTo(10);
+                assertThat(session.createQuery("select count(*) from Product where title = 'after'", Long.class)
+                        .getSingleResult()).isEqualTo(10L);
+            }
+        }
+    }
+
+    @Test
+    void readEndpointsUseDtoProjections() throws IOException {
+        EntityMetadata metadata = entity("Product");
+        metadata.setEnableProjections(true);
+
+        Map<String, String> sources = service.generatePreview(metadata);
+
+        assertThat(sources.get("dto/ProductDTO.java")).contains("@AllArgsConstructor");
+        assertThat(sources.get("repository/ProductRepository.java"))
+                .contains("select new com.example.generated.dto.ProductDTO(e.id, e.createdAt, e.updatedAt, e.title) from Product e")
+                .contains("Optional<ProductDTO> findProjectedById(@Param(\"id\") Long id);");
+        assertThat(sources.get("controller/ProductController.java"))
+                .contains("return service.findAllProjected(bounded);")
+                .contains("return service.findProjectedById(id);");
+        assertThat(GeneratedSourceCompiler.compile(sources, workDir)).isEmpty();
+    }
+
+    @Test
+    void relationshipsAreBatchFetchedOrLoadedThroughEntityGraph() throws Exception {
+        EntityMetadata author = entity("Author");
+        author.setAssociationBatchSize(10);
+        author.setRelationships(List.of(relationship("OneToMany", "books", "Book", "author")));
+        EntityMetadata book = entity("Book");
+        book.setRelationships(List.of(relationship("ManyToOne", "author", "Author", null)));
+
+        Map<String, String> sources = new HashMap<>(service.generatePreview(author));
+        sources.putAll(service.generatePreview(book));
+        assertThat(sources.get("entity/Author.java"))
+                .contains("private Set<Book> books = new HashSet<>();")
+                .contains("@BatchSize(", "size = 10")
+                .contains("name = \"Author.withAssociations\"");
+        assertThat(sources.get("entity/Book.java")).contains("fetch = FetchType.LAZY");
+        assertThat(sources.get("repository/AuthorRepository.java")).contains("@EntityGraph(\"Author.withAssociations\")");
+        assertThat(GeneratedSourceCompiler.compile(sources, workDir)).isEmpty();
+
+        try (URLClassLoader loader = GeneratedSourceCompiler.classLoader(workDir)) {
+            Class<?> authorClass = loader.loadClass("com.example.generated.entity.Author");
+            assertRelationshipFetching(loader, authorClass, loader.loadClass("com.example.generated.entity.Book"));
+        }
+    }
+
+    private static void assertRelationshipFetching(ClassLoader loader, Class<?> authorClass, Class<?> bookClass) {
+        BootstrapServiceRegistry registry = new BootstrapServiceRegistryBuilder().applyClassLoader(loader).build();
+        try (SessionFactory sessionFactory = new Configuration(registry)
+                .addAnnotatedClass(authorClass)
+                .addAnnotatedClass(bookClass)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:relationships;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+                .buildSessionFactory()) {
+            sessionFactory.inTransaction(session -> {
+                for (int i = 1; i <= 5; i++) {
+                    session.createNativeMutationQuery("insert into \"author\" (id, title, created_at, updated_at) values (?1, 'a', now(), now())")
+                            .setParameter(1, i).executeUpdate();
+                    for (int j = 0; j < 2; j++) {
+                        session.createNativeMutationQuery("insert into \"book\" (title, created_at, updated_at, \"author_id\") values ('b', now(), now(), ?1)")
+                                .setParameter(1, i).executeUpdate();
+                    }
+                }
+            });
+            Statistics statistics = sessionFactory.getStatistics();
+
+            statistics.clear();
+            sessionFactory.inTransaction(session -> {
+                for (Object loaded : session.createQuery("from Author", Object.class).getResultList()) {
+                    assertThat((Collection<?>) property(loaded, "getBooks")).hasSize(2);
+                }
+            });
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+            statistics.clear();
+            sessionFactory.inTransaction(session -> {
+                Object loaded = session.find(authorClass, 1L,
+                        Map.of(SpecHints.HINT_SPEC_FETCH_GRAPH, session.getEntityGraph("Author.withAssociations")));
+                assertThat(Hibernate.isInitialized(property(loaded, "getBooks"))).isTrue();
+            });
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void cachedEntityIsServedFromSecondLevelCache() throws Exception {
+        EntityMetadata metadata = cachedEntity("Country");
+        metadata.setCacheTtlSeconds(60);
+
+        Map<String, String> sources = service.generatePreview(metadata);
+        assertThat(sources.get("entity/Country.java")).contains("@Cacheable", "usage = CacheConcurrencyStrategy.READ_WRITE");
+        assertThat(sources.get("repository/CountryRepository.java")).contains("HibernateHints.HINT_CACHEABLE");
+        assertThat(sources.get("service/CountryService.java"))
+                .contains("cacheNames = \"country\"", "key = \"#entity.id\"")
+                .doesNotContain("@Cacheable");
+        assertThat(sources.get("controller/CountryController.java")).contains("@Cacheable(", "public CountryDTO getById(");
+        assertThat(sources.get("config/CountryCacheConfig.java"))
+                .contains("createCache(cacheManager, \"com.example.generated.entity.Country\");")
+                .contains("private static final long TTL_SECONDS = 60;")
+                .doesNotContain("@EnableCaching", "USE_QUERY_CACHE");
+        // Query results are bounded like the entity regions instead of falling back to an unbounded default cache
+        assertThat(sources.get("config/SecondLevelCacheConfig.java"))
+                .contains("@EnableCaching", "AvailableSettings.USE_QUERY_CACHE")
+                .contains("cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, configuration);")
+                .contains("configuration.setMaximumSize(OptionalLong.of(QUERY_MAX_ENTRIES));");
+        assertThat(service.generatePreview(cachedEntity("City")).get("config/SecondLevelCacheConfig.java"))
+                .isEqualTo(sources.get("config/SecondLevelCacheConfig.java"));
+        assertThat(GeneratedSourceCompiler.compile(sources, workDir)).isEmpty();
+
+        try (URLClassLoader loader = GeneratedSourceCompiler.classLoader(workDir)) {
+            Class<?> countryClass = loader.loadClass("com.example.generated.entity.Country");
+            BootstrapServiceRegistry registry = new BootstrapServiceRegistryBuilder().applyClassLoader(loader).build();
+            try (SessionFactory sessionFactory = new Configuration(registry)
+                    .addAnnotatedClass(countryClass)
+                    .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:cache;DB_CLOSE_DELAY=-1")
+                    .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                    .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+                    .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true")
+                    .setProperty(AvailableSettings.CACHE_REGION_FACTORY, "jcache")
+                    .setProperty(ConfigSettings.PROVIDER, CaffeineCachingProvider.class.getName())
+                    .setProperty(ConfigSettings.MISSING_CACHE_STRATEGY, "create")
+                    .buildSessionFactory()) {
+                sessionFactory.inTransaction(session -> session
+                        .createNativeMutationQuery("insert into \"country\" (id, title, created_at, updated_at) values (1, 'a', now(), now())")
+                        .executeUpdate());
+                Statistics statistics = sessionFactory.getStatistics();
+
+                statistics.clear();
+                sessionFactory.inTransaction(session -> session.find(countryClass, 1L));
+                sessionFactory.inTransaction(session -> session.find(countryClass, 1L));
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+                assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    void updatesChangeManagedEntityAndCheckVersion() throws IOException {
+        EntityMetadata metadata = entity("Product");
+        metadata.setEnableOptimisticLocking(true);
+        metadata.setEnablePartialUpdates(true);
+        metadata.setEnableProjections(true);
+        metadata.setEnableBulkOperations(true);
+
+        Map<String, String> sources = service.generatePreview(metadata);
+
+        assertThat(sources.get("entity/Product.java")).contains("@DynamicUpdate", "@Version");
+        assertThat(sources.get("service/ProductService.java"))
+                .contains("public Product update(Long id, Long expectedVersion, Consumer<Product> changes)")
+                .contains("throw new ObjectOptimisticLockingFailureException(Product.class, id);");
+        assertThat(sources.get("controller/ProductController.java"))
+                .contains("@PatchMapping(\"/{id}\")")
+                .contains("if (dto.getTitle() != null) {")
+                .doesNotContain("entity.setId(id)");
+        assertThat(sources.get("repository/ProductRepository.java")).contains("e.updatedAt, e.version, e.title");
+        assertThat(GeneratedSourceCompiler.compile(sources, workDir)).isEmpty();
+    }
+
+    @Test
+    void indexesBackDerivedLookupsAndRepeatableMigration() throws IOException {
+        EntityMetadata metadata = entity("Product");
+        Field sku = new Field();
+        sku.setName("sku");
+        sku.setType("String");
+        sku.setUnique(true);
+        sku.setIndexed(true);
+        Field status = new Field();
+        status.setName("status");
+        status.setType("String");
+        metadata.setFields(List.of(metadata.getFields().get(0), sku, status));
+        metadata.setIndexes(List.of(
+                index(List.of("status", "createdAt"), null, null),
+                index(List.of("title"), "status <> 'ARCHIVED'", List.of("sku"))));
+
+        Map<String, String> sources = service.generatePreview(metadata);
+
+        assertThat(sources.get("entity/Product.java"))
+                .contains("name = \"idx_product_sku\"")
+                .contains("columnList = \"status, created_at\"")
+                .doesNotContain("idx_product_title");
+        assertThat(sources.get("repository/ProductRepository.java"))
+                .contains("Optional<Product> findBySku(String sku);")
+                .contains("Slice<Product> findByStatus(String status, Pageable pageable);")
+                .contains("Slice<Product> findByTitle(String title, Pageable pageable);");
+        assertThat(sources.get("db/migration/R__product_indexes.sql"))
+                .contains("CREATE INDEX IF NOT EXISTS idx_product_status_created_at ON \"product\" (status, created_at);")
+                .contains("ON \"product\" (title) INCLUDE (sku) WHERE status <> 'ARCHIVED';");
+        assertThat(GeneratedSourceCompiler.compile(sources, workDir)).isEmpty();
+    }
+
+    @Test
+    void reactiveTargetRunsAgainstR2dbc() throws Exception {
+        EntityMetadata metadata = entity("Product");
+        metadata.setTarget(GenerationTarget.REACTIVE);
+        metadata.setEnableStreamingExport(true);
+        metadata.getFields().get(0).setIndexed(true);
+
+        Map<String, String> sources = service.generatePreview(metadata);
+
+        assertThat(sources).doesNotContainKeys("generated/jdbc-batching.properties", "config/ProductCacheConfig.java");
+        assertThat(sources.get("repository/ProductRepository.java"))
+                .contains("extends R2dbcRepository<Product, Long>")
+                .contains("Flux<Product> findByTitle(String title, Pageable pageable);");
+        assertThat(sources.get("controller/ProductController.java"))
+                .contains("public Flux<ProductDTO> getAll(")
+                .contains("MediaType.APPLICATION_NDJSON_VALUE")
+                .doesNotContain("jakarta.persistence");
+        assertThat(GeneratedSourceCompiler.compile(sources, workDir)).isEmpty();
+
+        try (URLClassLoader loader = GeneratedSourceCompiler.classLoader(workDir)) {
+            assertReactiveCrud(loader, sources.get("db/schema/product.sql"));
+        }
+    }
+
+    private static void assertReactiveCrud(ClassLoader loader, String schema) throws Exception {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///reactive;DB_CLOSE_DELAY=-1");
+        DatabaseClient.create(connectionFactory).sql(schema).then().block();
+        Class<?> entityClass = loader.loadClass("com.example.generated.entity.Product");
+        Class<?> repositoryClass = loader.loadClass("com.example.generated.repository.ProductRepository");
+        R2dbcRepositoryFactory repositoryFactory = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(connectionFactory));
+        repositoryFactory.setBeanClassLoader(loader);
+        Object repository = repositoryFactory.getRepository(repositoryClass);
+        Object service = loader.loadClass("com.example.generated.service.ProductService")
+                .getConstructor(repositoryClass).newInstance(repository);
+
+        for (String title : List.of("a", "b", "c")) {
+            Object product = entityClass.getConstructor().newInstance();
+            entityClass.getMethod("setTitle", String.class).invoke(product, title);
+            Object created = ((Mono<?>) service.getClass().getMethod("create", entityClass).invoke(service, product)).block();
+            assertThat(property(created, "getId")).isNotNull();
+            assertThat(property(created, "getCreatedAt")).isNotNull();
+        }
+
+        Flux<?> page = (Flux<?>) service.getClass().getMethod("findAll", Pageable.class).invoke(service, PageRequest.of(0, 2));
+        assertThat(page.collectList().block()).hasSize(2);
+        Flux<?> export = (Flux<?>) service.getClass().getMethod("exportAll").invoke(service);
+        assertThat(export.count().block()).isEqualTo(3);
+        Mono<?> missing = (Mono<?>) service.getClass().getMethod("findById", Long.class).invoke(service, 99L);
+        assertThatThrownBy(missing::block).isInstanceOf(EntityGenerationException.class);
+    }
+
+    @Test
+    void java21TargetRunsRequestsOnVirtualThreads() {
+        Map<String, String> sources = service.generatePreview(virtualThreadEntity());
+
+        assertThat(sources.get("generated/virtual-threads.properties"))
+                .contains("spring.threads.virtual.enabled=true")
+                .contains("spring.config.import=optional:classpath:generated/virtual-threads.properties");
+        assertThat(sources.get("config/AsyncConfig.java")).contains("@EnableAsync", "public class AsyncConfig");
+        assertThat(sources).noneSatisfy((path, source) -> assertThat(path).endsWith("ThreadingConfig.java"));
+        assertThat(sources.get("controller/ProductController.java"))
+                .doesNotContain("@GetMapping(\"/batch\")")
+                .doesNotContain("/{id}/related");
+        assertThat(sources.get("service/ProductService.java")).doesNotContain("findAllById");
+        // Blocking inside synchronized pins the carrier thread of a virtual thread
+        assertThat(sources.values()).noneMatch(source -> source.contains("synchronized"));
+        Map<String, String> java17 = service.generatePreview(entity("Order"));
+        assertThat(java17).doesNotContainKeys("generated/virtual-threads.properties", "config/AsyncConfig.java");
+        assertThat(java17.get("controller/OrderController.java")).doesNotContain("@GetMapping(\"/batch\")");
+    }
+
+    @Test
+    void java21TargetLoadsReferencedAggregatesConcurrently() {
+        Map<String, String> sources = relatedAggregates(21);
+
+        assertThat(sources.get("controller/BookController.java"))
+                .contains("@GetMapping(\"/{id}/related\")")
+                .contains("private final ObjectProvider<AuthorController> authorController;")
+                .contains("Executors.newVirtualThreadPerTaskExecutor()")
+                .contains("scope.submit(() -> authorController.getObject().getById(authorId))")
+                .contains("related.put(\"author\", join(authorLoad, scope));")
+                .contains("scope.shutdownNow();");
+        // To-many relationships are listed through the target's own endpoints, not fanned out per element
+        assertThat(sources.get("controller/AuthorController.java")).doesNotContain("/{id}/related");
+        assertThat(sources.values()).noneMatch(source -> source.contains("synchronized"));
+        assertThat(relatedAggregates(17).get("controller/BookController.java"))
+                .doesNotContain("/{id}/related")
+                .doesNotContain("ObjectProvider");
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void java21TargetCompilesOnJava21() throws IOException {
+        Map<String, String> sources = new HashMap<>(service.generatePreview(virtualThreadEntity()));
+        sources.putAll(relatedAggregates(21));
+
+        assertThat(GeneratedSourceCompiler.compile(sources, workDir)).isEmpty();
+    }
+
+    private Map<String, String> relatedAggregates(int javaVersion) {
+        EntityMetadata author = entity("Author");
+        author.setJavaVersion(javaVersion);
+        author.setRelationships(List.of(relationship("OneToMany", "books", "Book", "author")));
+        EntityMetadata book = entity("Book");
+        book.setJavaVersion(javaVersion);
+        book.setCacheStrategy(CacheStrategy.READ_WRITE);
+        book.setRelationships(List.of(relationship("ManyToOne", "author", "Author", null)));
+
+        Map<String, String> sources = new HashMap<>(service.generatePreview(author));
+        sources.putAll(service.generatePreview(book));
+        return sources;
+    }
+
+    private static EntityMetadata virtualThreadEntity() {
+        EntityMetadata metadata = entity("Product");
+        metadata.setJavaVersion(21);
+        metadata.setCacheStrategy(CacheStrategy.READ_WRITE);
+        return metadata;
+    }
+
+    private static EntityMetadata cachedEntity(String name) {
+        EntityMetadata metadata = entity(name);
+        metadata.setCacheStrategy(CacheStrategy.READ_WRITE);
+        return metadata;
+    }
+
+    private static IndexDefinition index(List<String> fields, String where, List<String> include) {
+        IndexDefinition index = new IndexDefinition();
+        index.setFields(fields);
+        index.setWhere(where);
+        index.setInclude(include);
+        return index;
+    }
+
+    private static Object inTransaction(Session session, Method method, Object target, Object... args)
+            throws ReflectiveOperationException {
+        session.beginTransaction();
+        Object result = method.invoke(target, args);
+        session.getTransaction().commit();
+        return result;
+    }
+
+    private static Object property(Object bean, String getter) {
+        try {
+            return bean.getClass().getMethod(getter).invoke(bean);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Relationship relationship(String type, String field, String target, String mappedBy) {
+        Relationship relationship = new Relationship();
+        relationship.setType(type);
+        relationship.setSourceField(field);
+        relationship.setTargetEntity(target);
+        relationship.setMappedBy(mappedBy);
+        return relationship;
+    }
+}
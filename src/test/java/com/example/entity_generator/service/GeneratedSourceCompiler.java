@@ -0,0 +1,77 @@
+package com.example.entity_generator.service;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles generated sources against the test classpath so tests can prove the generator emits valid code.
+ */
+final class GeneratedSourceCompiler {
+
+    private GeneratedSourceCompiler() {
+    }
+
+    /**
+     * Compiles preview output.
+     *
+     * @param sources Generated sources keyed by their path below the generated base package; non-Java artifacts are skipped.
+     * @param workDir Directory receiving the sources and class files.
+     * @return Compiler errors; empty if compilation succeeded.
+     * @throws IOException If the sources cannot be written.
+     */
+    static List<String> compile(Map<String, String> sources, Path workDir) throws IOException {
+        Path sourceDir = workDir.resolve("src/com/example/generated");
+        Path classDir = Files.createDirectories(workDir.resolve("classes"));
+        List<Path> files = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            if (!source.getKey().endsWith(".java")) continue;
+            Path file = sourceDir.resolve(source.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source.getValue(), StandardCharsets.UTF_8);
+            files.add(file);
+        }
+
+        // Surefire runs tests from a manifest-only jar and publishes the real classpath separately
+        String classpath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<String> options = List.of("-classpath", classpath, "-d", classDir.toString(), "-parameters");
+            compiler.getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjectsFromPaths(files)).call();
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic.getSource().getName() + ":" + diagnostic.getLineNumber() + ": " + diagnostic.getMessage(null));
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Opens a class loader over the classes compiled into a work directory.
+     *
+     * @param workDir Work directory passed to {@link #compile}.
+     * @return Class loader delegating to the test class loader for everything else.
+     * @throws MalformedURLException If the class directory cannot be expressed as a URL.
+     */
+    static URLClassLoader classLoader(Path workDir) throws MalformedURLException {
+        URL classes = workDir.resolve("classes").toUri().toURL();
+        return new URLClassLoader(new URL[]{classes}, GeneratedSourceCompiler.class.getClassLoader());
+    }
+}
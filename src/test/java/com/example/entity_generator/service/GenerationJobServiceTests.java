@@ -0,0 +1,127 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.model.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.example.entity_generator.service.TestMetadata.entity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GenerationJobServiceTests {
+
+    @TempDir
+    Path outputRoot;
+
+    private ExecutorService executor;
+    private ExecutorService jobExecutor;
+    private EntityGeneratorService generatorService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ForkJoinPool(2);
+        jobExecutor = Executors.newSingleThreadExecutor();
+        generatorService = new EntityGeneratorService(executor, new GenerationCache(100), new GeneratorMetrics(new SimpleMeterRegistry()), outputRoot.toString(), outputRoot.resolve("resources").toString(), 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        jobExecutor.shutdownNow();
+        jobExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void jobRunsInBackgroundAndReportsResults() throws InterruptedException {
+        GenerationJobService jobService = new GenerationJobService(generatorService, jobExecutor, 10, 60);
+
+        GenerationJobStatus submitted = jobService.submit(List.of(entity("Product"), entity(" ")), WriteMode.OVERWRITE);
+        GenerationJobStatus status = awaitFinished(jobService, submitted.getId());
+
+        assertThat(status.getState()).isEqualTo(JobState.COMPLETED);
+        assertThat(status.getProcessed()).isEqualTo(2);
+        assertThat(status.getResults()).extracting(GenerationResult::isSuccess).containsExactly(true, false);
+        assertThat(outputRoot.resolve("com/example/generated/entity/Product.java")).exists();
+    }
+
+    @Test
+    void oldestFinishedJobIsEvictedWhenRegistryIsFull() throws InterruptedException {
+        GenerationJobService jobService = new GenerationJobService(generatorService, jobExecutor, 1, 60);
+
+        String first = jobService.submit(List.of(entity("Product")), WriteMode.OVERWRITE).getId();
+        awaitFinished(jobService, first);
+        String second = jobService.submit(List.of(entity("Order")), WriteMode.OVERWRITE).getId();
+
+        assertThat(jobService.getStatus(first)).isEmpty();
+        assertThat(jobService.getStatus(second)).isPresent();
+    }
+
+    @Test
+    void cancelledBatchWritesNoFiles() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<Integer> completed = Collections.synchronizedList(new ArrayList<>());
+        BatchProgressListener listener = new BatchProgressListener() {
+            @Override
+            public void entityCompleted(int index, GenerationResult result) {
+                completed.add(index);
+                cancelled.set(true);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return cancelled.get();
+            }
+        };
+
+        List<EntityMetadata> batch = List.of(entity("Product"), entity("Order"), entity("Customer"));
+        assertThatThrownBy(() -> generatorService.generateBatch(batch, WriteMode.OVERWRITE, listener))
+                .isInstanceOf(CancellationException.class);
+
+        // Entities reached after the cancel are skipped without being reported
+        assertThat(completed).containsExactly(0);
+        assertThat(outputRoot.resolve("com/example/generated")).doesNotExist();
+    }
+
+    @Test
+    void cancelledJobReportsNoGeneratedFiles() {
+        List<EntityMetadata> batch = List.of(entity("Product"), entity(" "), entity("Order"));
+        GenerationJob job = new GenerationJob("job", batch, WriteMode.OVERWRITE);
+        job.entityCompleted(0, GenerationResult.success("Generated", List.of("entity/Product.java")));
+        job.entityCompleted(1, GenerationResult.error(" : Entity name is required"));
+
+        job.discarded();
+        GenerationJobStatus status = job.toStatus();
+
+        assertThat(status.getSuccessCount()).isZero();
+        assertThat(status.getErrorCount()).isEqualTo(1);
+        assertThat(status.getCancelledCount()).isEqualTo(1);
+        assertThat(status.getProcessed()).isEqualTo(2);
+        assertThat(status.getResults().get(0).isSuccess()).isFalse();
+        assertThat(status.getResults().get(0).getGeneratedFiles()).isEmpty();
+        assertThat(status.getResults().get(0).getErrors()).isEmpty();
+        assertThat(status.getResults().get(2)).isNull();
+    }
+
+    private static GenerationJobStatus awaitFinished(GenerationJobService jobService, String id) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            GenerationJobStatus status = jobService.getStatus(id).orElseThrow();
+            if (status.getState().isFinished()) return status;
+            Thread.sleep(25);
+        }
+        throw new AssertionError("Job " + id + " did not finish");
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.exception.EntityGenerationException;
+import com.example.entity_generator.model.EntityMetadata;
+import com.example.entity_generator.model.Field;
+import com.example.entity_generator.model.Relationship;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ModelAnalyzerServiceTests {
+
+    private final ModelAnalyzerService analyzer = new ModelAnalyzerService(new GeneratorMetrics(new SimpleMeterRegistry()));
+
+    private static final String MODEL = """
+            package com.shop.model;
+
+            import jakarta.persistence.*;
+            import jakarta.validation.constraints.*;
+            import java.util.List;
+
+            /* public class Commented { private String ignored; } */
+            @Entity
+            @Table(name = "products", indexes = {@Index(name = "idx_name", columnList = "name")})
+            public class Product {
+                private static final long serialVersionUID = 1L;
+
+                @Id
+                @GeneratedValue(strategy = GenerationType.IDENTITY)
+                private Long id;
+
+                @NotBlank(message = "Name, please")
+                @Size(min = 2, max = 100)
+                @Column(name = "product_name", nullable = false, length = 100)
+                private String name;
+
+                @Pattern(regexp = "[a-z]+=\\\\d")
+                private String code = "a;b";
+
+                @ManyToOne(fetch = FetchType.LAZY, optional = false)
+                @JoinColumn(name = "category_id")
+                private Category category;
+
+                @OneToMany(mappedBy = "product", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+                private List<Review> reviews = new ArrayList<>();
+
+                public Product() {
+                    String local;
+                }
+
+                public String getName() {
+                    int notAField;
+                    return name;
+                }
+
+                static class Nested {
+                    private String hidden;
+                }
+            }
+            """;
+
+    @Test
+    void extractsFieldsAnnotationsAndRelationships() {
+        EntityMetadata metadata = analyzer.analyzeModel(MODEL);
+
+        assertThat(metadata.getPackageName()).isEqualTo("com.shop.model");
+        assertThat(metadata.getEntityName()).isEqualTo("Product");
+        assertThat(metadata.getFields()).extracting(Field::getName).containsExactly("id", "name", "code");
+        assertThat(metadata.getFields().get(0).isPrimaryKey()).isTrue();
+
+        Field name = metadata.getFields().get(1);
+        assertThat(name.getColumnName()).isEqualTo("product_name");
+        assertThat(name.isNullable()).isFalse();
+        assertThat(name.getLength()).isEqualTo(100);
+        assertThat(name.getValidations()).hasSize(2);
+        assertThat(name.getValidations().get(0).getParameters()).containsEntry("message", "Name, please");
+        assertThat(name.getValidations().get(1).getParameters()).containsEntry("min", 2).containsEntry("max", 100);
+        assertThat(metadata.getFields().get(2).getValidations().get(0).getParameters())
+                .containsEntry("regexp", "[a-z]+=\\d");
+
+        assertThat(metadata.getRelationships()).hasSize(2);
+        Relationship category = metadata.getRelationships().get(0);
+        assertThat(category.getType()).isEqualTo("ManyToOne");
+        assertThat(category.getSourceField()).isEqualTo("category");
+        assertThat(category.getTargetEntity()).isEqualTo("Category");
+        assertThat(category.getFetch()).isEqualTo("LAZY");
+        assertThat(category.isOptional()).isFalse();
+        assertThat(category.getJoinColumn()).isEqualTo("category_id");
+
+        Relationship reviews = metadata.getRelationships().get(1);
+        assertThat(reviews.getTargetEntity()).isEqualTo("Review");
+        assertThat(reviews.getMappedBy()).isEqualTo("product");
+        assertThat(reviews.getCascade()).containsExactly("PERSIST", "MERGE");
+    }
+
+    @Test
+    void rejectsSourceWithoutClass() {
+        assertThatThrownBy(() -> analyzer.analyzeModel("package a.b; interface Foo { }"))
+                .isInstanceOf(EntityGenerationException.class)
+                .hasMessageContaining("Class name not found");
+    }
+}
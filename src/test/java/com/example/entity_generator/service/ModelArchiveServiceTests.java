@@ -0,0 +1,123 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.model.BatchGenerationResult;
+import com.example.entity_generator.model.GenerationResult;
+import com.example.entity_generator.model.WriteMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ModelArchiveServiceTests {
+
+    @TempDir
+    Path outputRoot;
+
+    private ExecutorService executor;
+    private ModelArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ForkJoinPool(4);
+        EntityGeneratorService generatorService = new EntityGeneratorService(executor, new GenerationCache(100), new GeneratorMetrics(new SimpleMeterRegistry()), outputRoot.toString(), outputRoot.resolve("resources").toString(), 2, 1);
+        archiveService = new ModelArchiveService(new ModelAnalyzerService(new GeneratorMetrics(new SimpleMeterRegistry())), generatorService, executor, 2, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void zipEntriesAreAnalyzedAndRelationshipsResolvedAcrossFiles() throws IOException {
+        BatchGenerationResult result = archiveService.generateFromArchive(new ByteArrayInputStream(zip(sources())), WriteMode.OVERWRITE);
+
+        assertThat(result.getTotalProcessed()).isEqualTo(3);
+        assertThat(result.getSuccessCount()).isEqualTo(2);
+        assertThat(result.getResults()).extracting(GenerationResult::isSuccess).containsExactly(true, true, false);
+        assertThat(result.getResults().get(0).getWarnings()).singleElement().asString().contains("Customer");
+        assertThat(result.getResults().get(2).getMessage()).startsWith("model/Broken.java");
+
+        String order = Files.readString(outputRoot.resolve("com/example/generated/entity/Order.java"));
+        assertThat(order).contains("Set<OrderItem> items").doesNotContain("customer");
+        String item = Files.readString(outputRoot.resolve("com/example/generated/entity/OrderItem.java"));
+        assertThat(item).contains("private Order order");
+    }
+
+    @Test
+    void gzipCompressedTarIsSupported() throws IOException {
+        BatchGenerationResult result = archiveService.generateFromArchive(new ByteArrayInputStream(tarGz(sources())), WriteMode.OVERWRITE);
+
+        assertThat(result.getSuccessCount()).isEqualTo(2);
+        assertThat(outputRoot.resolve("com/example/generated/entity/OrderItem.java")).exists();
+    }
+
+    private static Map<String, String> sources() {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("model/Order.java", """
+                package shop;
+                public class Order {
+                    @Id private Long id;
+                    @OneToMany(mappedBy = "order") private List<OrderItem> items;
+                    @ManyToOne private Customer customer;
+                }
+                """);
+        sources.put("model/package-info.java", "package shop;");
+        sources.put("README.md", "not a source");
+        sources.put("model/OrderItem.java", """
+                package shop;
+                public class OrderItem {
+                    @Id private Long id;
+                    @ManyToOne private Order order;
+                }
+                """);
+        sources.put("model/Broken.java", "interface Broken { }");
+        return sources;
+    }
+
+    private static byte[] zip(Map<String, String> files) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                zip.putNextEntry(new ZipEntry(file.getKey()));
+                zip.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] tarGz(Map<String, String> files) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(new GZIPOutputStream(bytes))) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                byte[] content = file.getValue().getBytes(StandardCharsets.UTF_8);
+                TarArchiveEntry entry = new TarArchiveEntry(file.getKey());
+                entry.setSize(content.length);
+                tar.putArchiveEntry(entry);
+                tar.write(content);
+                tar.closeArchiveEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
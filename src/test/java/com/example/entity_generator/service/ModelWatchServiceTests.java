@@ -0,0 +1,124 @@
+package com.example.entity_generator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ModelWatchServiceTests {
+
+    @TempDir
+    Path workDir;
+
+    private ExecutorService executor;
+    private Path models;
+    private Path outputRoot;
+    private EntityGeneratorService generatorService;
+    private ModelWatchService watchService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ForkJoinPool(2);
+        models = workDir.resolve("models");
+        outputRoot = workDir.resolve("out");
+        GeneratorMetrics metrics = new GeneratorMetrics(new SimpleMeterRegistry());
+        generatorService = new EntityGeneratorService(executor, new GenerationCache(100), metrics,
+                outputRoot.toString(), outputRoot.resolve("resources").toString(), 2, 1);
+        watchService = new ModelWatchService(new ModelAnalyzerService(metrics), generatorService, new ObjectMapper(), models.toString(), 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        watchService.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void savedModelsAreRegeneratedWithTheirDependents() throws IOException, InterruptedException {
+        Files.createDirectories(models);
+        Files.writeString(models.resolve("Order.java"), """
+                package shop;
+                public class Order {
+                    @Id private Long id;
+                    @ManyToOne private Customer customer;
+                }
+                """);
+        Files.writeString(models.resolve("Customer.java"), """
+                package shop;
+                public class Customer {
+                    @Id private Long id;
+                }
+                """);
+        Path order = outputRoot.resolve("com/example/generated/entity/Order.java");
+        Path customer = outputRoot.resolve("com/example/generated/entity/Customer.java");
+        Path product = outputRoot.resolve("com/example/generated/entity/Product.java");
+
+        watchService.start();
+        await(() -> contains(order, "private Customer customer"));
+
+        Files.writeString(models.resolve("Product.json"), """
+                {"entityName": "Product", "fields": [{"name": "title", "type": "String"}]}
+                """);
+        await(() -> contains(product, "private String title"));
+
+        Files.delete(models.resolve("Customer.java"));
+        await(() -> !Files.exists(customer) && !contains(order, "customer"));
+        assertThat(product).exists();
+    }
+
+    @Test
+    void renamedClassRemovesTheOutputOfItsPreviousEntity() throws IOException {
+        Files.createDirectories(models);
+        Path model = models.resolve("Product.java");
+        Files.writeString(model, """
+                package shop;
+                public class Product {
+                    @Id private Long id;
+                }
+                """);
+        watchService.process(List.of(model));
+        Path product = outputRoot.resolve("com/example/generated/entity/Product.java");
+        assertThat(product).exists();
+
+        Files.writeString(model, """
+                package shop;
+                public class Item {
+                    @Id private Long id;
+                }
+                """);
+        watchService.process(List.of(model));
+
+        assertThat(outputRoot.resolve("com/example/generated/entity/Item.java")).exists();
+        assertThat(product).doesNotExist();
+        assertThat(outputRoot.resolve("com/example/generated/controller/ProductController.java")).doesNotExist();
+        assertThat(generatorService.getGeneratedEntities()).containsExactly("Item");
+    }
+
+    private static boolean contains(Path file, String text) {
+        try {
+            return Files.exists(file) && Files.readString(file).contains(text);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            if (condition.getAsBoolean()) return;
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Watched change was not regenerated in time");
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.entity_generator.service;
+
+import com.example.entity_generator.model.EntityMetadata;
+import com.example.entity_generator.model.Field;
+
+import java.util.List;
+
+/**
+ * Builds the entity metadata shared by the tests and benchmarks.
+ */
+final class TestMetadata {
+
+    private TestMetadata() {
+    }
+
+    /**
+     * Builds an entity with a single required {@code title} String field.
+     *
+     * @param name Entity name.
+     * @return Entity metadata with default options.
+     */
+    static EntityMetadata entity(String name) {
+        Field field = new Field();
+        field.setName("title");
+        field.setType("String");
+        field.setNullable(false);
+
+        EntityMetadata metadata = new EntityMetadata();
+        metadata.setEntityName(name);
+        metadata.setFields(List.of(field));
+        return metadata;
+    }
+}